@@ -0,0 +1,89 @@
+package benchmark;
+
+import model.BitboardState;
+import model.PositionKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The BitboardStateBenchmark class measures the operations of {@link BitboardState} that the engines rely on.
+ * Every invocation works on the next of a fixed set of positions taken from random games, and moves are made
+ * on copies so that the sample positions never change.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dtinylog.writer.level=off")
+public class BitboardStateBenchmark {
+
+    private static final int POSITIONS = 1024;
+
+    private BitboardState[] states;
+    private int[] moves;
+    private int index;
+
+    /**
+     * Generates the sample positions and a legal move in each of them.
+     */
+    @Setup
+    public void setUp() {
+        states = SamplePositions.generate(POSITIONS, 1);
+        moves = new int[POSITIONS];
+        for (var i = 0; i < POSITIONS; i++) {
+            moves[i] = Long.numberOfTrailingZeros(states[i].legalMoves());
+        }
+    }
+
+    private int next() {
+        index = (index + 1) & (POSITIONS - 1);
+        return index;
+    }
+
+    @Benchmark
+    public long legalMoves() {
+        return states[next()].legalMoves();
+    }
+
+    @Benchmark
+    public boolean isLegalMove() {
+        int i = next();
+        return states[i].isLegalMove(moves[i]);
+    }
+
+    @Benchmark
+    public boolean isGameOver() {
+        return states[next()].isGameOver();
+    }
+
+    @Benchmark
+    public BitboardState makeMove() {
+        int i = next();
+        var state = states[i].copy();
+        state.makeMove(moves[i]);
+        return state;
+    }
+
+    @Benchmark
+    public BitboardState clearRandomSquare() {
+        var state = states[next()].copy();
+        state.clearRandomSquare();
+        return state;
+    }
+
+    @Benchmark
+    public long canonicalKey() {
+        return PositionKey.canonical(PositionKey.of(states[next()]));
+    }
+}
@@ -0,0 +1,112 @@
+package benchmark;
+
+import model.BitboardState;
+import model.BoardGameModel;
+import model.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The BoardGameModelBenchmark class measures the rule checks and moves of {@link BoardGameModel}.
+ * Logging is switched off in the forked JVM, so the results show the cost of the model itself,
+ * including the formatting arguments passed to the disabled log statements.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dtinylog.writer.level=off")
+public class BoardGameModelBenchmark {
+
+    private static final int MAX_CLEARED = 36;
+
+    /**
+     * The Midgame class holds a model that stays in a fixed position after a few seeded random moves.
+     */
+    @State(Scope.Thread)
+    public static class Midgame {
+
+        private BoardGameModel model;
+        private Position legal;
+        private Position illegal;
+
+        /**
+         * Plays the opening moves of the model.
+         */
+        @Setup
+        public void setUp() {
+            model = new BoardGameModel(new Random(1));
+            for (var i = 0; i < 8; i++) {
+                model.makeMove(SamplePositions.firstLegalMove(model));
+            }
+            legal = SamplePositions.firstLegalMove(model);
+            illegal = new Position(legal.row(), (legal.col() + 4) % BoardGameModel.BOARD_COLUMNS);
+        }
+    }
+
+    /**
+     * The Playing class holds a model that moves on with every invocation and is reset when the game ends.
+     */
+    @State(Scope.Thread)
+    public static class Playing {
+
+        private BoardGameModel model;
+        private Position move;
+
+        /**
+         * Creates the model with a seeded random number generator.
+         */
+        @Setup
+        public void setUp() {
+            model = new BoardGameModel(new Random(2));
+        }
+
+        /**
+         * Resets the model when the game is over or the board is nearly cleared, and finds the next move.
+         */
+        @Setup(Level.Invocation)
+        public void prepare() {
+            if (model.isGameOver() || Long.bitCount(BitboardState.of(model).getClear()) >= MAX_CLEARED) {
+                model.reset();
+            }
+            move = SamplePositions.firstLegalMove(model);
+        }
+    }
+
+    @Benchmark
+    public boolean isLegalMove(Midgame state) {
+        return state.model.isLegalMove(state.legal);
+    }
+
+    @Benchmark
+    public boolean isIllegalMove(Midgame state) {
+        return state.model.isLegalMove(state.illegal);
+    }
+
+    @Benchmark
+    public boolean isGameOver(Midgame state) {
+        return state.model.isGameOver();
+    }
+
+    @Benchmark
+    public void makeMove(Playing state) {
+        state.model.makeMove(state.move);
+    }
+
+    @Benchmark
+    public void clearRandomSquare(Playing state) {
+        state.model.clearRandomSquare();
+    }
+}
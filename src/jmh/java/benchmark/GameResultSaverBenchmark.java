@@ -0,0 +1,98 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import scoreboard.GameResultSaver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The GameResultSaverBenchmark class measures saving game results with scoreboards of different sizes.
+ * {@code saveResult} measures a result until it is durable, and {@code saveResultAsync} only counting
+ * and queueing it, in batches whose results are written after each iteration, outside the measured time.
+ * The results are written to a temporary file and its result log, which are deleted after the benchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dtinylog.writer.level=off")
+public class GameResultSaverBenchmark {
+
+    private static final int ASYNC_BATCH = 10_000;
+
+    @Param({"1", "1000"})
+    private int players;
+
+    private Path file;
+    private String[] names;
+    private int index;
+
+    /**
+     * Points the saver to a temporary file and fills the scoreboard with the given number of players.
+     *
+     * @throws IOException if the temporary file cannot be created
+     */
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("game_results", ".json");
+        GameResultSaver.setFilePath(file.toString());
+        GameResultSaver.clearScores();
+        names = new String[players];
+        for (var i = 0; i < players; i++) {
+            names[i] = "player" + i;
+            GameResultSaver.saveResult(names[i]);
+        }
+    }
+
+    /**
+     * Deletes the temporary file, its result log and its statistics file.
+     *
+     * @throws IOException if the files cannot be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(GameResultSaver.getLogPath());
+        Files.deleteIfExists(GameResultSaver.getStatsPath());
+    }
+
+    /**
+     * Writes the results queued during the iteration.
+     */
+    @TearDown(Level.Iteration)
+    public void drain() {
+        GameResultSaver.shutdown();
+    }
+
+    @Benchmark
+    public void saveResult() {
+        index = index + 1 == players ? 0 : index + 1;
+        GameResultSaver.saveResult(names[index]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 3, batchSize = ASYNC_BATCH)
+    @Measurement(iterations = 5, batchSize = ASYNC_BATCH)
+    public CompletableFuture<Void> saveResultAsync() {
+        index = index + 1 == players ? 0 : index + 1;
+        return GameResultSaver.saveResultAsync(names[index]);
+    }
+}
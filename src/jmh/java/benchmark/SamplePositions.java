@@ -0,0 +1,50 @@
+package benchmark;
+
+import model.BitboardState;
+import model.Bitboards;
+import model.BoardGameModel;
+import model.Position;
+
+import java.util.Random;
+
+/**
+ * The SamplePositions class generates reproducible positions for the benchmarks by playing random games.
+ */
+final class SamplePositions {
+
+    private SamplePositions() {
+    }
+
+    /**
+     * Generates positions in which the player to move has at least one legal move.
+     *
+     * @param count the number of positions to generate
+     * @param seed the seed of the random games
+     * @return the positions, in the order they occurred in the games
+     */
+    static BitboardState[] generate(int count, long seed) {
+        var random = new Random(seed);
+        var positions = new BitboardState[count];
+        var state = new BitboardState(random);
+        for (var i = 0; i < count; i++) {
+            if (state.isGameOver()) {
+                state.reset();
+            }
+            positions[i] = state.copy();
+            long legal = state.legalMoves();
+            state.makeMove(Bitboards.selectBit(legal, random.nextInt(Long.bitCount(legal))));
+        }
+        return positions;
+    }
+
+    /**
+     * Finds a legal move of the player to move in the given model.
+     *
+     * @param model the model of the game
+     * @return the legal move to the lowest square index, or null if there is none
+     */
+    static Position firstLegalMove(BoardGameModel model) {
+        long legal = BitboardState.of(model).legalMoves();
+        return legal == 0 ? null : BitboardState.toPosition(Long.numberOfTrailingZeros(legal));
+    }
+}
@@ -0,0 +1,121 @@
+package benchmark;
+
+import engine.AlphaBetaSearch;
+import engine.Evaluation;
+import engine.ExpectimaxSearch;
+import engine.Perft;
+import engine.TranspositionTable;
+import engine.mcts.MctsSearch;
+import model.BitboardState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The SearchBenchmark class measures the evaluation and the search engines on positions taken from random games.
+ * The searches run with fixed depths or playout counts instead of time limits, so that they do the same work
+ * on every run, and the transposition table is cleared before every alpha-beta search.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dtinylog.writer.level=off")
+public class SearchBenchmark {
+
+    private static final int POSITIONS = 256;
+
+    private static final int ALPHA_BETA_DEPTH = 6;
+
+    private static final int EXPECTIMAX_DEPTH = 2;
+
+    private static final int MCTS_PLAYOUTS = 1000;
+
+    private static final int PERFT_DEPTH = 2;
+
+    private static final long NO_TIME_LIMIT_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private int[] own;
+    private int[] opponent;
+    private long[] clear;
+    private int index;
+    private AlphaBetaSearch alphaBeta;
+    private ExpectimaxSearch expectimax;
+    private MctsSearch mcts;
+
+    /**
+     * Generates the sample positions and creates the engines.
+     */
+    @Setup
+    public void setUp() {
+        var states = SamplePositions.generate(POSITIONS, 3);
+        own = new int[POSITIONS];
+        opponent = new int[POSITIONS];
+        clear = new long[POSITIONS];
+        for (var i = 0; i < POSITIONS; i++) {
+            var player = states[i].getNextPlayer();
+            own[i] = states[i].kingSquare(player);
+            opponent[i] = states[i].kingSquare(player.opponent());
+            clear[i] = states[i].getClear();
+        }
+        alphaBeta = new AlphaBetaSearch(Long.MAX_VALUE, NO_TIME_LIMIT_MILLIS,
+                new TranspositionTable(14, TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED));
+        expectimax = new ExpectimaxSearch(EXPECTIMAX_DEPTH, 0);
+        mcts = new MctsSearch(1, NO_TIME_LIMIT_MILLIS, MCTS_PLAYOUTS, 4);
+    }
+
+    /**
+     * Stops the workers of the Monte Carlo search.
+     */
+    @TearDown
+    public void tearDown() {
+        mcts.close();
+    }
+
+    private int next() {
+        index = (index + 1) & (POSITIONS - 1);
+        return index;
+    }
+
+    @Benchmark
+    public int evaluate() {
+        int i = next();
+        return Evaluation.evaluate(own[i], opponent[i], clear[i]);
+    }
+
+    @Benchmark
+    public int alphaBeta() {
+        int i = next();
+        alphaBeta.getTable().clear();
+        return alphaBeta.findBestMove(own[i], opponent[i], clear[i], ALPHA_BETA_DEPTH);
+    }
+
+    @Benchmark
+    public double expectimax() {
+        int i = next();
+        return expectimax.winProbability(own[i], opponent[i], clear[i]);
+    }
+
+    @Benchmark
+    public int mcts() {
+        int i = next();
+        return mcts.findBestMove(own[i], opponent[i], clear[i]);
+    }
+
+    @Benchmark
+    public long perft() {
+        int i = next();
+        return Perft.count(own[i], opponent[i], clear[i], PERFT_DEPTH);
+    }
+}
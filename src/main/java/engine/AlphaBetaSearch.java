@@ -0,0 +1,352 @@
+package engine;
+
+import game.State.Player;
+import model.BitboardState;
+import model.BoardGameModel;
+import model.Bitboards;
+import model.Position;
+import model.Zobrist;
+import org.tinylog.Logger;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The AlphaBetaSearch class is an iterative-deepening negamax searcher with alpha-beta pruning.
+ * It runs on the primitive bitboard encoding of the rules, so the search itself does not allocate.
+ * The square cleared at random after every move cannot be chosen by either player,
+ * so the search only expands king moves and leaves the effect of the clears to {@link Evaluation}.
+ * Results are cached in a {@link TranspositionTable} keyed by the {@link Zobrist} hash of the position.
+ * Once the kings are walled off from each other, positions are scored by {@link SeparatedEndgame} instead of searched.
+ */
+public class AlphaBetaSearch {
+
+    /** The maximum depth of the search in plies. */
+    public static final int MAX_DEPTH = 64;
+
+    private static final int NODE_CHECK_INTERVAL = 1024;
+
+    private static final int DEFAULT_TABLE_SIZE_LOG2 = 18;
+
+    private final long nodeLimit;
+    private final long timeLimitMillis;
+    private final TranspositionTable table;
+    private final AtomicBoolean cancelled;
+    private int startDepth = 1;
+    private final int[][] moves = new int[MAX_DEPTH + 1][8];
+    private final int[][] keys = new int[MAX_DEPTH + 1][8];
+    private final SeparatedEndgame separatedEndgame = new SeparatedEndgame();
+    private long nodes;
+    private long separatedNodes;
+    private long deadline;
+    private boolean aborted;
+    private int completedDepth;
+    private int score;
+
+    /**
+     * Constructs an {@code AlphaBetaSearch} with the given budget.
+     *
+     * @param nodeLimit the maximum number of nodes to visit per search
+     * @param timeLimitMillis the maximum time to spend per search, in milliseconds
+     */
+    public AlphaBetaSearch(long nodeLimit, long timeLimitMillis) {
+        this(nodeLimit, timeLimitMillis,
+                new TranspositionTable(DEFAULT_TABLE_SIZE_LOG2, TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED));
+    }
+
+    /**
+     * Constructs an {@code AlphaBetaSearch} with the given budget and transposition table.
+     *
+     * @param nodeLimit the maximum number of nodes to visit per search
+     * @param timeLimitMillis the maximum time to spend per search, in milliseconds
+     * @param table the transposition table, which may be shared with other searches
+     */
+    public AlphaBetaSearch(long nodeLimit, long timeLimitMillis, TranspositionTable table) {
+        this(nodeLimit, timeLimitMillis, table, new AtomicBoolean());
+    }
+
+    /**
+     * Constructs an {@code AlphaBetaSearch} with the given budget, transposition table and cancellation flag.
+     * Setting the flag makes the running search return the best move of its last completed iteration.
+     *
+     * @param nodeLimit the maximum number of nodes to visit per search
+     * @param timeLimitMillis the maximum time to spend per search, in milliseconds
+     * @param table the transposition table, which may be shared with other searches
+     * @param cancelled the flag cancelling the search, which may be shared with other searches
+     */
+    public AlphaBetaSearch(long nodeLimit, long timeLimitMillis, TranspositionTable table, AtomicBoolean cancelled) {
+        this.nodeLimit = nodeLimit;
+        this.timeLimitMillis = timeLimitMillis;
+        this.table = table;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Sets the depth of the first iteration of the iterative deepening.
+     * Helper threads sharing a table start at different depths so that they explore different parts of the tree.
+     *
+     * @param startDepth the depth of the first iteration, at least 1
+     */
+    void setStartDepth(int startDepth) {
+        this.startDepth = startDepth;
+    }
+
+    /**
+     * Finds the best move for the player to move in the given model.
+     *
+     * @param model the model of the game
+     * @return the best move found, or null if the player to move has no legal move
+     */
+    public Position findBestMove(BoardGameModel model) {
+        return findBestMove(BitboardState.of(model));
+    }
+
+    /**
+     * Finds the best move for the player to move in the given state.
+     *
+     * @param state the state of the game
+     * @return the best move found, or null if the player to move has no legal move
+     */
+    public Position findBestMove(BitboardState state) {
+        int own = state.kingSquare(state.getNextPlayer());
+        int opponent = state.kingSquare(state.getNextPlayer().opponent());
+        table.newSearch();
+        int best = search(state.getNextPlayer().ordinal(), own, opponent, state.getClear(), state.getHash(), MAX_DEPTH);
+        return best < 0 ? null : BitboardState.toPosition(best);
+    }
+
+    /**
+     * Finds the best move of the king to move by iterative deepening.
+     * The king to move is hashed as the white king; the colour does not affect the result.
+     *
+     * @param own the square of the king to move
+     * @param opponent the square of the opponent's king
+     * @param clear the mask of the cleared squares
+     * @param maxDepth the maximum depth to search to
+     * @return the square to move to, or -1 if the king to move has no legal move
+     */
+    public int findBestMove(int own, int opponent, long clear, int maxDepth) {
+        table.newSearch();
+        return search(0, own, opponent, clear, Zobrist.hash(own, opponent, clear, Player.PLAYER_1), maxDepth);
+    }
+
+    /**
+     * Searches a position given by the colour of the king to move, the kings, the cleared squares and the hash.
+     */
+    int search(int color, int own, int opponent, long clear, long hash, int maxDepth) {
+        nodes = 0;
+        separatedNodes = 0;
+        aborted = false;
+        completedDepth = 0;
+        deadline = System.currentTimeMillis() + timeLimitMillis;
+        int[] rootMoves = moves[0];
+        int count = Bitboards.toSquares(Bitboards.legalMoves(own, Evaluation.empty(own, opponent, clear)), rootMoves);
+        if (count == 0) {
+            score = -Evaluation.WIN;
+            return -1;
+        }
+        int best = rootMoves[0];
+        score = 0;
+        for (int depth = Math.min(startDepth, maxDepth); depth <= Math.min(maxDepth, MAX_DEPTH); depth++) {
+            int alpha = -Evaluation.WIN - 1;
+            int iterationBest = best;
+            for (int i = 0; i < count; i++) {
+                int to = rootMoves[i];
+                int value = -negamax(1 - color, opponent, to, clear, childHash(hash, color, own, to),
+                        depth - 1, -Evaluation.WIN - 1, -alpha, 1);
+                if (aborted) {
+                    break;
+                }
+                if (value > alpha) {
+                    alpha = value;
+                    iterationBest = rootMoves[i];
+                }
+            }
+            if (aborted) {
+                break;
+            }
+            best = iterationBest;
+            score = alpha;
+            completedDepth = depth;
+            table.store(hash, TranspositionTable.pack(score, depth, TranspositionTable.EXACT, best));
+            moveToFront(rootMoves, count, best);
+            if (Math.abs(score) >= Evaluation.WIN - MAX_DEPTH) {
+                break;
+            }
+        }
+        Logger.debug("Search finished: depth {}, score {}, nodes {}, separated {}",
+                completedDepth, score, nodes, separatedNodes);
+        return best;
+    }
+
+    private static long childHash(long hash, int color, int from, int to) {
+        return hash ^ Zobrist.king(color, from) ^ Zobrist.king(color, to) ^ Zobrist.side();
+    }
+
+    private int negamax(int color, int own, int opponent, long clear, long hash,
+                        int depth, int alpha, int beta, int ply) {
+        if (aborted) {
+            return 0;
+        }
+        if (++nodes >= nodeLimit || nodes % NODE_CHECK_INTERVAL == 0
+                && (cancelled.get() || System.currentTimeMillis() >= deadline)) {
+            aborted = true;
+            return 0;
+        }
+        long empty = Evaluation.empty(own, opponent, clear);
+        long legal = Bitboards.legalMoves(own, empty);
+        if (legal == 0) {
+            return -Evaluation.WIN + ply;
+        }
+        int separated = separatedEndgame.score(own, opponent, clear);
+        if (separated != SeparatedEndgame.UNSOLVED) {
+            separatedNodes++;
+            return separated;
+        }
+        if (depth == 0 || ply >= MAX_DEPTH) {
+            return Evaluation.evaluate(own, opponent, clear);
+        }
+        long entry = table.probe(hash);
+        int hashMove = -1;
+        if (entry != TranspositionTable.NO_ENTRY) {
+            hashMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int stored = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || bound == TranspositionTable.LOWER && stored >= beta
+                        || bound == TranspositionTable.UPPER && stored <= alpha) {
+                    return stored;
+                }
+            }
+        }
+        int[] children = moves[ply];
+        int count = orderMoves(legal, empty | (1L << own), children, keys[ply]);
+        if (hashMove >= 0 && (legal & (1L << hashMove)) != 0) {
+            moveToFront(children, count, hashMove);
+        }
+        int originalAlpha = alpha;
+        int best = -1;
+        for (int i = 0; i < count; i++) {
+            int value = -negamax(1 - color, opponent, children[i], clear, childHash(hash, color, own, children[i]),
+                    depth - 1, -beta, -alpha, ply + 1);
+            if (value > alpha) {
+                alpha = value;
+                best = children[i];
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+        if (!aborted) {
+            int bound = alpha >= beta ? TranspositionTable.LOWER
+                    : alpha > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+            table.store(hash, TranspositionTable.pack(toTable(alpha, ply), depth, bound, best));
+        }
+        return alpha;
+    }
+
+    /**
+     * Converts a score relative to the root into a score relative to the current node,
+     * so that won and lost positions keep their distance when found again at another ply.
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= Evaluation.WIN - MAX_DEPTH) {
+            return score + ply;
+        } else if (score <= -Evaluation.WIN + MAX_DEPTH) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= Evaluation.WIN - MAX_DEPTH) {
+            return score - ply;
+        } else if (score <= -Evaluation.WIN + MAX_DEPTH) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * Orders the legal destinations so that squares with more empty neighbours are tried first.
+     *
+     * @param legal the mask of the legal destinations
+     * @param empty the mask of the squares that are empty once the king has left its square
+     * @param children the array receiving the ordered destinations
+     * @param keys the scratch array for the ordering keys
+     * @return the number of destinations
+     */
+    private static int orderMoves(long legal, long empty, int[] children, int[] keys) {
+        int count = 0;
+        while (legal != 0) {
+            int square = Long.numberOfTrailingZeros(legal);
+            legal &= legal - 1;
+            int key = Bitboards.moveCount(square, empty);
+            int i = count++;
+            while (i > 0 && keys[i - 1] < key) {
+                children[i] = children[i - 1];
+                keys[i] = keys[i - 1];
+                i--;
+            }
+            children[i] = square;
+            keys[i] = key;
+        }
+        return count;
+    }
+
+    private static void moveToFront(int[] squares, int count, int square) {
+        for (int i = 0; i < count; i++) {
+            if (squares[i] == square) {
+                System.arraycopy(squares, 0, squares, 1, i);
+                squares[0] = square;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the transposition table used by the search.
+     *
+     * @return the transposition table
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Gets the number of nodes visited by the last search.
+     *
+     * @return the number of nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the number of nodes of the last search that were scored by {@link SeparatedEndgame}
+     * because the kings were separated.
+     *
+     * @return the number of separated nodes
+     */
+    public long getSeparatedNodes() {
+        return separatedNodes;
+    }
+
+    /**
+     * Gets the depth of the last fully completed iteration of the last search.
+     *
+     * @return the completed depth in plies
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Gets the score of the best move found by the last search, from the point of view of the player to move.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,442 @@
+package engine;
+
+import engine.tablebase.Tablebase;
+import game.State.Player;
+import model.BitboardState;
+import model.BoardGameModel;
+import model.Bitboards;
+import model.CompoundMoves;
+import model.RemovalRule;
+import model.Zobrist;
+import org.tinylog.Logger;
+
+/**
+ * The ChosenRemovalSearch class is an iterative-deepening negamax searcher with alpha-beta pruning
+ * for analysing the {@link RemovalRule#CHOSEN chosen removal} rule, where a move is a king step
+ * followed by the removal of an empty square of the mover's choice.
+ * Searching every removal would multiply the tree by the number of empty squares, so the removals
+ * after each king step are grouped into equivalence classes and only one square of each class is searched:
+ * <ul>
+ *     <li>the squares neither king can reach any more, whose removal never affects the game;</li>
+ *     <li>the squares farther than the horizon from both kings, grouped by which kings can reach them.</li>
+ * </ul>
+ * The first class is exact; the second treats distant squares as having the same local impact,
+ * which can be turned off with a horizon of {@link #EXACT_HORIZON}.
+ * The remaining removals are tried in order of their distance to the opponent's king, nearest first.
+ * With a {@link Tablebase}, positions with few enough empty squares are scored exactly from it instead of searched.
+ * Moves are packed as described by {@link CompoundMoves}.
+ */
+public class ChosenRemovalSearch {
+
+    /** The maximum depth of the search in plies. */
+    public static final int MAX_DEPTH = 64;
+
+    /** The default horizon beyond which removals are grouped by the kings that can reach them. */
+    public static final int DEFAULT_HORIZON = 2;
+
+    /** The horizon that leaves only the exact grouping of unreachable squares. */
+    public static final int EXACT_HORIZON = Math.max(BoardGameModel.BOARD_ROWS, BoardGameModel.BOARD_COLUMNS);
+
+    private static final int NODE_CHECK_INTERVAL = 1024;
+
+    private static final int DEFAULT_TABLE_SIZE_LOG2 = 18;
+
+    private static final int UNREACHABLE = 0;
+
+    private static final long[][] RINGS = new long[BitboardState.SQUARES][EXACT_HORIZON];
+
+    static {
+        for (var from = 0; from < BitboardState.SQUARES; from++) {
+            for (var to = 0; to < BitboardState.SQUARES; to++) {
+                if (to != from) {
+                    RINGS[from][distance(from, to)] |= 1L << to;
+                }
+            }
+        }
+    }
+
+    private final long nodeLimit;
+    private final long timeLimitMillis;
+    private final int horizon;
+    private final TranspositionTable table;
+    private final int[][] moves = new int[MAX_DEPTH + 1][CompoundMoves.MAX_MOVES];
+    private final int[] hashBlock = new int[CompoundMoves.MAX_MOVES];
+    private Tablebase tablebase;
+    private long nodes;
+    private long prunedRemovals;
+    private long tablebaseHits;
+    private long deadline;
+    private boolean aborted;
+    private int completedDepth;
+    private int score;
+
+    /**
+     * Constructs a {@code ChosenRemovalSearch} with the given budget and the default horizon.
+     *
+     * @param nodeLimit the maximum number of nodes to visit per search
+     * @param timeLimitMillis the maximum time to spend per search, in milliseconds
+     */
+    public ChosenRemovalSearch(long nodeLimit, long timeLimitMillis) {
+        this(nodeLimit, timeLimitMillis, DEFAULT_HORIZON);
+    }
+
+    /**
+     * Constructs a {@code ChosenRemovalSearch} with the given budget and horizon.
+     *
+     * @param nodeLimit the maximum number of nodes to visit per search
+     * @param timeLimitMillis the maximum time to spend per search, in milliseconds
+     * @param horizon the distance from both kings beyond which removals are grouped by the kings that can reach them
+     */
+    public ChosenRemovalSearch(long nodeLimit, long timeLimitMillis, int horizon) {
+        this(nodeLimit, timeLimitMillis, horizon,
+                new TranspositionTable(DEFAULT_TABLE_SIZE_LOG2, TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED));
+    }
+
+    /**
+     * Constructs a {@code ChosenRemovalSearch} with the given budget, horizon and transposition table.
+     * The table stores only the destination of the best move, which is tried first when the position is seen again.
+     *
+     * @param nodeLimit the maximum number of nodes to visit per search
+     * @param timeLimitMillis the maximum time to spend per search, in milliseconds
+     * @param horizon the distance from both kings beyond which removals are grouped by the kings that can reach them
+     * @param table the transposition table, which must not be shared with searches of the random removal rule
+     */
+    public ChosenRemovalSearch(long nodeLimit, long timeLimitMillis, int horizon, TranspositionTable table) {
+        if (horizon < 0) {
+            throw new IllegalArgumentException("The horizon must not be negative: " + horizon);
+        }
+        this.nodeLimit = nodeLimit;
+        this.timeLimitMillis = timeLimitMillis;
+        this.horizon = Math.min(horizon, EXACT_HORIZON);
+        this.table = table;
+    }
+
+    /**
+     * Sets the tablebase scoring the positions it holds, or none.
+     *
+     * @param tablebase the tablebase, which may be shared with other searches, or null to search every position
+     */
+    public void setTablebase(Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Returns the number of king steps between two squares.
+     */
+    private static int distance(int from, int to) {
+        return Math.max(Math.abs(from / BoardGameModel.BOARD_COLUMNS - to / BoardGameModel.BOARD_COLUMNS),
+                Math.abs(from % BoardGameModel.BOARD_COLUMNS - to % BoardGameModel.BOARD_COLUMNS));
+    }
+
+    /**
+     * Finds the best compound move for the player to move in the given model.
+     *
+     * @param model the model of the game
+     * @return the best packed move found, or -1 if the player to move has no legal move
+     */
+    public int findBestMove(BoardGameModel model) {
+        return findBestMove(BitboardState.of(model));
+    }
+
+    /**
+     * Finds the best compound move for the player to move in the given state.
+     *
+     * @param state the state of the game
+     * @return the best packed move found, or -1 if the player to move has no legal move
+     */
+    public int findBestMove(BitboardState state) {
+        int own = state.kingSquare(state.getNextPlayer());
+        int opponent = state.kingSquare(state.getNextPlayer().opponent());
+        table.newSearch();
+        return search(state.getNextPlayer().ordinal(), own, opponent, state.getClear(), state.getHash(), MAX_DEPTH);
+    }
+
+    /**
+     * Finds the best compound move of the king to move by iterative deepening.
+     * The king to move is hashed as the white king; the colour does not affect the result.
+     *
+     * @param own the square of the king to move
+     * @param opponent the square of the opponent's king
+     * @param clear the mask of the cleared squares
+     * @param maxDepth the maximum depth to search to
+     * @return the best packed move found, or -1 if the king to move has no legal move
+     */
+    public int findBestMove(int own, int opponent, long clear, int maxDepth) {
+        table.newSearch();
+        return search(0, own, opponent, clear, Zobrist.hash(own, opponent, clear, Player.PLAYER_1), maxDepth);
+    }
+
+    private int search(int color, int own, int opponent, long clear, long hash, int maxDepth) {
+        nodes = 0;
+        prunedRemovals = 0;
+        tablebaseHits = 0;
+        aborted = false;
+        completedDepth = 0;
+        deadline = System.currentTimeMillis() + timeLimitMillis;
+        int[] rootMoves = moves[0];
+        int count = generate(own, opponent, Evaluation.empty(own, opponent, clear), rootMoves);
+        if (count == 0) {
+            score = -Evaluation.WIN;
+            return -1;
+        }
+        int best = rootMoves[0];
+        score = 0;
+        for (int depth = 1; depth <= Math.min(maxDepth, MAX_DEPTH); depth++) {
+            int alpha = -Evaluation.WIN - 1;
+            int iterationBest = best;
+            for (int i = 0; i < count; i++) {
+                int move = rootMoves[i];
+                int value = -negamax(1 - color, opponent, CompoundMoves.destination(move),
+                        clear | 1L << CompoundMoves.removed(move), childHash(hash, color, own, move),
+                        depth - 1, -Evaluation.WIN - 1, -alpha, 1);
+                if (aborted) {
+                    break;
+                }
+                if (value > alpha) {
+                    alpha = value;
+                    iterationBest = move;
+                }
+            }
+            if (aborted) {
+                break;
+            }
+            best = iterationBest;
+            score = alpha;
+            completedDepth = depth;
+            moveToFront(rootMoves, count, best);
+            if (Math.abs(score) >= Evaluation.WIN - MAX_DEPTH) {
+                break;
+            }
+        }
+        Logger.debug("Chosen removal search finished: depth {}, score {}, nodes {}, pruned removals {}, "
+                + "tablebase hits {}", completedDepth, score, nodes, prunedRemovals, tablebaseHits);
+        return best;
+    }
+
+    private static long childHash(long hash, int color, int from, int move) {
+        return hash ^ Zobrist.king(color, from) ^ Zobrist.king(color, CompoundMoves.destination(move))
+                ^ Zobrist.cleared(CompoundMoves.removed(move)) ^ Zobrist.side();
+    }
+
+    private int negamax(int color, int own, int opponent, long clear, long hash,
+                        int depth, int alpha, int beta, int ply) {
+        if (aborted) {
+            return 0;
+        }
+        if (++nodes >= nodeLimit || nodes % NODE_CHECK_INTERVAL == 0 && System.currentTimeMillis() >= deadline) {
+            aborted = true;
+            return 0;
+        }
+        long empty = Evaluation.empty(own, opponent, clear);
+        if (Bitboards.legalMoves(own, empty) == 0) {
+            return -Evaluation.WIN + ply;
+        }
+        if (tablebase != null) {
+            int value = tablebase.probe(own, opponent, empty);
+            if (value != Tablebase.NOT_FOUND) {
+                tablebaseHits++;
+                int end = ply + Tablebase.plies(value);
+                return Tablebase.isWin(value) ? Evaluation.WIN - end : -Evaluation.WIN + end;
+            }
+        }
+        if (depth == 0 || ply >= MAX_DEPTH) {
+            return Evaluation.evaluate(own, opponent, clear);
+        }
+        long entry = table.probe(hash);
+        int hashDestination = -1;
+        if (entry != TranspositionTable.NO_ENTRY) {
+            hashDestination = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int stored = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || bound == TranspositionTable.LOWER && stored >= beta
+                        || bound == TranspositionTable.UPPER && stored <= alpha) {
+                    return stored;
+                }
+            }
+        }
+        int[] children = moves[ply];
+        int count = generate(own, opponent, empty, children);
+        if (hashDestination >= 0) {
+            destinationToFront(children, count, hashDestination);
+        }
+        int originalAlpha = alpha;
+        int best = -1;
+        for (int i = 0; i < count; i++) {
+            int move = children[i];
+            int value = -negamax(1 - color, opponent, CompoundMoves.destination(move),
+                    clear | 1L << CompoundMoves.removed(move), childHash(hash, color, own, move),
+                    depth - 1, -beta, -alpha, ply + 1);
+            if (value > alpha) {
+                alpha = value;
+                best = CompoundMoves.destination(move);
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+        if (!aborted) {
+            int bound = alpha >= beta ? TranspositionTable.LOWER
+                    : alpha > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+            table.store(hash, TranspositionTable.pack(toTable(alpha, ply), depth, bound, best));
+        }
+        return alpha;
+    }
+
+    /**
+     * Generates the packed compound moves of the king to move, keeping one removal of each equivalence class.
+     * The destinations are tried in square order and the removals of each destination
+     * in order of their distance to the opponent's king, so the kept square of a class is the nearest one to it.
+     *
+     * @param own the square of the king to move
+     * @param opponent the square of the opponent's king
+     * @param empty the mask of the empty squares
+     * @param moves the array receiving the packed moves
+     * @return the number of moves generated
+     */
+    int generate(int own, int opponent, long empty, int[] moves) {
+        int count = 0;
+        for (long destinations = Bitboards.legalMoves(own, empty); destinations != 0;
+                destinations &= destinations - 1) {
+            int to = Long.numberOfTrailingZeros(destinations);
+            long removable = CompoundMoves.removable(own, to, empty);
+            long ownRegion = Bitboards.reachable(1L << to, removable);
+            long opponentRegion = Bitboards.reachable(1L << opponent, removable);
+            long near = horizon == 0 ? 0 : Bitboards.kingMoves(to) | Bitboards.kingMoves(opponent);
+            for (var d = 1; d < horizon; d++) {
+                near = Bitboards.dilate(near);
+            }
+            int classesSeen = 0;
+            int before = count;
+            for (var d = 1; d < EXACT_HORIZON; d++) {
+                for (long ring = removable & RINGS[opponent][d]; ring != 0; ring &= ring - 1) {
+                    int square = Long.numberOfTrailingZeros(ring);
+                    long bit = 1L << square;
+                    int reach = ((ownRegion & bit) != 0 ? 1 : 0) | ((opponentRegion & bit) != 0 ? 2 : 0);
+                    if (reach == UNREACHABLE || (near & bit) == 0) {
+                        if ((classesSeen & 1 << reach) != 0) {
+                            continue;
+                        }
+                        classesSeen |= 1 << reach;
+                    }
+                    moves[count++] = CompoundMoves.pack(to, square);
+                }
+            }
+            prunedRemovals += Long.bitCount(removable) - (count - before);
+        }
+        return count;
+    }
+
+    /**
+     * Converts a score relative to the root into a score relative to the current node,
+     * so that won and lost positions keep their distance when found again at another ply.
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= Evaluation.WIN - MAX_DEPTH) {
+            return score + ply;
+        } else if (score <= -Evaluation.WIN + MAX_DEPTH) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= Evaluation.WIN - MAX_DEPTH) {
+            return score - ply;
+        } else if (score <= -Evaluation.WIN + MAX_DEPTH) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * Moves the moves with the given destination to the front, keeping the order of their removals.
+     * The generated moves of a destination are contiguous, so their block is rotated to the front as a whole.
+     *
+     * @param moves the generated moves
+     * @param count the number of generated moves
+     * @param destination the destination whose moves are tried first
+     */
+    void destinationToFront(int[] moves, int count, int destination) {
+        int first = 0;
+        while (first < count && CompoundMoves.destination(moves[first]) != destination) {
+            first++;
+        }
+        int last = first;
+        while (last < count && CompoundMoves.destination(moves[last]) == destination) {
+            last++;
+        }
+        int length = last - first;
+        if (first == 0 || length == 0) {
+            return;
+        }
+        System.arraycopy(moves, first, hashBlock, 0, length);
+        System.arraycopy(moves, 0, moves, length, first);
+        System.arraycopy(hashBlock, 0, moves, 0, length);
+    }
+
+    private static void moveToFront(int[] moves, int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = move;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the transposition table used by the search.
+     *
+     * @return the transposition table
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Gets the number of nodes visited by the last search.
+     *
+     * @return the number of nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the number of removals skipped by the last search because an equivalent removal was searched instead.
+     *
+     * @return the number of pruned removals
+     */
+    public long getPrunedRemovals() {
+        return prunedRemovals;
+    }
+
+    /**
+     * Gets the number of positions of the last search that were scored by the tablebase.
+     *
+     * @return the number of tablebase hits
+     */
+    public long getTablebaseHits() {
+        return tablebaseHits;
+    }
+
+    /**
+     * Gets the depth of the last fully completed iteration of the last search.
+     *
+     * @return the completed depth in plies
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Gets the score of the best move found by the last search, from the point of view of the player to move.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+}
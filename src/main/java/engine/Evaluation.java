@@ -0,0 +1,80 @@
+package engine;
+
+import model.BitboardState;
+import model.Bitboards;
+
+/**
+ * The Evaluation class provides the static evaluation of positions used by the search engines.
+ * A position is described by the square of the king to move, the square of the opponent's king
+ * and the mask of the cleared squares. Scores are always from the point of view of the player to move.
+ */
+public final class Evaluation {
+
+    /** The score of a won position, larger in magnitude than any heuristic score. */
+    public static final int WIN = 1_000_000;
+
+    /** The weight of a square of territory relative to a single legal move. */
+    public static final int TERRITORY_WEIGHT = 4;
+
+    private Evaluation() {
+    }
+
+    /**
+     * Returns the mask of the empty squares of a position.
+     *
+     * @param own the square of the king to move
+     * @param opponent the square of the opponent's king
+     * @param clear the mask of the cleared squares
+     * @return the mask of the empty squares
+     */
+    public static long empty(int own, int opponent, long clear) {
+        return ~(clear | (1L << own) | (1L << opponent)) & BitboardState.BOARD_MASK;
+    }
+
+    /**
+     * Evaluates a position from the point of view of the player to move,
+     * combining the difference in mobility with the difference in reachable territory.
+     *
+     * @param own the square of the king to move
+     * @param opponent the square of the opponent's king
+     * @param clear the mask of the cleared squares
+     * @return the heuristic score of the position
+     */
+    public static int evaluate(int own, int opponent, long clear) {
+        long empty = empty(own, opponent, clear);
+        int ownMobility = Bitboards.moveCount(own, empty);
+        if (ownMobility == 0) {
+            return -WIN;
+        }
+        int mobility = ownMobility - Bitboards.moveCount(opponent, empty);
+        return mobility + TERRITORY_WEIGHT * territory(own, opponent, empty);
+    }
+
+    /**
+     * Computes the difference in territory between the two kings, where a square belongs to the king
+     * that can reach it in strictly fewer steps through empty squares.
+     *
+     * @param own the square of the king to move
+     * @param opponent the square of the opponent's king
+     * @param empty the mask of the empty squares
+     * @return the number of squares closer to the king to move minus the number closer to the opponent
+     */
+    public static int territory(int own, int opponent, long empty) {
+        long ownFront = 1L << own;
+        long opponentFront = 1L << opponent;
+        long seen = ownFront | opponentFront;
+        int ownCount = 0;
+        int opponentCount = 0;
+        while (ownFront != 0 || opponentFront != 0) {
+            long ownNext = Bitboards.dilate(ownFront) & empty & ~seen;
+            long opponentNext = Bitboards.dilate(opponentFront) & empty & ~seen;
+            long contested = ownNext & opponentNext;
+            ownFront = ownNext & ~contested;
+            opponentFront = opponentNext & ~contested;
+            seen |= ownNext | opponentNext;
+            ownCount += Long.bitCount(ownFront);
+            opponentCount += Long.bitCount(opponentFront);
+        }
+        return ownCount - opponentCount;
+    }
+}
@@ -0,0 +1,211 @@
+package engine;
+
+import model.BitboardState;
+import model.BoardGameModel;
+import model.Bitboards;
+import model.Position;
+import model.PositionKey;
+import org.tinylog.Logger;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The ExpectimaxSearch class computes win probabilities under the random-clear rules of {@link BoardGameModel}.
+ * Every king move is followed by a chance node where each empty square is cleared with equal probability.
+ * Chance nodes are cut off as soon as even winning every remaining outcome could not beat the best sibling,
+ * and empty squares that neither king can reach are evaluated once, since clearing any of them has the same effect.
+ * Exact values are memoised across searches under the {@link PositionKey#canonical(long) canonical key}
+ * of the position, so positions reached again, or their mirror images, are not searched twice.
+ */
+public class ExpectimaxSearch {
+
+    /** The score difference that multiplies the odds of winning by e when estimating a probability from a score. */
+    static final double HEURISTIC_SCALE = 16.0;
+
+    private final int maxDepth;
+    private final int memoCapacity;
+    private final Map<Long, Double> memo = new HashMap<>();
+    private long nodes;
+    private boolean exact;
+
+    /**
+     * Constructs an {@code ExpectimaxSearch} with the given search depth.
+     *
+     * @param maxDepth the number of king moves to look ahead before estimating the win probability
+     * @param memoCapacity the maximum number of exact values kept in the memo
+     */
+    public ExpectimaxSearch(int maxDepth, int memoCapacity) {
+        this.maxDepth = maxDepth;
+        this.memoCapacity = memoCapacity;
+    }
+
+    /**
+     * Computes the win probability of every legal move of the player to move.
+     *
+     * @param model the model of the game
+     * @return the legal moves mapped to the probability that the player to move wins after making them
+     */
+    public Map<Position, Double> evaluateMoves(BoardGameModel model) {
+        return evaluateMoves(BitboardState.of(model));
+    }
+
+    /**
+     * Computes the win probability of every legal move of the player to move.
+     *
+     * @param state the state of the game
+     * @return the legal moves mapped to the probability that the player to move wins after making them
+     */
+    public Map<Position, Double> evaluateMoves(BitboardState state) {
+        int own = state.kingSquare(state.getNextPlayer());
+        int opponent = state.kingSquare(state.getNextPlayer().opponent());
+        long clear = state.getClear();
+        nodes = 0;
+        exact = true;
+        Map<Position, Double> result = new LinkedHashMap<>();
+        long legal = state.legalMoves();
+        while (legal != 0) {
+            int to = Long.numberOfTrailingZeros(legal);
+            legal &= legal - 1;
+            result.put(BitboardState.toPosition(to), chanceNode(own, opponent, clear, to, maxDepth, -1.0));
+        }
+        Logger.debug("Evaluated {} moves, {} nodes, exact: {}", result.size(), nodes, exact);
+        return result;
+    }
+
+    /**
+     * Finds the move with the highest win probability for the player to move.
+     *
+     * @param model the model of the game
+     * @return the best move, or null if the player to move has no legal move
+     */
+    public Position findBestMove(BoardGameModel model) {
+        return findBestMove(BitboardState.of(model));
+    }
+
+    /**
+     * Finds the move with the highest win probability for the player to move.
+     *
+     * @param state the state of the game
+     * @return the best move, or null if the player to move has no legal move
+     */
+    public Position findBestMove(BitboardState state) {
+        Position best = null;
+        double bestValue = -1.0;
+        for (var entry : evaluateMoves(state).entrySet()) {
+            if (entry.getValue() > bestValue) {
+                bestValue = entry.getValue();
+                best = entry.getKey();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Computes the probability that the player to move wins.
+     *
+     * @param own the square of the king to move
+     * @param opponent the square of the opponent's king
+     * @param clear the mask of the cleared squares
+     * @return the win probability of the player to move
+     */
+    public double winProbability(int own, int opponent, long clear) {
+        nodes = 0;
+        exact = true;
+        return maxNode(own, opponent, clear, maxDepth);
+    }
+
+    private double maxNode(int own, int opponent, long clear, int depth) {
+        nodes++;
+        long key = PositionKey.canonical(PositionKey.pack(own, opponent, clear));
+        Double cached = memo.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long empty = Evaluation.empty(own, opponent, clear);
+        long legal = Bitboards.legalMoves(own, empty);
+        if (legal == 0) {
+            return 0.0;
+        }
+        if (depth == 0) {
+            exact = false;
+            return 1.0 / (1.0 + Math.exp(-Evaluation.evaluate(own, opponent, clear) / HEURISTIC_SCALE));
+        }
+        boolean exactSoFar = exact;
+        exact = true;
+        double best = 0.0;
+        while (legal != 0 && best < 1.0) {
+            int to = Long.numberOfTrailingZeros(legal);
+            legal &= legal - 1;
+            best = Math.max(best, chanceNode(own, opponent, clear, to, depth, best));
+        }
+        if (exact && memo.size() < memoCapacity) {
+            memo.put(key, best);
+        }
+        exact &= exactSoFar;
+        return best;
+    }
+
+    /**
+     * Computes the value of moving the king to the given square, averaged over the square cleared afterwards.
+     * Returns an upper bound not greater than {@code alpha} once the move can no longer beat it.
+     */
+    private double chanceNode(int own, int opponent, long clear, int to, int depth, double alpha) {
+        long empty = Evaluation.empty(to, opponent, clear);
+        int outcomes = Long.bitCount(empty);
+        long relevant = Bitboards.reachable((1L << to) | (1L << opponent), empty) & empty;
+        long irrelevant = empty & ~relevant;
+        int remaining = outcomes;
+        double sum = 0.0;
+        if (irrelevant != 0) {
+            int count = Long.bitCount(irrelevant);
+            sum += count * (1.0 - maxNode(opponent, to, clear | Long.lowestOneBit(irrelevant), depth - 1));
+            remaining -= count;
+        }
+        while (relevant != 0) {
+            if (sum + remaining <= alpha * outcomes) {
+                return (sum + remaining) / outcomes;
+            }
+            long square = Long.lowestOneBit(relevant);
+            relevant ^= square;
+            sum += 1.0 - maxNode(opponent, to, clear | square, depth - 1);
+            remaining--;
+        }
+        return sum / outcomes;
+    }
+
+    /**
+     * Gets the number of nodes visited by the last search.
+     *
+     * @return the number of nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Checks if the last search computed exact probabilities, without estimating any position at the horizon.
+     *
+     * @return true if the last result is exact, false if it relies on heuristic estimates
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * Gets the number of exact values in the memo.
+     *
+     * @return the size of the memo
+     */
+    public int getMemoSize() {
+        return memo.size();
+    }
+
+    /**
+     * Removes every value from the memo.
+     */
+    public void clearMemo() {
+        memo.clear();
+    }
+}
@@ -0,0 +1,177 @@
+package engine;
+
+import model.BitboardState;
+import model.BoardGameModel;
+import model.Position;
+import org.tinylog.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The ParallelSearch class runs {@link AlphaBetaSearch} on several threads using the Lazy SMP scheme.
+ * All threads search the same root position and share one lock-free {@link TranspositionTable}, so results
+ * found by any thread cut off the search of the others. Helper threads start their iterative deepening
+ * at different depths to spread out over the tree. The move of the main thread, which runs on the caller's
+ * thread, is returned once it runs out of time or is cancelled, and the helpers are stopped with it.
+ */
+public class ParallelSearch implements AutoCloseable {
+
+    private final int threads;
+    private final TranspositionTable table;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicBoolean helpersCancelled = new AtomicBoolean();
+    private final AlphaBetaSearch main;
+    private final List<AlphaBetaSearch> helpers = new ArrayList<>();
+    private final ExecutorService executor;
+    private long nodes;
+    private long elapsedNanos;
+
+    /**
+     * Constructs a {@code ParallelSearch} with the given number of threads and time limit.
+     *
+     * @param threads the number of threads searching, including the caller's thread
+     * @param timeLimitMillis the maximum time to spend per search, in milliseconds
+     * @param tableSizeLog2 the base 2 logarithm of the number of entries of the shared transposition table
+     */
+    public ParallelSearch(int threads, long timeLimitMillis, int tableSizeLog2) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required: " + threads);
+        }
+        this.threads = threads;
+        this.table = new TranspositionTable(tableSizeLog2, TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED);
+        this.main = new AlphaBetaSearch(Long.MAX_VALUE, timeLimitMillis, table, cancelled);
+        for (int i = 1; i < threads; i++) {
+            var helper = new AlphaBetaSearch(Long.MAX_VALUE, timeLimitMillis, table, helpersCancelled);
+            helper.setStartDepth(1 + i % 3);
+            helpers.add(helper);
+        }
+        this.executor = threads > 1
+                ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+                    var thread = new Thread(runnable, "search-helper");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    /**
+     * Finds the best move for the player to move in the given model.
+     *
+     * @param model the model of the game
+     * @return the best move found, or null if the player to move has no legal move
+     */
+    public Position findBestMove(BoardGameModel model) {
+        return findBestMove(BitboardState.of(model));
+    }
+
+    /**
+     * Finds the best move for the player to move in the given state, blocking until the search ends.
+     *
+     * @param state the state of the game
+     * @return the best move found, or null if the player to move has no legal move
+     */
+    public Position findBestMove(BitboardState state) {
+        int color = state.getNextPlayer().ordinal();
+        int own = state.kingSquare(state.getNextPlayer());
+        int opponent = state.kingSquare(state.getNextPlayer().opponent());
+        long clear = state.getClear();
+        long hash = state.getHash();
+        cancelled.set(false);
+        helpersCancelled.set(false);
+        table.newSearch();
+        long start = System.nanoTime();
+        List<Future<?>> running = new ArrayList<>();
+        for (var helper : helpers) {
+            running.add(executor.submit(() -> helper.search(color, own, opponent, clear, hash,
+                    AlphaBetaSearch.MAX_DEPTH)));
+        }
+        int best = main.search(color, own, opponent, clear, hash, AlphaBetaSearch.MAX_DEPTH);
+        helpersCancelled.set(true);
+        nodes = main.getNodes();
+        for (int i = 0; i < running.size(); i++) {
+            try {
+                running.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                Logger.error(e, "Search helper failed");
+            }
+            nodes += helpers.get(i).getNodes();
+        }
+        elapsedNanos = System.nanoTime() - start;
+        Logger.debug("Parallel search on {} threads: depth {}, {} nodes, {} nodes per second",
+                threads, main.getCompletedDepth(), nodes, getNodesPerSecond());
+        return best < 0 ? null : BitboardState.toPosition(best);
+    }
+
+    /**
+     * Cancels the running search, which then returns the best move of its last completed iteration.
+     * May be called from any thread.
+     */
+    public void cancel() {
+        cancelled.set(true);
+        helpersCancelled.set(true);
+    }
+
+    /**
+     * Gets the number of threads searching.
+     *
+     * @return the number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Gets the total number of nodes visited by all threads in the last search.
+     *
+     * @return the number of nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the number of nodes visited per second by all threads together in the last search.
+     *
+     * @return the number of nodes per second
+     */
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * Gets the depth of the last iteration completed by the main thread in the last search.
+     *
+     * @return the completed depth in plies
+     */
+    public int getCompletedDepth() {
+        return main.getCompletedDepth();
+    }
+
+    /**
+     * Gets the transposition table shared by the threads.
+     *
+     * @return the transposition table
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Stops the helper threads.
+     */
+    @Override
+    public void close() {
+        cancel();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
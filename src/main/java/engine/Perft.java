@@ -0,0 +1,269 @@
+package engine;
+
+import game.State.Player;
+import model.BitboardState;
+import model.BoardGameModel;
+import model.Bitboards;
+import model.Square;
+import org.tinylog.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The Perft class counts the positions reachable in a given number of plies, to verify and benchmark
+ * move generation. A ply is a king move together with the square cleared after it, so every possible
+ * cleared square is a separate branch and the count does not depend on chance.
+ * The branches of the root are counted in parallel. In checking mode every node is also replayed on a
+ * {@link BoardGameModel}, walking the tree with {@code makeMove} and {@code unmakeMove}, and any difference
+ * between the model and the bitboard move generation is reported with an {@link IllegalStateException}.
+ */
+public class Perft {
+
+    /**
+     * The Result record holds the outcome of a perft run.
+     *
+     * @param nodes the number of positions at the requested depth
+     * @param elapsedNanos the time taken, in nanoseconds
+     */
+    public record Result(long nodes, long elapsedNanos) {
+
+        /**
+         * Gets the number of positions counted per second.
+         *
+         * @return the number of nodes per second
+         */
+        public long nodesPerSecond() {
+            return elapsedNanos == 0 ? 0 : (long) (nodes * 1e9 / elapsedNanos);
+        }
+    }
+
+    private final int threads;
+    private final boolean check;
+
+    /**
+     * Constructs a {@code Perft} counter.
+     *
+     * @param threads the number of threads counting the branches of the root
+     * @param check whether to cross-check every node against {@link BoardGameModel}
+     */
+    public Perft(int threads, boolean check) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required: " + threads);
+        }
+        this.threads = threads;
+        this.check = check;
+    }
+
+    /**
+     * Counts the positions reachable from the given state in {@code depth} plies.
+     *
+     * @param state the state to start from
+     * @param depth the number of plies
+     * @return the node count and the time taken
+     * @throws IllegalStateException in checking mode, if the model disagrees with the bitboard move generation
+     */
+    public Result run(BitboardState state, int depth) {
+        var player = state.getNextPlayer();
+        int own = state.kingSquare(player);
+        int opponent = state.kingSquare(player.opponent());
+        long clear = state.getClear();
+        long start = System.nanoTime();
+        if (check) {
+            var model = new BoardGameModel();
+            load(model, player, own, opponent, clear);
+            verifyNode(model, player, own, opponent, clear);
+        }
+        long nodes = depth == 0 ? 1 : countBranches(player, own, opponent, clear, depth);
+        var result = new Result(nodes, System.nanoTime() - start);
+        Logger.debug("Perft depth {} on {} threads: {} nodes, {} nodes per second",
+                depth, threads, nodes, result.nodesPerSecond());
+        return result;
+    }
+
+    private long countBranches(Player player, int own, int opponent, long clear, int depth) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> branches = new ArrayList<>();
+            long legal = Bitboards.legalMoves(own, Evaluation.empty(own, opponent, clear));
+            for (; legal != 0; legal &= legal - 1) {
+                int to = Long.numberOfTrailingZeros(legal);
+                long empty = Evaluation.empty(to, opponent, clear);
+                for (; empty != 0; empty &= empty - 1) {
+                    int cleared = Long.numberOfTrailingZeros(empty);
+                    branches.add(executor.submit(() -> countBranch(player, own, opponent, clear, to, cleared, depth)));
+                }
+            }
+            long nodes = 0;
+            for (var branch : branches) {
+                nodes += branch.get();
+            }
+            return nodes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Perft interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalStateException mismatch) {
+                throw mismatch;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long countBranch(Player player, int own, int opponent, long clear, int to, int cleared, int depth) {
+        long childClear = clear | 1L << cleared;
+        if (!check) {
+            return count(opponent, to, childClear, depth - 1);
+        }
+        var model = new BoardGameModel();
+        load(model, player, own, opponent, clear);
+        verifyMove(model, player, own, opponent, clear, to, cleared);
+        return countChecked(model, player.opponent(), opponent, to, childClear, depth - 1);
+    }
+
+    /**
+     * Counts the positions reachable in {@code depth} plies on the calling thread, without checking.
+     *
+     * @param own the square of the king to move
+     * @param opponent the square of the opponent's king
+     * @param clear the mask of the cleared squares
+     * @param depth the number of plies
+     * @return the number of positions at the given depth
+     */
+    public static long count(int own, int opponent, long clear, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        long legal = Bitboards.legalMoves(own, Evaluation.empty(own, opponent, clear));
+        long nodes = 0;
+        for (; legal != 0; legal &= legal - 1) {
+            int to = Long.numberOfTrailingZeros(legal);
+            long empty = Evaluation.empty(to, opponent, clear);
+            if (depth == 1) {
+                nodes += Long.bitCount(empty);
+                continue;
+            }
+            for (; empty != 0; empty &= empty - 1) {
+                nodes += count(opponent, to, clear | Long.lowestOneBit(empty), depth - 1);
+            }
+        }
+        return nodes;
+    }
+
+    private static long countChecked(BoardGameModel model, Player player, int own, int opponent, long clear,
+                                      int depth) {
+        verifyNode(model, player, own, opponent, clear);
+        if (depth == 0) {
+            return 1;
+        }
+        long legal = Bitboards.legalMoves(own, Evaluation.empty(own, opponent, clear));
+        long nodes = 0;
+        for (; legal != 0; legal &= legal - 1) {
+            int to = Long.numberOfTrailingZeros(legal);
+            long empty = Evaluation.empty(to, opponent, clear);
+            for (; empty != 0; empty &= empty - 1) {
+                int cleared = Long.numberOfTrailingZeros(empty);
+                verifyMove(model, player, own, opponent, clear, to, cleared);
+                nodes += countChecked(model, player.opponent(), opponent, to, clear | 1L << cleared, depth - 1);
+                model.unmakeMove();
+                verifyPosition(model, player, own, opponent, clear, "unmakeMove() leads to");
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Checks that the model, which must be in the given position, agrees with the bitboards on the legal moves
+     * and on the end of the game.
+     */
+    private static void verifyNode(BoardGameModel model, Player player, int own, int opponent, long clear) {
+        long legal = Bitboards.legalMoves(own, Evaluation.empty(own, opponent, clear));
+        for (var square = 0; square < BitboardState.SQUARES; square++) {
+            boolean expected = (legal & 1L << square) != 0;
+            if (model.isLegalMove(BitboardState.toPosition(square)) != expected) {
+                throw mismatch("isLegalMove(" + BitboardState.toPosition(square) + ") is " + !expected, model);
+            }
+        }
+        if (model.isGameOver() != (legal == 0)) {
+            throw mismatch("isGameOver() is " + (legal != 0), model);
+        }
+    }
+
+    /**
+     * Makes the move on the model, which must be in the given position, and checks that it leads to the same
+     * position as on the bitboards.
+     */
+    private static void verifyMove(BoardGameModel model, Player player, int own, int opponent, long clear,
+                                   int to, int cleared) {
+        model.makeMove(BitboardState.toPosition(to), BitboardState.toPosition(cleared));
+        verifyPosition(model, player.opponent(), opponent, to, clear | 1L << cleared,
+                "makeMove(" + BitboardState.toPosition(to) + ", " + BitboardState.toPosition(cleared)
+                        + ") from king on " + BitboardState.toPosition(own) + " leads to");
+    }
+
+    /**
+     * Checks that the model is in the position given by the bitboards.
+     */
+    private static void verifyPosition(BoardGameModel model, Player player, int own, int opponent, long clear,
+                                       String message) {
+        var state = BitboardState.of(model);
+        if (state.getNextPlayer() != player
+                || state.kingSquare(player) != own
+                || state.kingSquare(player.opponent()) != opponent
+                || state.getClear() != clear) {
+            throw mismatch(message, model);
+        }
+    }
+
+    /**
+     * Sets up the model in the position given by the bitboards.
+     */
+    private static void load(BoardGameModel model, Player player, int own, int opponent, long clear) {
+        model.reset();
+        int white = player == Player.PLAYER_1 ? own : opponent;
+        int black = player == Player.PLAYER_1 ? opponent : own;
+        for (var square = 0; square < BitboardState.SQUARES; square++) {
+            Square content;
+            if (square == white) {
+                content = Square.WHITE;
+            } else if (square == black) {
+                content = Square.BLACK;
+            } else if ((clear & 1L << square) != 0) {
+                content = Square.CLEAR;
+            } else {
+                content = Square.NONE;
+            }
+            model.setSquare(BitboardState.toPosition(square), content);
+        }
+        if (player == Player.PLAYER_2) {
+            model.switchPlayer();
+        }
+    }
+
+    private static IllegalStateException mismatch(String message, BoardGameModel model) {
+        return new IllegalStateException("BoardGameModel mismatch: " + message + "\n" + model);
+    }
+
+    /**
+     * Runs perft from the starting position and prints the node counts and speed of every depth.
+     *
+     * @param args the maximum depth, optionally followed by the number of threads and {@code --check}
+     */
+    public static void main(String[] args) {
+        int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        boolean check = args.length > 2 && args[2].equals("--check");
+        var perft = new Perft(threads, check);
+        for (var depth = 1; depth <= maxDepth; depth++) {
+            var result = perft.run(new BitboardState(), depth);
+            System.out.printf("perft(%d) = %d, %.3f s, %d nodes per second%n", depth, result.nodes(),
+                    result.elapsedNanos() / 1e9, result.nodesPerSecond());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package engine;
+
+import model.BitboardState;
+import model.Bitboards;
+
+/**
+ * The SeparatedEndgame class scores positions in which cleared squares have walled the two kings off from each other.
+ * From then on the kings can never block each other, so searching their moves while ignoring the clears,
+ * as {@link AlphaBetaSearch} does, only shuffles them around their regions.
+ * A king may step back onto the squares it has left, so the game is not decided by the length of a walk
+ * but by which region the random clears empty first around its king.
+ * Positions with at most {@link #MAX_EXACT_SQUARES} empty squares are solved exactly under these rules by an
+ * {@link ExpectimaxSearch} to the end of the game, and the win probability is converted to the scale of
+ * {@link Evaluation}. Larger positions are scored by {@link Evaluation#evaluate(int, int, long)}, whose territory
+ * term is then the difference in the sizes of the two regions.
+ * An instance keeps its own memo and must not be shared between threads.
+ */
+public class SeparatedEndgame {
+
+    /** The value returned by {@link #score(int, int, long)} when the kings are not separated. */
+    public static final int UNSOLVED = Integer.MIN_VALUE;
+
+    /** The largest number of empty squares of a position solved exactly. */
+    public static final int MAX_EXACT_SQUARES = 8;
+
+    /** The score of a position the player to move is certain to win, within the range of heuristic scores. */
+    public static final int MAX_SCORE = Evaluation.TERRITORY_WEIGHT * BitboardState.SQUARES;
+
+    private static final int DEFAULT_MEMO_CAPACITY = 1 << 16;
+
+    private final ExpectimaxSearch expectimax;
+
+    /**
+     * Constructs a {@code SeparatedEndgame} with the default memo capacity.
+     */
+    public SeparatedEndgame() {
+        this(DEFAULT_MEMO_CAPACITY);
+    }
+
+    /**
+     * Constructs a {@code SeparatedEndgame} with the given memo capacity.
+     *
+     * @param memoCapacity the maximum number of exactly solved positions kept in the memo
+     */
+    public SeparatedEndgame(int memoCapacity) {
+        // Every ply clears a square, so the game ends before the search runs out of depth
+        this.expectimax = new ExpectimaxSearch(MAX_EXACT_SQUARES + 1, memoCapacity);
+    }
+
+    /**
+     * Scores a position in which the kings are separated, from the point of view of the player to move.
+     *
+     * @param own the square of the king to move
+     * @param opponent the square of the opponent's king
+     * @param clear the mask of the cleared squares
+     * @return the score of the position, between {@code -MAX_SCORE} and {@code MAX_SCORE} if it is solved exactly,
+     *         or {@link #UNSOLVED} if the kings are not separated
+     */
+    public int score(int own, int opponent, long clear) {
+        long empty = Evaluation.empty(own, opponent, clear);
+        if (!Bitboards.separated(own, opponent, empty)) {
+            return UNSOLVED;
+        }
+        if (Long.bitCount(empty) > MAX_EXACT_SQUARES) {
+            return Evaluation.evaluate(own, opponent, clear);
+        }
+        return toScore(expectimax.winProbability(own, opponent, clear));
+    }
+
+    /**
+     * Converts a win probability to a score, inverting the logistic curve {@link ExpectimaxSearch} uses
+     * to turn scores into probabilities.
+     *
+     * @param probability the win probability of the player to move
+     * @return the score, between {@code -MAX_SCORE} and {@code MAX_SCORE}
+     */
+    static int toScore(double probability) {
+        if (probability <= 0.0) {
+            return -MAX_SCORE;
+        } else if (probability >= 1.0) {
+            return MAX_SCORE;
+        }
+        double score = ExpectimaxSearch.HEURISTIC_SCALE * Math.log(probability / (1.0 - probability));
+        return (int) Math.max(-MAX_SCORE, Math.min(MAX_SCORE, Math.round(score)));
+    }
+}
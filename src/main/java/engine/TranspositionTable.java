@@ -0,0 +1,253 @@
+package engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The TranspositionTable class is a fixed-size hash table of search results backed by a single {@code long[]}.
+ * Every slot holds two longs, the entry data and the exclusive or of the key with that data.
+ * A probe accepts a slot only if the two words still decode to the probed key, so any number of threads
+ * may share the table without locks: a torn or overwritten slot is simply reported as a miss.
+ * The entry data packs the score, depth, bound type, best move and generation of a search result,
+ * see {@link #pack(int, int, int, int)}.
+ */
+public class TranspositionTable {
+
+    /**
+     * The policy deciding whether a new entry replaces the entry already stored in its slot.
+     */
+    public enum ReplacementPolicy {
+        /** Always replace the stored entry. */
+        ALWAYS,
+
+        /** Replace the stored entry unless it is from the current search and was searched deeper. */
+        DEPTH_PREFERRED
+    }
+
+    /** The value returned by {@link #probe(long)} when the table holds no entry for the key. */
+    public static final long NO_ENTRY = 0;
+
+    /** The bound type of an exact score. */
+    public static final int EXACT = 1;
+
+    /** The bound type of a score that is a lower bound of the real score. */
+    public static final int LOWER = 2;
+
+    /** The bound type of a score that is an upper bound of the real score. */
+    public static final int UPPER = 3;
+
+    private final long[] slots;
+    private final int mask;
+    private final ReplacementPolicy policy;
+    private volatile int generation;
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder filled = new LongAdder();
+
+    /**
+     * Constructs a {@code TranspositionTable} with the given number of entries and replacement policy.
+     *
+     * @param sizeLog2 the base 2 logarithm of the number of entries
+     * @param policy the replacement policy
+     */
+    public TranspositionTable(int sizeLog2, ReplacementPolicy policy) {
+        if (sizeLog2 < 1 || sizeLog2 > 29) {
+            throw new IllegalArgumentException("Table size out of range: 2^" + sizeLog2);
+        }
+        this.slots = new long[2 << sizeLog2];
+        this.mask = (1 << sizeLog2) - 1;
+        this.policy = policy;
+    }
+
+    /**
+     * Packs a search result into entry data.
+     *
+     * @param score the score, from the point of view of the player to move
+     * @param depth the depth the position was searched to, from 0 to 255
+     * @param bound the bound type, one of {@link #EXACT}, {@link #LOWER} and {@link #UPPER}
+     * @param move the best move found as a square index, or -1 if there is none
+     * @return the entry data, never equal to {@link #NO_ENTRY}
+     */
+    public static long pack(int score, int depth, int bound, int move) {
+        return (long) score << 32 | (long) (move + 1) << 24 | (long) bound << 16 | (long) depth << 8;
+    }
+
+    /**
+     * Extracts the score from entry data.
+     *
+     * @param data the entry data
+     * @return the score
+     */
+    public static int score(long data) {
+        return (int) (data >> 32);
+    }
+
+    /**
+     * Extracts the best move from entry data.
+     *
+     * @param data the entry data
+     * @return the best move as a square index, or -1 if there is none
+     */
+    public static int move(long data) {
+        return (int) (data >>> 24 & 0xFF) - 1;
+    }
+
+    /**
+     * Extracts the bound type from entry data.
+     *
+     * @param data the entry data
+     * @return the bound type
+     */
+    public static int bound(long data) {
+        return (int) (data >>> 16 & 0xFF);
+    }
+
+    /**
+     * Extracts the search depth from entry data.
+     *
+     * @param data the entry data
+     * @return the search depth
+     */
+    public static int depth(long data) {
+        return (int) (data >>> 8 & 0xFF);
+    }
+
+    private static int generation(long data) {
+        return (int) (data & 0xFF);
+    }
+
+    private int index(long key) {
+        long h = key * 0x9E37_79B9_7F4A_7C15L;
+        return (int) (h ^ h >>> 32) & mask;
+    }
+
+    /**
+     * Looks up the entry stored for a key.
+     *
+     * @param key the key of the position
+     * @return the entry data, or {@link #NO_ENTRY} if no entry is stored for the key
+     */
+    public long probe(long key) {
+        probes.increment();
+        int slot = index(key) << 1;
+        long data = slots[slot + 1];
+        if (data == NO_ENTRY) {
+            return NO_ENTRY;
+        }
+        if ((slots[slot] ^ data) != key) {
+            collisions.increment();
+            return NO_ENTRY;
+        }
+        hits.increment();
+        return data;
+    }
+
+    /**
+     * Stores an entry for a key, subject to the replacement policy.
+     *
+     * @param key the key of the position
+     * @param data the entry data created by {@link #pack(int, int, int, int)}
+     */
+    public void store(long key, long data) {
+        int slot = index(key) << 1;
+        long old = slots[slot + 1];
+        int current = generation;
+        if (old != NO_ENTRY && policy == ReplacementPolicy.DEPTH_PREFERRED
+                && generation(old) == current && depth(old) > depth(data)
+                && (slots[slot] ^ old) != key) {
+            return;
+        }
+        if (old == NO_ENTRY) {
+            filled.increment();
+        }
+        data |= current;
+        slots[slot] = key ^ data;
+        slots[slot + 1] = data;
+        stores.increment();
+    }
+
+    /**
+     * Starts a new search generation, so entries of earlier searches may be replaced regardless of their depth.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Removes every entry from the table and resets the counters.
+     */
+    public void clear() {
+        Arrays.fill(slots, 0);
+        probes.reset();
+        hits.reset();
+        collisions.reset();
+        stores.reset();
+        filled.reset();
+    }
+
+    /**
+     * Gets the number of entries the table can hold.
+     *
+     * @return the capacity of the table
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Gets the number of probes since the table was created or cleared.
+     *
+     * @return the number of probes
+     */
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    /**
+     * Gets the number of probes that found an entry for the probed key.
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of probes that found the slot occupied by an entry for a different key.
+     *
+     * @return the number of collisions
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    /**
+     * Gets the number of entries written.
+     *
+     * @return the number of stores
+     */
+    public long getStores() {
+        return stores.sum();
+    }
+
+    /**
+     * Gets the ratio of hits to probes.
+     *
+     * @return the hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        long total = probes.sum();
+        return total == 0 ? 0.0 : (double) hits.sum() / total;
+    }
+
+    /**
+     * Gets the ratio of occupied slots to the capacity of the table.
+     *
+     * @return the fill between 0 and 1
+     */
+    public double getFill() {
+        return Math.min(1.0, (double) filled.sum() / getCapacity());
+    }
+}
@@ -0,0 +1,179 @@
+package engine.book;
+
+import engine.AlphaBetaSearch;
+import engine.ChosenRemovalSearch;
+import game.State.Player;
+import model.BitboardState;
+import model.BoardGameModel;
+import model.CompoundMoves;
+import model.RemovalRule;
+
+/**
+ * The BookSearch class suggests moves from an {@link OpeningBook}, answering instantly while the game is in the book
+ * and falling back to a shallow search once it has left it.
+ * The fallback is {@link AlphaBetaSearch} or {@link ChosenRemovalSearch}, depending on the removal rule of the book,
+ * so the moves have the same encoding whether they come from the book or from the search.
+ * Book moves are checked for legality before they are suggested, so a stale or mismatched book only costs misses.
+ * The fallback search is created on the first miss, so callers with a search of their own can use
+ * {@link #findBookMove(BitboardState)} alone without paying for it.
+ * An instance keeps its own search state and must not be shared between threads.
+ */
+public class BookSearch {
+
+    /** The default maximum depth of the fallback search in plies. */
+    public static final int DEFAULT_FALLBACK_DEPTH = 8;
+
+    /** The default maximum time to spend per fallback search, in milliseconds. */
+    public static final long DEFAULT_FALLBACK_TIME_LIMIT_MILLIS = 500;
+
+    private final OpeningBook book;
+    private final int fallbackDepth;
+    private final long fallbackTimeLimitMillis;
+    private AlphaBetaSearch randomSearch;
+    private ChosenRemovalSearch chosenSearch;
+    private long bookHits;
+    private long bookMisses;
+    private boolean lastMoveFromBook;
+    private int score;
+
+    /**
+     * Constructs a {@code BookSearch} with the given book and the default fallback budget.
+     *
+     * @param book the opening book
+     */
+    public BookSearch(OpeningBook book) {
+        this(book, DEFAULT_FALLBACK_DEPTH, DEFAULT_FALLBACK_TIME_LIMIT_MILLIS);
+    }
+
+    /**
+     * Constructs a {@code BookSearch} with the given book and fallback budget.
+     *
+     * @param book the opening book
+     * @param fallbackDepth the maximum depth of the fallback search in plies
+     * @param fallbackTimeLimitMillis the maximum time to spend per fallback search, in milliseconds
+     */
+    public BookSearch(OpeningBook book, int fallbackDepth, long fallbackTimeLimitMillis) {
+        if (fallbackDepth < 1) {
+            throw new IllegalArgumentException("Fallback depth must be positive: " + fallbackDepth);
+        }
+        this.book = book;
+        this.fallbackDepth = fallbackDepth;
+        this.fallbackTimeLimitMillis = fallbackTimeLimitMillis;
+    }
+
+    /**
+     * Suggests a move for the player to move in the given model.
+     *
+     * @param model the model of the game
+     * @return the suggested move, or -1 if the player to move has no legal move
+     * @see #findBestMove(BitboardState)
+     */
+    public int findBestMove(BoardGameModel model) {
+        return findBestMove(BitboardState.of(model));
+    }
+
+    /**
+     * Suggests a move for the player to move in the given state. The move is the square index of the destination
+     * under the {@link RemovalRule#RANDOM random removal} rule, and a packed compound move under the
+     * {@link RemovalRule#CHOSEN chosen removal} rule.
+     *
+     * @param state the state of the game
+     * @return the suggested move, or -1 if the player to move has no legal move
+     */
+    public int findBestMove(BitboardState state) {
+        int bookMove = findBookMove(state);
+        if (bookMove != OpeningBook.NOT_FOUND) {
+            return bookMove;
+        }
+        Player player = state.getNextPlayer();
+        int own = state.kingSquare(player);
+        int opponent = state.kingSquare(player.opponent());
+        long clear = state.getClear();
+        if (book.getRule() == RemovalRule.RANDOM) {
+            if (randomSearch == null) {
+                randomSearch = new AlphaBetaSearch(Long.MAX_VALUE, fallbackTimeLimitMillis);
+            }
+            int move = randomSearch.findBestMove(own, opponent, clear, fallbackDepth);
+            score = randomSearch.getScore();
+            return move;
+        }
+        if (chosenSearch == null) {
+            chosenSearch = new ChosenRemovalSearch(Long.MAX_VALUE, fallbackTimeLimitMillis);
+        }
+        int move = chosenSearch.findBestMove(own, opponent, clear, fallbackDepth);
+        score = chosenSearch.getScore();
+        return move;
+    }
+
+    /**
+     * Looks up the move for the player to move in the book only. A book move which is not legal in the given state,
+     * as left by a book built for other positions, counts as a miss.
+     *
+     * @param state the state of the game
+     * @return the book move, or {@link OpeningBook#NOT_FOUND} if the position is not in the book
+     */
+    public int findBookMove(BitboardState state) {
+        var entry = book.probe(state);
+        lastMoveFromBook = entry != null && isLegal(state, entry.move());
+        if (!lastMoveFromBook) {
+            bookMisses++;
+            return OpeningBook.NOT_FOUND;
+        }
+        bookHits++;
+        score = entry.score();
+        return entry.move();
+    }
+
+    private boolean isLegal(BitboardState state, int move) {
+        if (book.getRule() == RemovalRule.RANDOM) {
+            return state.isLegalMove(move);
+        }
+        return CompoundMoves.isLegal(state.kingSquare(state.getNextPlayer()), CompoundMoves.destination(move),
+                CompoundMoves.removed(move), state.getEmpty());
+    }
+
+    /**
+     * Gets the opening book the moves are looked up in.
+     *
+     * @return the opening book
+     */
+    public OpeningBook getBook() {
+        return book;
+    }
+
+    /**
+     * Checks if the last suggested move was found in the book.
+     *
+     * @return true if the last move came from the book, false if it came from the fallback search
+     */
+    public boolean isLastMoveFromBook() {
+        return lastMoveFromBook;
+    }
+
+    /**
+     * Gets the number of suggestions answered from the book.
+     *
+     * @return the number of book hits
+     */
+    public long getBookHits() {
+        return bookHits;
+    }
+
+    /**
+     * Gets the number of suggestions answered by the fallback search.
+     *
+     * @return the number of book misses
+     */
+    public long getBookMisses() {
+        return bookMisses;
+    }
+
+    /**
+     * Gets the score of the last suggested move from the point of view of the player to move.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+}
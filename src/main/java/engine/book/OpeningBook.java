@@ -0,0 +1,176 @@
+package engine.book;
+
+import game.State.Player;
+import model.BitboardState;
+import model.CompoundMoves;
+import model.PositionKey;
+import model.RemovalRule;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The OpeningBook class looks up the best moves of opening positions in a file written by {@link OpeningBookBuilder}.
+ * The file is mapped into memory read-only and searched by binary search, so a lookup touches a handful of pages
+ * and nothing is loaded onto the heap up front.
+ *
+ * <p>Positions are stored under their canonical {@link PositionKey}, so every symmetry class of positions and
+ * its colour-swapped counterpart share one entry. A move is stored as seen from the canonical position and mapped
+ * back through the same symmetry when it is looked up. Under the {@link RemovalRule#RANDOM random removal} rule
+ * a move is the square index of the destination, under the {@link RemovalRule#CHOSEN chosen removal} rule it is
+ * a move packed by {@link CompoundMoves}.
+ *
+ * <p>The file starts with a header holding a magic number, the ordinal of the removal rule and the number of
+ * entries, followed by the entries sorted by key. Every entry holds the key, the move and the score
+ * of the search that chose it, from the point of view of the player to move.
+ */
+public final class OpeningBook {
+
+    /** The value returned by {@link #findMove(int, int, long)} for positions not in the book. */
+    public static final int NOT_FOUND = -1;
+
+    static final int MAGIC = 0x434B_4F42;
+
+    static final int HEADER_BYTES = 12;
+
+    static final int ENTRY_BYTES = 16;
+
+    /**
+     * An entry of the book as seen from the position it was looked up for.
+     *
+     * @param move the best move of the position
+     * @param score the score of the move from the point of view of the player to move
+     */
+    public record Entry(int move, int score) {
+    }
+
+    private final MappedByteBuffer buffer;
+    private final RemovalRule rule;
+    private final int size;
+
+    private OpeningBook(MappedByteBuffer buffer, RemovalRule rule, int size) {
+        this.buffer = buffer;
+        this.rule = rule;
+        this.size = size;
+    }
+
+    /**
+     * Opens an opening book file by mapping it into memory.
+     *
+     * @param file the path of the opening book file
+     * @return the opening book
+     * @throws IOException if the file cannot be read or is not a complete opening book file
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (channel.size() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not an opening book file: " + file);
+            }
+            int rule = buffer.getInt(4);
+            int size = buffer.getInt(8);
+            if (rule < 0 || rule >= RemovalRule.values().length || size < 0
+                    || channel.size() != HEADER_BYTES + (long) size * ENTRY_BYTES) {
+                throw new IOException("Incomplete opening book file: " + file);
+            }
+            return new OpeningBook(buffer, RemovalRule.values()[rule], size);
+        }
+    }
+
+    /**
+     * Gets the removal rule the moves of the book were chosen for.
+     *
+     * @return the removal rule
+     */
+    public RemovalRule getRule() {
+        return rule;
+    }
+
+    /**
+     * Gets the number of positions in the book.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Looks up a position in the book.
+     *
+     * @param own the square of the king to move
+     * @param opponent the square of the opponent's king
+     * @param clear the mask of the cleared squares
+     * @return the entry of the position, or null if it is not in the book
+     */
+    public Entry probe(int own, int opponent, long clear) {
+        long key = PositionKey.pack(own, opponent, clear);
+        int symmetry = PositionKey.canonicalSymmetry(key);
+        int slot = find(PositionKey.transform(symmetry, key));
+        if (slot < 0) {
+            return null;
+        }
+        int offset = HEADER_BYTES + slot * ENTRY_BYTES;
+        return new Entry(transformMove(symmetry, buffer.getInt(offset + 8)), buffer.getInt(offset + 12));
+    }
+
+    /**
+     * Looks up the state of a game in the book.
+     *
+     * @param state the state of the game
+     * @return the entry of the position, or null if it is not in the book
+     */
+    public Entry probe(BitboardState state) {
+        Player player = state.getNextPlayer();
+        return probe(state.kingSquare(player), state.kingSquare(player.opponent()), state.getClear());
+    }
+
+    /**
+     * Looks up the best move of a position without allocating.
+     *
+     * @param own the square of the king to move
+     * @param opponent the square of the opponent's king
+     * @param clear the mask of the cleared squares
+     * @return the best move of the position, or {@link #NOT_FOUND} if it is not in the book
+     */
+    public int findMove(int own, int opponent, long clear) {
+        long key = PositionKey.pack(own, opponent, clear);
+        int symmetry = PositionKey.canonicalSymmetry(key);
+        int slot = find(PositionKey.transform(symmetry, key));
+        return slot < 0 ? NOT_FOUND : transformMove(symmetry, buffer.getInt(HEADER_BYTES + slot * ENTRY_BYTES + 8));
+    }
+
+    /**
+     * Finds the slot of a canonical key by binary search.
+     */
+    private int find(long key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long probe = buffer.getLong(HEADER_BYTES + middle * ENTRY_BYTES);
+            if (probe < key) {
+                low = middle + 1;
+            } else if (probe > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Maps a move by a symmetry. Every symmetry of the board is its own inverse.
+     */
+    private int transformMove(int symmetry, int move) {
+        if (rule == RemovalRule.RANDOM) {
+            return PositionKey.transformSquare(symmetry, move);
+        }
+        return CompoundMoves.pack(PositionKey.transformSquare(symmetry, CompoundMoves.destination(move)),
+                PositionKey.transformSquare(symmetry, CompoundMoves.removed(move)));
+    }
+}
@@ -0,0 +1,235 @@
+package engine.book;
+
+import engine.AlphaBetaSearch;
+import engine.ChosenRemovalSearch;
+import engine.Evaluation;
+import model.BitboardState;
+import model.Bitboards;
+import model.CompoundMoves;
+import model.PositionKey;
+import model.RemovalRule;
+import sim.Policy;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * The OpeningBookBuilder class searches the opening positions of the game offline and writes the best moves found
+ * to a file that can be read by {@link OpeningBook}.
+ * The positions are either all positions reached within a number of plies from the start, or the positions visited
+ * by self-play games of a {@link Policy}, which reaches deeper into the lines that are actually played.
+ * Every position is searched on its own with a fixed budget, by {@link AlphaBetaSearch} under the
+ * {@link RemovalRule#RANDOM random removal} rule and by {@link ChosenRemovalSearch} under the
+ * {@link RemovalRule#CHOSEN chosen removal} rule.
+ * The {@link #main(String[])} method is the command-line entry point of the builder.
+ */
+public class OpeningBookBuilder {
+
+    private static final String USAGE = """
+            Usage: OpeningBookBuilder [--rule random|chosen] [--plies N] [--games N] [--policy POLICY] [--seed N]
+                                      [--nodes N] [--millis N] --output FILE
+            Without --games every position within the given number of plies is searched.""";
+
+    private OpeningBookBuilder() {
+    }
+
+    /**
+     * Collects the canonical keys of every position reached in fewer than the given number of plies
+     * from the start in which the player to move has a legal move.
+     * The squares cleared at random and the squares chosen for removal lead to the same positions,
+     * so the positions do not depend on the removal rule.
+     *
+     * @param plies the number of plies from the start
+     * @return the sorted canonical keys of the positions
+     */
+    public static long[] enumerate(int plies) {
+        var keys = new HashSet<Long>();
+        Set<Long> level = Set.of(PositionKey.canonical(
+                PositionKey.pack(BitboardState.WHITE_START, BitboardState.BLACK_START, 0)));
+        for (var ply = 0; ply < plies && !level.isEmpty(); ply++) {
+            var next = new HashSet<Long>();
+            for (long key : level) {
+                int own = PositionKey.own(key);
+                int opponent = PositionKey.opponent(key);
+                long clear = PositionKey.clear(key);
+                long empty = Evaluation.empty(own, opponent, clear);
+                long destinations = Bitboards.legalMoves(own, empty);
+                if (destinations != 0) {
+                    keys.add(key);
+                }
+                for (; destinations != 0; destinations &= destinations - 1) {
+                    int to = Long.numberOfTrailingZeros(destinations);
+                    for (long removable = CompoundMoves.removable(own, to, empty); removable != 0;
+                            removable &= removable - 1) {
+                        next.add(PositionKey.canonical(PositionKey.pack(opponent, to, clear | removable & -removable)));
+                    }
+                }
+            }
+            level = next;
+        }
+        return sorted(keys);
+    }
+
+    /**
+     * Collects the canonical keys of the positions visited in the first plies of self-play games.
+     * The policy chooses the destinations and the removed squares are chosen at random.
+     *
+     * @param plies the number of plies of every game to collect
+     * @param games the number of games to play
+     * @param policy the policy of both kings
+     * @param seed the seed of the random number generator
+     * @return the sorted canonical keys of the positions
+     */
+    public static long[] sample(int plies, long games, Policy policy, long seed) {
+        var keys = new HashSet<Long>();
+        var random = new Random(seed);
+        for (long game = 0; game < games; game++) {
+            int own = BitboardState.WHITE_START;
+            int opponent = BitboardState.BLACK_START;
+            long clear = 0;
+            for (var ply = 0; ply < plies; ply++) {
+                long empty = Evaluation.empty(own, opponent, clear);
+                if (Bitboards.legalMoves(own, empty) == 0) {
+                    break;
+                }
+                keys.add(PositionKey.canonical(PositionKey.pack(own, opponent, clear)));
+                int to = policy.chooseMove(own, opponent, clear, random);
+                long removable = CompoundMoves.removable(own, to, empty);
+                clear |= 1L << Bitboards.selectBit(removable, random.nextInt(Long.bitCount(removable)));
+                own = opponent;
+                opponent = to;
+            }
+        }
+        return sorted(keys);
+    }
+
+    private static long[] sorted(Set<Long> keys) {
+        long[] result = keys.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Searches the given positions and writes their best moves to an opening book file.
+     *
+     * @param file the path of the file to write
+     * @param rule the removal rule to choose the moves for
+     * @param keys the sorted canonical keys of the positions, in each of which the player to move has a legal move
+     * @param nodeLimit the maximum number of nodes to visit per position
+     * @param timeLimitMillis the maximum time to spend per position, in milliseconds
+     * @throws IOException if the file cannot be written
+     */
+    public static void build(Path file, RemovalRule rule, long[] keys, long nodeLimit, long timeLimitMillis)
+            throws IOException {
+        var moves = new int[keys.length];
+        var scores = new int[keys.length];
+        if (rule == RemovalRule.RANDOM) {
+            var searches = ThreadLocal.withInitial(() -> new AlphaBetaSearch(nodeLimit, timeLimitMillis));
+            IntStream.range(0, keys.length).parallel().forEach(i -> {
+                var search = searches.get();
+                moves[i] = search.findBestMove(PositionKey.own(keys[i]), PositionKey.opponent(keys[i]),
+                        PositionKey.clear(keys[i]), AlphaBetaSearch.MAX_DEPTH);
+                scores[i] = search.getScore();
+            });
+        } else {
+            var searches = ThreadLocal.withInitial(() -> new ChosenRemovalSearch(nodeLimit, timeLimitMillis));
+            IntStream.range(0, keys.length).parallel().forEach(i -> {
+                var search = searches.get();
+                moves[i] = search.findBestMove(PositionKey.own(keys[i]), PositionKey.opponent(keys[i]),
+                        PositionKey.clear(keys[i]), ChosenRemovalSearch.MAX_DEPTH);
+                scores[i] = search.getScore();
+            });
+        }
+        write(file, rule, keys, moves, scores);
+    }
+
+    /**
+     * Writes the entries of an opening book to a file.
+     *
+     * @param file the path of the file to write
+     * @param rule the removal rule the moves were chosen for
+     * @param keys the sorted canonical keys of the positions
+     * @param moves the best move of every position, as seen from its canonical key
+     * @param scores the score of every move
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the keys are not sorted and distinct
+     */
+    public static void write(Path file, RemovalRule rule, long[] keys, int[] moves, int[] scores) throws IOException {
+        for (var i = 1; i < keys.length; i++) {
+            if (keys[i - 1] >= keys[i]) {
+                throw new IllegalArgumentException("Keys are not sorted and distinct at index " + i);
+            }
+        }
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(OpeningBook.MAGIC);
+            out.writeInt(rule.ordinal());
+            out.writeInt(keys.length);
+            for (var i = 0; i < keys.length; i++) {
+                out.writeLong(keys[i]);
+                out.writeInt(moves[i]);
+                out.writeInt(scores[i]);
+            }
+        }
+    }
+
+    /**
+     * Builds an opening book configured by the command-line arguments.
+     *
+     * @param args the command-line arguments, see {@link #USAGE}
+     */
+    public static void main(String[] args) {
+        var rule = RemovalRule.RANDOM;
+        int plies = 2;
+        long games = 0;
+        var policy = Policy.GREEDY_MOBILITY;
+        long seed = System.nanoTime();
+        long nodeLimit = 200_000;
+        long timeLimitMillis = 1000;
+        Path output = null;
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                var value = args[i + 1];
+                switch (args[i]) {
+                    case "--rule" -> rule = RemovalRule.valueOf(value.toUpperCase(Locale.ROOT));
+                    case "--plies" -> plies = Integer.parseInt(value);
+                    case "--games" -> games = Long.parseLong(value);
+                    case "--policy" -> policy = Policy.parse(value);
+                    case "--seed" -> seed = Long.parseLong(value);
+                    case "--nodes" -> nodeLimit = Long.parseLong(value);
+                    case "--millis" -> timeLimitMillis = Long.parseLong(value);
+                    case "--output" -> output = Path.of(value);
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (output == null) {
+                throw new IllegalArgumentException("Missing --output");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        long[] keys = games > 0 ? sample(plies, games, policy, seed) : enumerate(plies);
+        try {
+            build(output, rule, keys, nodeLimit, timeLimitMillis);
+        } catch (IOException e) {
+            System.err.println("Cannot write opening book: " + e.getMessage());
+            System.exit(1);
+        }
+        System.out.printf("Wrote %d positions within %d plies to %s in %d ms%n",
+                keys.length, plies, output, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,354 @@
+package engine.mcts;
+
+import engine.Evaluation;
+import model.BitboardState;
+import model.BoardGameModel;
+import model.Bitboards;
+import model.Position;
+import org.tinylog.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The MctsSearch class chooses moves by Monte Carlo Tree Search with UCT selection.
+ * The tree is open-loop: its nodes are sequences of king moves, and every iteration samples the squares cleared
+ * after the moves afresh, so the statistics of a node average over the random clears of the rules.
+ * Each worker grows its own tree with its own {@link SplittableRandom} on a virtual thread, in batches of playouts
+ * between checks of the time limit, and the visit counts of the root moves are summed over the workers.
+ * The trees are kept between searches: after {@link #advance(int)} is called with the moves made in the game,
+ * the next search continues from the matching subtrees.
+ */
+public class MctsSearch implements AutoCloseable {
+
+    /**
+     * The exploration constant of the upper confidence bound.
+     */
+    public static final double EXPLORATION = Math.sqrt(2.0);
+
+    private static final int BATCH_SIZE = 256;
+    private static final int MAX_PLIES = 64;
+    private static final int MAX_NODES_PER_TREE = 1 << 20;
+
+    private final long timeLimitMillis;
+    private final long playoutLimit;
+    private final Worker[] workers;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private int rootOwn = -1;
+    private int rootOpponent = -1;
+    private long playouts;
+    private long elapsedNanos;
+
+    /**
+     * Constructs an {@code MctsSearch} with the given number of workers and limits.
+     *
+     * @param workers the number of trees grown in parallel
+     * @param timeLimitMillis the maximum time to spend per search, in milliseconds
+     * @param playoutLimit the maximum number of playouts per search, summed over the workers
+     * @param seed the seed of the random numbers used by the workers
+     */
+    public MctsSearch(int workers, long timeLimitMillis, long playoutLimit, long seed) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is required: " + workers);
+        }
+        this.timeLimitMillis = timeLimitMillis;
+        this.playoutLimit = playoutLimit;
+        this.workers = new Worker[workers];
+        var random = new SplittableRandom(seed);
+        for (int i = 0; i < workers; i++) {
+            this.workers[i] = new Worker(random.split());
+        }
+    }
+
+    /**
+     * Finds the best move for the player to move in the given model.
+     *
+     * @param model the model of the game
+     * @return the best move found, or null if the player to move has no legal move
+     */
+    public Position findBestMove(BoardGameModel model) {
+        return findBestMove(BitboardState.of(model));
+    }
+
+    /**
+     * Finds the best move for the player to move in the given state, blocking until the search ends.
+     *
+     * @param state the state of the game
+     * @return the best move found, or null if the player to move has no legal move
+     */
+    public Position findBestMove(BitboardState state) {
+        int best = findBestMove(state.kingSquare(state.getNextPlayer()),
+                state.kingSquare(state.getNextPlayer().opponent()), state.getClear());
+        return best < 0 ? null : BitboardState.toPosition(best);
+    }
+
+    /**
+     * Finds the best move for the king on the square {@code own}, which is to move.
+     * The trees are reused if the kings stand where the moves passed to {@link #advance(int)} left them.
+     *
+     * @param own the square of the king to move
+     * @param opponent the square of the opponent's king
+     * @param clear the mask of the cleared squares
+     * @return the square the king should move to, or -1 if it has no legal move
+     */
+    public int findBestMove(int own, int opponent, long clear) {
+        long legal = Bitboards.legalMoves(own, Evaluation.empty(own, opponent, clear));
+        if (legal == 0) {
+            return -1;
+        }
+        if (own != rootOwn || opponent != rootOpponent) {
+            for (var worker : workers) {
+                worker.reset(new Node(-1));
+            }
+            rootOwn = own;
+            rootOpponent = opponent;
+        }
+        cancelled.set(false);
+        long start = System.nanoTime();
+        long deadline = start + timeLimitMillis * 1_000_000L;
+        long share = playoutLimit / workers.length;
+        long extra = playoutLimit % workers.length;
+        List<Future<Long>> running = new ArrayList<>();
+        for (var i = 0; i < workers.length; i++) {
+            var worker = workers[i];
+            long budget = share + (i < extra ? 1 : 0);
+            running.add(executor.submit(() -> worker.run(own, opponent, clear, budget, deadline, cancelled)));
+        }
+        playouts = 0;
+        for (var future : running) {
+            try {
+                playouts += future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                Logger.error(e, "MCTS worker failed");
+            }
+        }
+        elapsedNanos = System.nanoTime() - start;
+        int best = Long.numberOfTrailingZeros(legal);
+        long bestVisits = -1;
+        for (long moves = legal; moves != 0; moves &= moves - 1) {
+            int to = Long.numberOfTrailingZeros(moves);
+            long visits = getVisits(to);
+            if (visits > bestVisits) {
+                bestVisits = visits;
+                best = to;
+            }
+        }
+        Logger.debug("MCTS on {} workers: {} playouts, {} playouts per second, best move {} with {} visits",
+                workers.length, playouts, getPlayoutsPerSecond(), best, bestVisits);
+        return best;
+    }
+
+    /**
+     * Moves the roots of the trees along a move made in the game, keeping the statistics gathered below it.
+     * Should be called with every king move after a search, by either player, in the order they are made.
+     *
+     * @param square the square the king to move moved to
+     */
+    public void advance(int square) {
+        for (var worker : workers) {
+            var child = worker.root.findChild(square);
+            worker.reset(child != null ? child : new Node(square));
+        }
+        rootOwn = rootOpponent;
+        rootOpponent = square;
+    }
+
+    /**
+     * Moves the roots of the trees along a move made in the game.
+     *
+     * @param position the position the king to move moved to
+     */
+    public void advance(Position position) {
+        advance(BitboardState.squareIndex(position));
+    }
+
+    /**
+     * Cancels the running search, which then returns the best move found so far. May be called from any thread.
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    /**
+     * Gets the number of visits of a move from the root, summed over the workers.
+     *
+     * @param square the square the king to move moves to
+     * @return the number of visits of the move
+     */
+    public long getVisits(int square) {
+        long visits = 0;
+        for (var worker : workers) {
+            var child = worker.root.findChild(square);
+            if (child != null) {
+                visits += child.getVisits();
+            }
+        }
+        return visits;
+    }
+
+    /**
+     * Gets the fraction of the playouts through a move from the root that were won by the player to move.
+     *
+     * @param square the square the king to move moves to
+     * @return the win rate of the move, or 0 if it has not been visited
+     */
+    public double getWinRate(int square) {
+        long visits = 0;
+        double wins = 0;
+        for (var worker : workers) {
+            var child = worker.root.findChild(square);
+            if (child != null) {
+                visits += child.getVisits();
+                wins += child.getWins();
+            }
+        }
+        return visits == 0 ? 0.0 : wins / visits;
+    }
+
+    /**
+     * Gets the number of workers growing trees.
+     *
+     * @return the number of workers
+     */
+    public int getWorkers() {
+        return workers.length;
+    }
+
+    /**
+     * Gets the number of playouts run by all workers in the last search.
+     *
+     * @return the number of playouts
+     */
+    public long getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * Gets the number of playouts run per second by all workers together in the last search.
+     *
+     * @return the number of playouts per second
+     */
+    public long getPlayoutsPerSecond() {
+        return elapsedNanos == 0 ? 0 : playouts * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * Gets the number of nodes in the trees of all workers.
+     *
+     * @return the number of nodes
+     */
+    public long getTreeSize() {
+        long size = 0;
+        for (var worker : workers) {
+            size += worker.nodeCount;
+        }
+        return size;
+    }
+
+    /**
+     * Stops the workers.
+     */
+    @Override
+    public void close() {
+        cancel();
+        executor.shutdownNow();
+    }
+
+    /**
+     * The Worker class grows one tree, and is only ever used by one thread at a time.
+     */
+    private static final class Worker {
+
+        private final SplittableRandom random;
+        private final Node[] path = new Node[MAX_PLIES];
+        private Node root;
+        private int nodeCount;
+
+        private Worker(SplittableRandom random) {
+            this.random = random;
+            reset(new Node(-1));
+        }
+
+        private void reset(Node root) {
+            this.root = root;
+            this.nodeCount = count(root);
+        }
+
+        private static int count(Node node) {
+            int count = 1;
+            for (int i = 0; i < node.getChildCount(); i++) {
+                count += count(node.getChild(i));
+            }
+            return count;
+        }
+
+        /**
+         * Runs batches of iterations until the budget or the time runs out, or the search is cancelled.
+         *
+         * @return the number of playouts run
+         */
+        private long run(int own, int opponent, long clear, long budget, long deadline, AtomicBoolean cancelled) {
+            long done = 0;
+            while (done < budget && !cancelled.get() && System.nanoTime() < deadline) {
+                long batch = Math.min(BATCH_SIZE, budget - done);
+                for (long i = 0; i < batch; i++) {
+                    iterate(own, opponent, clear);
+                }
+                done += batch;
+            }
+            return done;
+        }
+
+        /**
+         * Selects a path down the tree under freshly sampled clears, expands it by one node,
+         * plays the game out at random and updates the statistics along the path.
+         */
+        private void iterate(int own, int opponent, long clear) {
+            var node = root;
+            int length = 0;
+            path[length++] = node;
+            int result;
+            while (true) {
+                long legal = Bitboards.legalMoves(own, Evaluation.empty(own, opponent, clear));
+                if (legal == 0) {
+                    result = 0;
+                    break;
+                }
+                long unexpanded = legal & ~node.getChildMask();
+                int to;
+                if (unexpanded != 0 && nodeCount < MAX_NODES_PER_TREE) {
+                    to = Bitboards.selectBit(unexpanded, random.nextInt(Long.bitCount(unexpanded)));
+                    node = node.addChild(to);
+                    nodeCount++;
+                } else if (unexpanded == legal) {
+                    result = Playout.play(own, opponent, clear, random);
+                    break;
+                } else {
+                    node = node.selectChild(legal, EXPLORATION);
+                    to = node.getMove();
+                }
+                path[length++] = node;
+                clear = Playout.clearRandomSquare(to, opponent, clear, random);
+                own = opponent;
+                opponent = to;
+                if (node.getVisits() == 0) {
+                    result = Playout.play(own, opponent, clear, random);
+                    break;
+                }
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                path[i].update(1 - result);
+                result = 1 - result;
+            }
+        }
+    }
+}
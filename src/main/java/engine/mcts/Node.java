@@ -0,0 +1,114 @@
+package engine.mcts;
+
+/**
+ * The Node class is a node of a Monte Carlo search tree, reached from its parent by moving a king to a square.
+ * Since the square cleared after every move is random, a node stands for a sequence of king moves
+ * rather than for a single position, and the statistics of a node average over the cleared squares.
+ */
+final class Node {
+
+    private static final int MAX_CHILDREN = 8;
+
+    private final int move;
+    private final int[] childMoves = new int[MAX_CHILDREN];
+    private final Node[] children = new Node[MAX_CHILDREN];
+    private int childCount;
+    private long childMask;
+    private long visits;
+    private double wins;
+
+    /**
+     * Constructs a {@code Node} reached by the given move.
+     *
+     * @param move the square the king moved to, or -1 for a root
+     */
+    Node(int move) {
+        this.move = move;
+    }
+
+    int getMove() {
+        return move;
+    }
+
+    long getVisits() {
+        return visits;
+    }
+
+    /**
+     * Gets the number of playouts won by the player who made the move leading to this node.
+     *
+     * @return the number of wins
+     */
+    double getWins() {
+        return wins;
+    }
+
+    int getChildCount() {
+        return childCount;
+    }
+
+    Node getChild(int index) {
+        return children[index];
+    }
+
+    /**
+     * Gets the mask of the squares for which this node has a child.
+     *
+     * @return the mask of the expanded moves
+     */
+    long getChildMask() {
+        return childMask;
+    }
+
+    /**
+     * Finds the child reached by the given move.
+     *
+     * @param square the square the king moves to
+     * @return the child, or null if it has not been expanded
+     */
+    Node findChild(int square) {
+        for (int i = 0; i < childCount; i++) {
+            if (childMoves[i] == square) {
+                return children[i];
+            }
+        }
+        return null;
+    }
+
+    Node addChild(int square) {
+        var child = new Node(square);
+        childMoves[childCount] = square;
+        children[childCount++] = child;
+        childMask |= 1L << square;
+        return child;
+    }
+
+    /**
+     * Finds the child with the highest upper confidence bound among the children whose move is legal.
+     *
+     * @param legal the mask of the legal moves in the sampled position
+     * @param exploration the exploration constant
+     * @return the selected child
+     */
+    Node selectChild(long legal, double exploration) {
+        double logVisits = Math.log(visits);
+        Node best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < childCount; i++) {
+            if ((legal & (1L << childMoves[i])) != 0) {
+                var child = children[i];
+                double value = child.wins / child.visits + exploration * Math.sqrt(logVisits / child.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+        }
+        return best;
+    }
+
+    void update(double result) {
+        visits++;
+        wins += result;
+    }
+}
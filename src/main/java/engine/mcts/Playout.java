@@ -0,0 +1,59 @@
+package engine.mcts;
+
+import engine.Evaluation;
+import model.Bitboards;
+
+import java.util.SplittableRandom;
+
+/**
+ * The Playout class plays random games to the end on the bitboard encoding of a position.
+ * Both players move their king to a uniformly random legal square, after which a uniformly random empty square
+ * is cleared, until the player to move is trapped.
+ */
+final class Playout {
+
+    private Playout() {
+    }
+
+    /**
+     * Plays a random game from the given position.
+     *
+     * @param own the square of the king to move
+     * @param opponent the square of the opponent's king
+     * @param clear the mask of the cleared squares
+     * @param random the source of randomness, owned by the calling thread
+     * @return 1 if the player to move wins the playout, 0 otherwise
+     */
+    static int play(int own, int opponent, long clear, SplittableRandom random) {
+        int result = 1;
+        while (true) {
+            long empty = Evaluation.empty(own, opponent, clear);
+            long legal = Bitboards.legalMoves(own, empty);
+            if (legal == 0) {
+                return 1 - result;
+            }
+            int to = Bitboards.selectBit(legal, random.nextInt(Long.bitCount(legal)));
+            clear = clearRandomSquare(to, opponent, clear, random);
+            own = opponent;
+            opponent = to;
+            result = 1 - result;
+        }
+    }
+
+    /**
+     * Clears a random empty square after the king moved to the given square.
+     *
+     * @param moved the square the king moved to
+     * @param other the square of the other king
+     * @param clear the mask of the cleared squares before the move
+     * @param random the source of randomness
+     * @return the mask of the cleared squares after the move
+     */
+    static long clearRandomSquare(int moved, int other, long clear, SplittableRandom random) {
+        long empty = Evaluation.empty(moved, other, clear);
+        if (empty == 0) {
+            return clear;
+        }
+        return clear | 1L << Bitboards.selectBit(empty, random.nextInt(Long.bitCount(empty)));
+    }
+}
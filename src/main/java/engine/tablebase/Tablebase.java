@@ -0,0 +1,299 @@
+package engine.tablebase;
+
+import game.State.Player;
+import model.BitboardState;
+import model.BoardGameModel;
+import model.PositionKey;
+import model.RemovalRule;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The Tablebase class looks up the game-theoretic values of endgame positions of the
+ * {@link RemovalRule#CHOSEN chosen removal} rule in a file written by {@link TablebaseGenerator}.
+ * The file is mapped into memory read-only, so lookups are served from the operating system's page cache,
+ * which is shared by every process using the same file, and nothing is loaded onto the heap up front.
+ * A single buffer can only map 2 GB, so the file is mapped in segments of 1 GB.
+ *
+ * <p>A position is given by the square of the king to move, the square of the opponent's king and the mask
+ * of the empty squares. Each of the four {@link PositionKey} symmetries of the board maps a different square
+ * into the top left quadrant, so every position has exactly one image whose king to move stands in that quadrant,
+ * and only these images are stored, a quarter of all positions.
+ * The file holds one byte per stored position with at most {@link #getMaxEmpty()} empty squares,
+ * at the offset given by the perfect hash {@link #index(int, int, long)}: the positions are grouped by their
+ * number of empty squares, then by the pair of king squares, and the empty squares are ranked among the
+ * other 46 squares in the combinatorial number system.
+ * The byte has bit 7 set if the player to move wins, and holds the number of plies until the game ends
+ * with best play in its lower bits.
+ * A tablebase may be probed from any number of threads.
+ */
+public final class Tablebase {
+
+    /** The value returned by the probes for positions with more empty squares than the tablebase holds. */
+    public static final int NOT_FOUND = -1;
+
+    /** The largest number of empty squares a tablebase can be generated for. */
+    public static final int MAX_EMPTY_LIMIT = 6;
+
+    static final int MAGIC = 0x434B_5442;
+
+    static final int HEADER_BYTES = 8;
+
+    static final int WIN = 0x80;
+
+    static final int SEGMENT_BITS = 30;
+
+    static final long SEGMENT_BYTES = 1L << SEGMENT_BITS;
+
+    private static final int OTHER_SQUARES = BitboardState.SQUARES - 2;
+
+    private static final int QUADRANT_ROWS = BoardGameModel.BOARD_ROWS / 2;
+
+    private static final int QUADRANT_COLUMNS = BoardGameModel.BOARD_COLUMNS / 2;
+
+    /** The number of squares of the top left quadrant, where the king to move of every stored position stands. */
+    static final int QUADRANT_SQUARES = QUADRANT_ROWS * QUADRANT_COLUMNS;
+
+    private static final int KING_PAIRS = QUADRANT_SQUARES * (BitboardState.SQUARES - 1);
+
+    private static final int[] SYMMETRIES = new int[BitboardState.SQUARES];
+
+    private static final int[] QUADRANT_INDICES = new int[BitboardState.SQUARES];
+
+    private static final long[][] BINOMIAL = new long[OTHER_SQUARES + 1][MAX_EMPTY_LIMIT + 2];
+
+    private static final long[] LEVEL_OFFSETS = new long[MAX_EMPTY_LIMIT + 2];
+
+    static {
+        for (var n = 0; n <= OTHER_SQUARES; n++) {
+            BINOMIAL[n][0] = 1;
+            for (var k = 1; k <= MAX_EMPTY_LIMIT + 1; k++) {
+                BINOMIAL[n][k] = n == 0 ? 0 : BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+            }
+        }
+        for (var k = 1; k <= MAX_EMPTY_LIMIT + 1; k++) {
+            LEVEL_OFFSETS[k] = LEVEL_OFFSETS[k - 1] + KING_PAIRS * BINOMIAL[OTHER_SQUARES][k - 1];
+        }
+        for (var square = 0; square < BitboardState.SQUARES; square++) {
+            for (var symmetry = 0; symmetry < PositionKey.SYMMETRIES; symmetry++) {
+                int image = PositionKey.transformSquare(symmetry, square);
+                if (image / BoardGameModel.BOARD_COLUMNS < QUADRANT_ROWS
+                        && image % BoardGameModel.BOARD_COLUMNS < QUADRANT_COLUMNS) {
+                    SYMMETRIES[square] = symmetry;
+                }
+            }
+            if (SYMMETRIES[square] == PositionKey.IDENTITY) {
+                QUADRANT_INDICES[square] = square / BoardGameModel.BOARD_COLUMNS * QUADRANT_COLUMNS
+                        + square % BoardGameModel.BOARD_COLUMNS;
+            }
+        }
+    }
+
+    private final MappedByteBuffer[] segments;
+    private final int maxEmpty;
+
+    private Tablebase(MappedByteBuffer[] segments, int maxEmpty) {
+        this.segments = segments;
+        this.maxEmpty = maxEmpty;
+    }
+
+    /**
+     * Opens a tablebase file by mapping it into memory.
+     *
+     * @param file the path of the tablebase file
+     * @return the tablebase
+     * @throws IOException if the file cannot be read or is not a complete tablebase file
+     */
+    public static Tablebase open(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a tablebase file: " + file);
+            }
+            var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not a tablebase file: " + file);
+            }
+            int maxEmpty = header.getInt(4);
+            if (maxEmpty < 0 || maxEmpty > MAX_EMPTY_LIMIT || channel.size() != HEADER_BYTES + size(maxEmpty)) {
+                throw new IOException("Incomplete tablebase file: " + file);
+            }
+            return new Tablebase(map(channel, FileChannel.MapMode.READ_ONLY, channel.size()), maxEmpty);
+        }
+    }
+
+    /**
+     * Maps the first bytes of a file in segments of 1 GB.
+     * Mapping a file for writing extends it to the given size.
+     *
+     * @param channel the channel of the file
+     * @param mode the mode of the mapping
+     * @param size the number of bytes to map
+     * @return the segments in order
+     * @throws IOException if the file cannot be mapped
+     */
+    static MappedByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode, long size) throws IOException {
+        var segments = new MappedByteBuffer[Math.toIntExact((size + SEGMENT_BYTES - 1) >>> SEGMENT_BITS)];
+        for (var i = 0; i < segments.length; i++) {
+            long start = (long) i << SEGMENT_BITS;
+            segments[i] = channel.map(mode, start, Math.min(SEGMENT_BYTES, size - start));
+        }
+        return segments;
+    }
+
+    /**
+     * Reads the byte at a position of a segmented mapping.
+     */
+    static byte get(MappedByteBuffer[] segments, long position) {
+        return segments[(int) (position >>> SEGMENT_BITS)].get((int) (position & (SEGMENT_BYTES - 1)));
+    }
+
+    /**
+     * Writes the byte at a position of a segmented mapping.
+     */
+    static void put(MappedByteBuffer[] segments, long position, byte value) {
+        segments[(int) (position >>> SEGMENT_BITS)].put((int) (position & (SEGMENT_BYTES - 1)), value);
+    }
+
+    /**
+     * Gets the largest number of empty squares of the positions in the tablebase.
+     *
+     * @return the largest number of empty squares
+     */
+    public int getMaxEmpty() {
+        return maxEmpty;
+    }
+
+    /**
+     * Looks up the value of a position.
+     *
+     * @param own the square of the king to move
+     * @param opponent the square of the opponent's king
+     * @param empty the mask of the empty squares
+     * @return the value of the position, or {@link #NOT_FOUND} if it has too many empty squares
+     */
+    public int probe(int own, int opponent, long empty) {
+        if (Long.bitCount(empty) > maxEmpty) {
+            return NOT_FOUND;
+        }
+        return get(segments, HEADER_BYTES + index(own, opponent, empty)) & 0xFF;
+    }
+
+    /**
+     * Looks up the value of a state for the player to move.
+     *
+     * @param state the state of the game
+     * @return the value of the position, or {@link #NOT_FOUND} if it has too many empty squares
+     */
+    public int probe(BitboardState state) {
+        Player player = state.getNextPlayer();
+        return probe(state.kingSquare(player), state.kingSquare(player.opponent()), state.getEmpty());
+    }
+
+    /**
+     * Checks if a value found by a probe is a win for the player to move.
+     *
+     * @param value the value of a position
+     * @return true if the player to move wins, false otherwise
+     */
+    public static boolean isWin(int value) {
+        return (value & WIN) != 0;
+    }
+
+    /**
+     * Gets the number of plies until the game ends with best play from a value found by a probe.
+     *
+     * @param value the value of a position
+     * @return the number of plies
+     */
+    public static int plies(int value) {
+        return value & ~WIN;
+    }
+
+    /**
+     * Returns the number of stored positions with at most the given number of empty squares.
+     *
+     * @param maxEmpty the largest number of empty squares
+     * @return the number of positions, which is also the size of the tablebase without its header
+     */
+    public static long size(int maxEmpty) {
+        return LEVEL_OFFSETS[maxEmpty + 1];
+    }
+
+    /**
+     * Returns the number of positions with exactly the given number of empty squares and fixed king squares.
+     *
+     * @param empty the number of empty squares
+     * @return the number of ways to choose the empty squares among the squares without a king
+     */
+    static long subsets(int empty) {
+        return BINOMIAL[OTHER_SQUARES][empty];
+    }
+
+    /**
+     * Returns the perfect hash of a position, which is its offset in the tablebase.
+     * The position is first mapped to its image whose king to move stands in the top left quadrant,
+     * so all the symmetric images of a position share the same index.
+     *
+     * @param own the square of the king to move
+     * @param opponent the square of the opponent's king, different from {@code own}
+     * @param empty the mask of the empty squares, which must not contain a king
+     * @return the index of the position
+     */
+    public static long index(int own, int opponent, long empty) {
+        int symmetry = SYMMETRIES[own];
+        if (symmetry != PositionKey.IDENTITY) {
+            own = PositionKey.transformSquare(symmetry, own);
+            opponent = PositionKey.transformSquare(symmetry, opponent);
+            empty = PositionKey.transformMask(symmetry, empty);
+        }
+        int count = Long.bitCount(empty);
+        int pair = QUADRANT_INDICES[own] * (BitboardState.SQUARES - 1) + (opponent > own ? opponent - 1 : opponent);
+        return LEVEL_OFFSETS[count] + pair * BINOMIAL[OTHER_SQUARES][count] + rank(compress(empty, own, opponent));
+    }
+
+    /**
+     * Returns the square of the top left quadrant with the given index.
+     *
+     * @param index the index of the square in the quadrant, from 0 to {@link #QUADRANT_SQUARES}, exclusive
+     * @return the square index on the board
+     */
+    static int quadrantSquare(int index) {
+        return BitboardState.squareIndex(index / QUADRANT_COLUMNS, index % QUADRANT_COLUMNS);
+    }
+
+    /**
+     * Ranks a set of squares among the sets of the same size in colexicographic order.
+     */
+    static long rank(long squares) {
+        long rank = 0;
+        for (var i = 1; squares != 0; i++, squares &= squares - 1) {
+            rank += BINOMIAL[Long.numberOfTrailingZeros(squares)][i];
+        }
+        return rank;
+    }
+
+    /**
+     * Removes the bits of the two king squares from a mask, numbering the other squares from 0 to 45.
+     */
+    static long compress(long mask, int a, int b) {
+        int low = Math.min(a, b);
+        int high = Math.max(a, b);
+        mask = mask & ((1L << high) - 1) | (mask >>> (high + 1)) << high;
+        return mask & ((1L << low) - 1) | (mask >>> (low + 1)) << low;
+    }
+
+    /**
+     * Inserts the bits of the two king squares into a mask numbering the other squares from 0 to 45,
+     * the inverse of {@link #compress(long, int, int)}.
+     */
+    static long expand(long mask, int a, int b) {
+        int low = Math.min(a, b);
+        int high = Math.max(a, b);
+        mask = mask & ((1L << low) - 1) | (mask >>> low) << (low + 1);
+        return mask & ((1L << high) - 1) | (mask >>> high) << (high + 1);
+    }
+}
@@ -0,0 +1,160 @@
+package engine.tablebase;
+
+import model.BitboardState;
+import model.Bitboards;
+import model.CompoundMoves;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * The TablebaseGenerator class computes the values of every position with at most a given number of empty squares
+ * and writes them to a file that can be read by {@link Tablebase}.
+ * Every move of the chosen removal rule leaves exactly one empty square fewer, so the positions are solved
+ * backwards from the positions without empty squares, where the player to move has lost,
+ * one number of empty squares at a time, each level only looking up the level below it.
+ * The values are written straight into the memory-mapped file and the level below is read back from it,
+ * so generating a tablebase larger than the heap needs no more memory than the page cache provides.
+ * The {@link #main(String[])} method is the command-line entry point of the generator.
+ */
+public class TablebaseGenerator {
+
+    private static final String USAGE = "Usage: TablebaseGenerator [--empty N] --output FILE";
+
+    private TablebaseGenerator() {
+    }
+
+    /**
+     * Solves the stored positions with {@code k} empty squares from the values of the positions with one fewer.
+     */
+    private static void solveLevel(int k, MappedByteBuffer[] segments) {
+        long subsets = Tablebase.subsets(k);
+        IntStream.range(0, Tablebase.QUADRANT_SQUARES * BitboardState.SQUARES).parallel().forEach(pair -> {
+            int own = Tablebase.quadrantSquare(pair / BitboardState.SQUARES);
+            int opponent = pair % BitboardState.SQUARES;
+            if (opponent == own) {
+                return;
+            }
+            long compressed = (1L << k) - 1;
+            long first = Tablebase.HEADER_BYTES
+                    + Tablebase.index(own, opponent, Tablebase.expand(compressed, own, opponent));
+            for (long i = 0; i < subsets; i++) {
+                long empty = Tablebase.expand(compressed, own, opponent);
+                Tablebase.put(segments, first + i, solve(own, opponent, empty, segments));
+                compressed = nextSubset(compressed);
+            }
+        });
+    }
+
+    /**
+     * Solves a position from the values of the positions its moves lead to.
+     */
+    private static byte solve(int own, int opponent, long empty, MappedByteBuffer[] segments) {
+        long destinations = Bitboards.legalMoves(own, empty);
+        if (destinations == 0) {
+            return 0;
+        }
+        int shortestWin = Integer.MAX_VALUE;
+        int longestLoss = 0;
+        for (; destinations != 0; destinations &= destinations - 1) {
+            int to = Long.numberOfTrailingZeros(destinations);
+            long afterMove = CompoundMoves.removable(own, to, empty);
+            for (long removable = afterMove; removable != 0; removable &= removable - 1) {
+                long childEmpty = afterMove & ~(removable & -removable);
+                int child = Tablebase.get(segments, Tablebase.HEADER_BYTES + Tablebase.index(opponent, to, childEmpty))
+                        & 0xFF;
+                if (Tablebase.isWin(child)) {
+                    longestLoss = Math.max(longestLoss, Tablebase.plies(child) + 1);
+                } else {
+                    shortestWin = Math.min(shortestWin, Tablebase.plies(child) + 1);
+                }
+            }
+        }
+        return (byte) (shortestWin != Integer.MAX_VALUE ? Tablebase.WIN | shortestWin : longestLoss);
+    }
+
+    /**
+     * Returns the next larger mask with the same number of set bits.
+     */
+    private static long nextSubset(long mask) {
+        if (mask == 0) {
+            return 0;
+        }
+        long lowest = mask & -mask;
+        long ripple = mask + lowest;
+        return ripple | ((mask ^ ripple) >>> 2) / lowest;
+    }
+
+    /**
+     * Generates a tablebase and writes it to a file.
+     * The magic number is written last, once every value is on the disk,
+     * so a file left behind by an interrupted generation is never opened as a tablebase.
+     *
+     * @param maxEmpty the largest number of empty squares, at most {@link Tablebase#MAX_EMPTY_LIMIT}
+     * @param file the path of the file to write
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if {@code maxEmpty} is out of range
+     */
+    public static void write(int maxEmpty, Path file) throws IOException {
+        if (maxEmpty < 0 || maxEmpty > Tablebase.MAX_EMPTY_LIMIT) {
+            throw new IllegalArgumentException("Number of empty squares out of range: " + maxEmpty);
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            var segments = Tablebase.map(channel, FileChannel.MapMode.READ_WRITE,
+                    Tablebase.HEADER_BYTES + Tablebase.size(maxEmpty));
+            segments[0].putInt(4, maxEmpty);
+            for (var k = 0; k <= maxEmpty; k++) {
+                solveLevel(k, segments);
+            }
+            for (var segment : segments) {
+                segment.force();
+            }
+            segments[0].putInt(0, Tablebase.MAGIC);
+            segments[0].force();
+        }
+    }
+
+    /**
+     * Generates a tablebase configured by the command-line arguments.
+     *
+     * @param args the command-line arguments, see {@link #USAGE}
+     */
+    public static void main(String[] args) {
+        int maxEmpty = 5;
+        Path output = null;
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                var value = args[i + 1];
+                switch (args[i]) {
+                    case "--empty" -> maxEmpty = Integer.parseInt(value);
+                    case "--output" -> output = Path.of(value);
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (output == null) {
+                throw new IllegalArgumentException("Missing --output");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        try {
+            write(maxEmpty, output);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Cannot generate tablebase: " + e.getMessage());
+            System.exit(1);
+        }
+        System.out.printf("Wrote %d positions with at most %d empty squares to %s in %d ms%n",
+                Tablebase.size(maxEmpty), maxEmpty, output, (System.nanoTime() - start) / 1_000_000);
+    }
+}
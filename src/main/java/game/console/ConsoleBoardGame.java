@@ -28,7 +28,7 @@ public class ConsoleBoardGame {
             throw new IllegalArgumentException();
         }
         var scanner = new Scanner(s);
-        Position position = new Position(scanner.nextInt(), scanner.nextInt());
+        Position position = Position.of(scanner.nextInt(), scanner.nextInt());
         Logger.info("Parsed position: {}", position);
         return position;
     }
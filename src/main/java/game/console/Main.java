@@ -1,7 +1,11 @@
 package game.console;
 
+import engine.ParallelSearch;
 import model.BoardGameModel;
 import model.Position;
+import model.RemovalRule;
+
+import java.util.List;
 
 import static game.console.ConsoleBoardGame.printWinner;
 /**
@@ -9,19 +13,72 @@ import static game.console.ConsoleBoardGame.printWinner;
  * It initializes the game model and starts the game loop.
  */
 public class Main {
+    private static final long COMPUTER_TIME_LIMIT_MILLIS = 1000;
+
+    private static final int COMPUTER_TABLE_SIZE_LOG2 = 20;
+
     /**
      * The main method initializes the board game model, sets up the game loop, and starts the game.
+     * Under the chosen removal rule every move is entered as two positions:
+     * first the destination of the king, then the square to remove.
      *
-     * @param args command-line arguments (not used in this application)
+     * @param args command-line arguments; {@code --computer} lets the computer play as PLAYER_2,
+     *             {@code --chosen} lets the players choose the removed squares instead of clearing them at random
      */
     public static void main(String[] args) {
+        var options = List.of(args);
         var model = new BoardGameModel();
+        if (options.contains("--chosen")) {
+            if (options.contains("--computer")) {
+                System.err.println("The computer only plays with randomly removed squares");
+                System.exit(1);
+            }
+            model.setRemovalRule(RemovalRule.CHOSEN);
+        }
+        var computer = options.contains("--computer")
+                ? new ParallelSearch(Runtime.getRuntime().availableProcessors(),
+                        COMPUTER_TIME_LIMIT_MILLIS, COMPUTER_TABLE_SIZE_LOG2)
+                : null;
         var game = new BasicGame<Position>(model, ConsoleBoardGame::parseMove) {
+            private Position destination;
+
             @Override
             protected void makeMoveIfPossible(Position position) {
-                if (model.isLegalMove(position)) {
+                if (model.getRemovalRule() == RemovalRule.CHOSEN) {
+                    makeChosenMoveIfPossible(position);
+                } else if (model.isLegalMove(position)) {
                     model.makeMove(position);
                     System.out.println(model);
+                    if (model.isGameOver()) {
+                        printWinner(model);
+                        return;
+                    }
+                    if (computer != null) {
+                        Position reply = computer.findBestMove(model);
+                        System.out.println("PLAYER_2 " + reply);
+                        model.makeMove(reply);
+                        System.out.println(model);
+                        if (model.isGameOver()) {
+                            printWinner(model);
+                        }
+                    }
+                }
+            }
+
+            /**
+             * Takes the destination of the king first and the square to remove second,
+             * making the move once both are legal.
+             */
+            private void makeChosenMoveIfPossible(Position position) {
+                if (destination == null) {
+                    if (model.isLegalMove(position)) {
+                        destination = position;
+                        System.out.println("Square to remove:");
+                    }
+                } else if (model.isLegalMove(destination, position)) {
+                    model.makeMove(destination, position);
+                    destination = null;
+                    System.out.println(model);
                     if (model.isGameOver()) {
                         printWinner(model);
                     }
@@ -1,12 +1,15 @@
 package game.gui;
 
+import engine.ParallelSearch;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
+import model.RemovalRule;
 import org.tinylog.Logger;
+import scoreboard.GameResultSaver;
 import scoreboard.ScoreboardController;
 
 /**
@@ -15,8 +18,14 @@ import scoreboard.ScoreboardController;
  */
 public class BoardGameApplication extends Application {
 
+    private static final long COMPUTER_TIME_LIMIT_MILLIS = 500;
+
+    private static final int COMPUTER_TABLE_SIZE_LOG2 = 20;
+
     private Stage primaryStage;
 
+    private ParallelSearch computerSearch;
+
     /**
      * The main entry point for JavaFX applications. This method is called after the application
      * has been instantiated and the JavaFX toolkit has been initialized.
@@ -31,6 +40,34 @@ public class BoardGameApplication extends Application {
         showLoginScreen();
     }
 
+    /**
+     * Writes the game results still queued and stops the threads of the computer opponent
+     * before the application exits.
+     */
+    @Override
+    public void stop() {
+        Logger.info("Application stopping. Writing queued game results.");
+        GameResultSaver.shutdown();
+        if (computerSearch != null) {
+            computerSearch.close();
+            computerSearch = null;
+        }
+    }
+
+    /**
+     * Gets the search of the computer opponent, creating it for the first game against the computer.
+     * A single search, with its helper threads and transposition table, is shared by every game.
+     *
+     * @return the search of the computer opponent
+     */
+    private ParallelSearch getComputerSearch() {
+        if (computerSearch == null) {
+            computerSearch = new ParallelSearch(Runtime.getRuntime().availableProcessors(),
+                    COMPUTER_TIME_LIMIT_MILLIS, COMPUTER_TABLE_SIZE_LOG2);
+        }
+        return computerSearch;
+    }
+
     /**
      * Shows the login screen of the application.
      * The login screen allows users to enter their credentials and start the game.
@@ -61,6 +98,29 @@ public class BoardGameApplication extends Application {
      * @param player2Name the name of the second player
      */
     public void showGameScreen(String player1Name, String player2Name) {
+        showGameScreen(player1Name, player2Name, false);
+    }
+
+    /**
+     * Shows the game screen where the board game is played.
+     *
+     * @param player1Name the name of the first player
+     * @param player2Name the name of the second player
+     * @param computer whether the computer makes the moves of the second player
+     */
+    public void showGameScreen(String player1Name, String player2Name, boolean computer) {
+        showGameScreen(player1Name, player2Name, computer, RemovalRule.RANDOM);
+    }
+
+    /**
+     * Shows the game screen where the board game is played.
+     *
+     * @param player1Name the name of the first player
+     * @param player2Name the name of the second player
+     * @param computer whether the computer makes the moves of the second player
+     * @param removalRule the rule deciding which square is removed after a move
+     */
+    public void showGameScreen(String player1Name, String player2Name, boolean computer, RemovalRule removalRule) {
         try {
             FXMLLoader loader = new FXMLLoader();
             loader.setLocation(BoardGameApplication.class.getResource("/game.fxml"));
@@ -68,6 +128,8 @@ public class BoardGameApplication extends Application {
 
             BoardGameController controller = loader.getController();
             controller.setPlayerNames(player1Name, player2Name);
+            controller.setComputerOpponent(computer ? getComputerSearch() : null);
+            controller.setRemovalRule(removalRule);
             controller.setMainApp(this);
 
             Scene scene = new Scene(gamePane);
@@ -1,5 +1,8 @@
 package game.gui;
 
+import engine.ParallelSearch;
+import engine.book.BookSearch;
+import engine.book.OpeningBook;
 import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.ObjectBinding;
@@ -8,6 +11,7 @@ import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.value.ObservableValue;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
@@ -15,8 +19,9 @@ import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
+import model.BitboardState;
 import model.BoardGameModel;
-import model.Position;
+import model.RemovalRule;
 import model.Square;
 import game.State.Player;
 import org.tinylog.Logger;
@@ -25,6 +30,11 @@ import util.BoardGameMoveSelector.Phase;
 import util.EnumImageStorage;
 import util.ImageStorage;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * The {@code BoardGameController} class is responsible for handling the logic and UI interactions
  * for the board game. It manages the game board, updates the UI based on game state, and handles user interactions.
@@ -33,19 +43,32 @@ public class BoardGameController {
 
     private static final int SQUARE_SIZE = 45;
 
+    private static final Path OPENING_BOOK_FILE = Path.of("opening_book.bin");
+
     @FXML
     private GridPane board;
 
     @FXML
     private Label currentPlayerLabel;
 
+    @FXML
+    private Button undoButton;
+
+    @FXML
+    private Button redoButton;
+
     private static final BoardGameModel model = new BoardGameModel();
     private final BoardGameMoveSelector selector = new BoardGameMoveSelector(model);
+    private final StackPane[] squares = new StackPane[BitboardState.SQUARES];
 
     private static String player1Name;
     private static String player2Name;
     private static BoardGameApplication mainApp;
 
+    private ParallelSearch computer;
+    private BookSearch bookSearch;
+    private boolean computerThinking;
+
     private final ImageStorage<Square> imageStorage = new EnumImageStorage<>(Square.class);
 
     /**
@@ -72,6 +95,54 @@ public class BoardGameController {
         Logger.info("Player names set: player1Name = {}, player2Name = {}", player1Name, player2Name);
     }
 
+    /**
+     * Sets the search making the moves of the second player. The search is owned by the application,
+     * which reuses it for every game and closes it when it stops.
+     *
+     * @param computer the search of the computer opponent, or {@code null} if two humans play
+     */
+    public void setComputerOpponent(ParallelSearch computer) {
+        this.computer = computer;
+        var book = computer != null ? openOpeningBook() : null;
+        bookSearch = book != null ? new BookSearch(book) : null;
+        Logger.info("Computer opponent enabled: {}", computer != null);
+    }
+
+    /**
+     * Opens the opening book of the computer opponent if it exists.
+     *
+     * @return the opening book, or {@code null} if there is no usable book for the random removal rule
+     */
+    private static OpeningBook openOpeningBook() {
+        if (!Files.exists(OPENING_BOOK_FILE)) {
+            return null;
+        }
+        try {
+            var book = OpeningBook.open(OPENING_BOOK_FILE);
+            if (book.getRule() != RemovalRule.RANDOM) {
+                Logger.warn("Ignoring opening book for the {} removal rule", book.getRule());
+                return null;
+            }
+            Logger.info("Opening book loaded with {} positions", book.size());
+            return book;
+        } catch (IOException e) {
+            Logger.error("Failed to open opening book: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Sets the rule deciding which square is removed after a move.
+     * The computer opponent only plays under the {@link RemovalRule#RANDOM random removal} rule.
+     *
+     * @param removalRule the removal rule of the game
+     */
+    public void setRemovalRule(RemovalRule removalRule) {
+        model.setRemovalRule(removalRule);
+        selector.reset();
+        Logger.info("Removal rule set: {}", removalRule);
+    }
+
     /**
      * Binds the current player label to the current player property of the model.
      * Updates the label with the name of the current player.
@@ -93,6 +164,7 @@ public class BoardGameController {
     private void initialize() {
         initializeBoard();
         selector.phaseProperty().addListener(this::showSelectionPhaseChange);
+        updateHistoryButtons();
         Logger.info("BoardGameController initialized.");
     }
 
@@ -108,6 +180,7 @@ public class BoardGameController {
                 GridPane.setColumnIndex(square, col);
                 GridPane.setRowIndex(square, row);
                 board.add(square, col, row);
+                squares[BitboardState.squareIndex(row, col)] = square;
                 Logger.info("Added square at row {}, column {}", row, col);
             }
         }
@@ -155,19 +228,108 @@ public class BoardGameController {
 
         if (row == null || col == null) {
             Logger.error("Child does not have row or column index set: {}", square);
+        } else if (computerThinking) {
+            Logger.info("Ignoring click while the computer is thinking");
         } else {
             Logger.info("Click on square {}, {}", row, col);
-            Position clickedPosition = new Position(row, col);
-            selector.select(clickedPosition);
+            selector.select(BitboardState.squareIndex(row, col));
 
             if (selector.isReadyToMove()) {
                 Logger.info("Making move from {} to {}", selector.getFrom(), selector.getTo());
                 selector.makeMove();
+                updateHistoryButtons();
                 model.checkForWinner();
+                if (computer != null && model.getRemovalRule() == RemovalRule.RANDOM
+                        && model.getNextPlayer() == Player.PLAYER_2 && !model.isGameOver()) {
+                    makeComputerMove();
+                }
             }
         }
     }
 
+    /**
+     * Makes the computer's move at once if the position is in the opening book with a legal move.
+     * Otherwise searches for the move
+     * in the background on a copy of the game state, then makes the move on the JavaFX application thread.
+     * If the search fails, the human player gets the board back without a reply.
+     */
+    private void makeComputerMove() {
+        var state = BitboardState.of(model);
+        int bookMove = bookSearch == null ? OpeningBook.NOT_FOUND : bookSearch.findBookMove(state);
+        if (bookMove != OpeningBook.NOT_FOUND && model.isLegalMove(bookMove)) {
+            Logger.info("Computer moves to {} from the opening book", BitboardState.toPosition(bookMove));
+            model.makeMove(bookMove);
+            selector.reset();
+            updateHistoryButtons();
+            model.checkForWinner();
+            return;
+        }
+        computerThinking = true;
+        undoButton.setDisable(true);
+        redoButton.setDisable(true);
+        CompletableFuture.supplyAsync(() -> computer.findBestMove(state))
+                .whenComplete((move, error) -> Platform.runLater(() -> {
+                    computerThinking = false;
+                    if (error != null) {
+                        Logger.error(error, "Computer search failed");
+                        updateHistoryButtons();
+                        return;
+                    }
+                    Logger.info("Computer moves to {}", move);
+                    model.makeMove(move);
+                    selector.reset();
+                    updateHistoryButtons();
+                    model.checkForWinner();
+                }));
+    }
+
+    /**
+     * Takes back the last move. Against the computer, its reply is taken back as well,
+     * so that it is the human player's turn again.
+     */
+    @FXML
+    private void handleUndo() {
+        if (computerThinking || model.isGameOver() || !model.canUndo()) {
+            return;
+        }
+        model.unmakeMove();
+        if (computer != null && model.getNextPlayer() == Player.PLAYER_2 && model.canUndo()) {
+            model.unmakeMove();
+        }
+        selector.reset();
+        updateHistoryButtons();
+        Logger.info("Move undone");
+    }
+
+    /**
+     * Makes the last undone move again. Against the computer, its reply is redone as well.
+     */
+    @FXML
+    private void handleRedo() {
+        if (computerThinking || model.isGameOver() || !model.canRedo()) {
+            return;
+        }
+        model.redoMove();
+        if (computer != null && model.getNextPlayer() == Player.PLAYER_2 && model.canRedo()) {
+            model.redoMove();
+        }
+        selector.reset();
+        updateHistoryButtons();
+        model.checkForWinner();
+        Logger.info("Move redone");
+    }
+
+    /**
+     * Enables the undo and redo buttons when the model has moves to take back or make again.
+     * Both stay disabled once the game is over, since its result has already been saved
+     * and replaying the finish would save it again.
+     */
+    private void updateHistoryButtons() {
+        boolean gameOver = model.isGameOver();
+        undoButton.setDisable(gameOver || !model.canUndo());
+        redoButton.setDisable(gameOver || !model.canRedo());
+    }
+
     /**
      * Creates a binding for the image to be displayed on a square.
      * The image corresponds to the piece on that square.
@@ -224,7 +386,7 @@ public class BoardGameController {
 
     /**
      * Updates the visual representation of the selection on the board.
-     * Highlights the selected square.
+     * Highlights the selected square, and the chosen destination while the square to remove is selected.
      */
     private void updateSelectionVisuals() {
         for (var child : board.getChildren()) {
@@ -232,43 +394,41 @@ public class BoardGameController {
         }
 
         if (selector.getPhase() == Phase.SELECT_TO) {
-            showSelection(selector.getFrom());
+            showSelection(selector.getFromSquare());
+        } else if (selector.getPhase() == Phase.SELECT_REMOVED) {
+            showSelection(selector.getFromSquare());
+            showSelection(selector.getToSquare());
         }
         Logger.info("Selection visuals updated.");
     }
 
     /**
-     * Highlights the square at the specified position to show it as selected.
+     * Highlights the square with the specified index to show it as selected.
      *
-     * @param position the position of the square to highlight
+     * @param square the index of the square to highlight
      */
-    private void showSelection(Position position) {
-        var square = getSquare(position);
-        if (square != null) {
-            square.getStyleClass().add("selected");
-            Logger.info("Showing selection at position {}", position);
+    private void showSelection(int square) {
+        var pane = getSquare(square);
+        if (pane != null) {
+            pane.getStyleClass().add("selected");
+            Logger.info("Showing selection at square {}", square);
         } else {
-            Logger.error("No square found at position: {}", position);
+            Logger.error("No square found at index: {}", square);
         }
     }
 
     /**
-     * Retrieves the {@code StackPane} representing the square at the given position.
+     * Retrieves the {@code StackPane} representing the square with the given index.
      *
-     * @param position the position of the square
+     * @param square the index of the square
      * @return the {@code StackPane} representing the square, or {@code null} if not found
      */
-    private StackPane getSquare(Position position) {
-        for (var child : board.getChildren()) {
-            Integer rowIndex = GridPane.getRowIndex(child);
-            Integer colIndex = GridPane.getColumnIndex(child);
-
-            if (rowIndex != null && colIndex != null && rowIndex == position.row() && colIndex == position.col()) {
-                return (StackPane) child;
-            }
+    private StackPane getSquare(int square) {
+        if (square < 0 || square >= squares.length || squares[square] == null) {
+            Logger.error("No square found at index: {}", square);
+            return null;
         }
-        Logger.error("No square found at position: {}", position);
-        return null;
+        return squares[square];
     }
 
     /**
@@ -279,8 +439,9 @@ public class BoardGameController {
      */
     public static void displayWinner(Player winner) {
         String winnerName = (winner == Player.PLAYER_1) ? player1Name : player2Name;
+        String loserName = (winner == Player.PLAYER_1) ? player2Name : player1Name;
         Logger.info("Displaying winner: {}", winnerName);
-        model.saveGameResult(winnerName);
+        model.saveGameResult(winnerName, loserName, winner);
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setHeaderText("Congratulations!");
         alert.setContentText("Winner: " + winnerName);
@@ -1,9 +1,11 @@
 package login;
 
 import javafx.fxml.FXML;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.TextField;
 import javafx.scene.control.Button;
 import game.gui.BoardGameApplication;
+import model.RemovalRule;
 import org.tinylog.Logger;
 
 /**
@@ -18,6 +20,12 @@ public class LoginController {
     @FXML
     private TextField player2NameField;
 
+    @FXML
+    private CheckBox computerCheckBox;
+
+    @FXML
+    private CheckBox chosenRemovalCheckBox;
+
     @FXML
     private Button startButton;
 
@@ -32,6 +40,9 @@ public class LoginController {
      */
     @FXML
     private void initialize() {
+        player2NameField.disableProperty().bind(computerCheckBox.selectedProperty());
+        computerCheckBox.disableProperty().bind(chosenRemovalCheckBox.selectedProperty());
+        chosenRemovalCheckBox.disableProperty().bind(computerCheckBox.selectedProperty());
         startButton.setOnAction(event -> handleStart());
         scoreboardButton.setOnAction(event -> handleScoreboard());
         Logger.info("LoginController initialized.");
@@ -50,12 +61,17 @@ public class LoginController {
     /**
      * Handles the action when the start button is clicked.
      * Retrieves player names from text fields and starts the game screen.
+     * If the computer plays Player 2, it takes the place of the second name.
+     * The computer only plays the game where the removed squares are chosen at random.
      */
     private void handleStart() {
+        boolean computer = computerCheckBox.isSelected();
+        RemovalRule removalRule = chosenRemovalCheckBox.isSelected() ? RemovalRule.CHOSEN : RemovalRule.RANDOM;
         String player1Name = player1NameField.getText();
-        String player2Name = player2NameField.getText();
-        Logger.info("Start button clicked. Player1: {}, Player2: {}", player1Name, player2Name);
-        mainApp.showGameScreen(player1Name, player2Name);
+        String player2Name = computer ? "Computer" : player2NameField.getText();
+        Logger.info("Start button clicked. Player1: {}, Player2: {}, removal rule: {}",
+                player1Name, player2Name, removalRule);
+        mainApp.showGameScreen(player1Name, player2Name, computer, removalRule);
     }
 
     /**
@@ -0,0 +1,408 @@
+package model;
+
+import game.BasicState;
+
+import java.util.Random;
+
+/**
+ * The BitboardState class is a headless, compact representation of the game state.
+ * The 6×8 board has 48 squares, so every kind of square is stored as a bitmask in a single {@code long},
+ * where square {@code row * BOARD_COLUMNS + col} corresponds to bit {@code row * BOARD_COLUMNS + col}.
+ * It follows the same rules as {@link BoardGameModel}, but carries no JavaFX properties
+ * and does no logging, so it is suitable for simulating large numbers of positions.
+ */
+public class BitboardState implements BasicState<Position> {
+
+    /** The number of squares on the board. */
+    public static final int SQUARES = BoardGameModel.BOARD_ROWS * BoardGameModel.BOARD_COLUMNS;
+
+    /** The mask with a bit set for every square of the board. */
+    public static final long BOARD_MASK = (1L << SQUARES) - 1;
+
+    /** The square of the white king at the start of the game. */
+    public static final int WHITE_START = squareIndex(2, 0);
+
+    /** The square of the black king at the start of the game. */
+    public static final int BLACK_START = squareIndex(3, 7);
+
+    private long white;
+    private long black;
+    private long clear;
+    private Player currentPlayer;
+    private long hash;
+    private final Random random;
+
+    /**
+     * Initializes a new instance of the BitboardState class in the starting position.
+     */
+    public BitboardState() {
+        this(new Random());
+    }
+
+    /**
+     * Initializes a new instance of the BitboardState class in the starting position,
+     * using the given random number generator to choose the cleared squares.
+     *
+     * @param random the random number generator
+     */
+    public BitboardState(Random random) {
+        this.random = random;
+        reset();
+    }
+
+    /**
+     * Initializes a new instance of the BitboardState class with the given state.
+     *
+     * @param whiteSquare the square of the white king
+     * @param blackSquare the square of the black king
+     * @param clear the mask of the cleared squares
+     * @param currentPlayer the player to move
+     * @param random the random number generator
+     */
+    public BitboardState(int whiteSquare, int blackSquare, long clear, Player currentPlayer, Random random) {
+        this.white = 1L << whiteSquare;
+        this.black = 1L << blackSquare;
+        this.clear = clear & BOARD_MASK;
+        this.currentPlayer = currentPlayer;
+        this.random = random;
+        rehash();
+    }
+
+    /**
+     * Creates a bitboard copy of the state of the given model.
+     *
+     * @param model the model to copy
+     * @return the bitboard state equivalent to the model
+     */
+    public static BitboardState of(BoardGameModel model) {
+        var state = new BitboardState(new Random());
+        state.white = 0;
+        state.black = 0;
+        state.clear = 0;
+        for (var row = 0; row < BoardGameModel.BOARD_ROWS; row++) {
+            for (var col = 0; col < BoardGameModel.BOARD_COLUMNS; col++) {
+                long bit = 1L << squareIndex(row, col);
+                switch (model.getSquare(squareIndex(row, col))) {
+                    case WHITE -> state.white |= bit;
+                    case BLACK -> state.black |= bit;
+                    case CLEAR -> state.clear |= bit;
+                    default -> { }
+                }
+            }
+        }
+        state.currentPlayer = model.getNextPlayer();
+        state.rehash();
+        return state;
+    }
+
+    /**
+     * Creates a copy of this state sharing the same random number generator.
+     *
+     * @return the copy of this state
+     */
+    public BitboardState copy() {
+        var state = new BitboardState(random);
+        state.white = white;
+        state.black = black;
+        state.clear = clear;
+        state.currentPlayer = currentPlayer;
+        state.hash = hash;
+        return state;
+    }
+
+    /**
+     * Resets the state to the starting position.
+     */
+    public void reset() {
+        white = 1L << WHITE_START;
+        black = 1L << BLACK_START;
+        clear = 0;
+        currentPlayer = Player.PLAYER_1;
+        rehash();
+    }
+
+    /**
+     * Recomputes the Zobrist hash of the state from scratch.
+     */
+    private void rehash() {
+        hash = Zobrist.hash(Long.numberOfTrailingZeros(white), Long.numberOfTrailingZeros(black), clear, currentPlayer);
+    }
+
+    /**
+     * Gets the Zobrist hash of the state, which is updated incrementally by every move.
+     *
+     * @return the hash of the state
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the index of the square at the specified position.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return the square index
+     */
+    public static int squareIndex(int row, int col) {
+        return row * BoardGameModel.BOARD_COLUMNS + col;
+    }
+
+    /**
+     * Returns the index of the square at the specified position.
+     *
+     * @param position the position
+     * @return the square index
+     */
+    public static int squareIndex(Position position) {
+        return squareIndex(position.row(), position.col());
+    }
+
+    /**
+     * Returns the position of the square with the specified index, which is a shared instance.
+     *
+     * @param square the square index
+     * @return the position of the square
+     */
+    public static Position toPosition(int square) {
+        return Position.of(square / BoardGameModel.BOARD_COLUMNS, square % BoardGameModel.BOARD_COLUMNS);
+    }
+
+    /**
+     * Gets the mask of the square occupied by the white king.
+     *
+     * @return the white mask
+     */
+    public long getWhite() {
+        return white;
+    }
+
+    /**
+     * Gets the mask of the square occupied by the black king.
+     *
+     * @return the black mask
+     */
+    public long getBlack() {
+        return black;
+    }
+
+    /**
+     * Gets the mask of the cleared squares.
+     *
+     * @return the clear mask
+     */
+    public long getClear() {
+        return clear;
+    }
+
+    /**
+     * Gets the mask of the empty squares, that is, the squares which are neither occupied nor cleared.
+     *
+     * @return the empty mask
+     */
+    public long getEmpty() {
+        return ~(white | black | clear) & BOARD_MASK;
+    }
+
+    /**
+     * Gets the square index of the king of the specified player.
+     *
+     * @param player the player
+     * @return the square index of the player's king
+     */
+    public int kingSquare(Player player) {
+        return Long.numberOfTrailingZeros(player == Player.PLAYER_1 ? white : black);
+    }
+
+    /**
+     * Gets the square at the specified position.
+     *
+     * @param p the position
+     * @return the square at the specified position
+     */
+    public Square getSquare(Position p) {
+        if (!BoardGameModel.isOnBoard(p)) {
+            throw new ArrayIndexOutOfBoundsException("Position out of bounds: " + p);
+        }
+        long bit = 1L << squareIndex(p);
+        if ((white & bit) != 0) {
+            return Square.WHITE;
+        } else if ((black & bit) != 0) {
+            return Square.BLACK;
+        } else if ((clear & bit) != 0) {
+            return Square.CLEAR;
+        }
+        return Square.NONE;
+    }
+
+    /**
+     * Returns the mask of the squares the current player's king can legally move to.
+     *
+     * @return the mask of the legal destinations
+     */
+    public long legalMoves() {
+        return Bitboards.legalMoves(kingSquare(currentPlayer), getEmpty());
+    }
+
+    /**
+     * Writes the square indices of the current player's legal destinations into an array.
+     *
+     * @param squares the array receiving the square indices, with room for at least 8 elements
+     * @return the number of legal moves
+     */
+    public int legalMoves(int[] squares) {
+        return Bitboards.toSquares(legalMoves(), squares);
+    }
+
+    /**
+     * Returns the number of legal moves of the current player.
+     *
+     * @return the number of legal moves
+     */
+    public int legalMoveCount() {
+        return Long.bitCount(legalMoves());
+    }
+
+    /**
+     * Checks if the move of the current player's king to the specified square is legal.
+     *
+     * @param to the square index to move to
+     * @return true if the move is legal, false otherwise
+     */
+    public boolean isLegalMove(int to) {
+        return 0 <= to && to < SQUARES && (legalMoves() & (1L << to)) != 0;
+    }
+
+    @Override
+    public boolean isLegalMove(Position to) {
+        return BoardGameModel.isOnBoard(to) && isLegalMove(squareIndex(to));
+    }
+
+    /**
+     * Moves the current player's king to the specified square, clears a random empty square
+     * and passes the turn to the opponent. Illegal moves are ignored, as they are by {@link BoardGameModel}.
+     *
+     * @param to the square index to move to
+     */
+    public void makeMove(int to) {
+        if (!isLegalMove(to)) {
+            return;
+        }
+        int color = currentPlayer.ordinal();
+        hash ^= Zobrist.king(color, kingSquare(currentPlayer)) ^ Zobrist.king(color, to) ^ Zobrist.side();
+        if (currentPlayer == Player.PLAYER_1) {
+            white = 1L << to;
+        } else {
+            black = 1L << to;
+        }
+        clearRandomSquare();
+        currentPlayer = currentPlayer.opponent();
+    }
+
+    @Override
+    public void makeMove(Position to) {
+        makeMove(BoardGameModel.isOnBoard(to) ? squareIndex(to) : -1);
+    }
+
+    /**
+     * Writes the current player's packed compound moves of the {@link RemovalRule#CHOSEN chosen removal} rule
+     * into an array.
+     *
+     * @param moves the array receiving the packed moves, with room for at least {@link CompoundMoves#MAX_MOVES}
+     *              elements
+     * @return the number of compound moves
+     * @see CompoundMoves
+     */
+    public int legalCompoundMoves(int[] moves) {
+        return CompoundMoves.generate(kingSquare(currentPlayer), getEmpty(), moves);
+    }
+
+    /**
+     * Moves the current player's king to the specified square, clears the chosen square
+     * and passes the turn to the opponent.
+     *
+     * @param to the square index to move to
+     * @param removed the square index to clear, which must be empty after the king has moved
+     * @throws IllegalArgumentException if the move is not legal
+     */
+    public void makeMove(int to, int removed) {
+        int from = kingSquare(currentPlayer);
+        if (!CompoundMoves.isLegal(from, to, removed, getEmpty())) {
+            throw new IllegalArgumentException("Illegal move to square " + to + " removing square " + removed);
+        }
+        int color = currentPlayer.ordinal();
+        hash ^= Zobrist.king(color, from) ^ Zobrist.king(color, to) ^ Zobrist.cleared(removed) ^ Zobrist.side();
+        if (currentPlayer == Player.PLAYER_1) {
+            white = 1L << to;
+        } else {
+            black = 1L << to;
+        }
+        clear |= 1L << removed;
+        currentPlayer = currentPlayer.opponent();
+    }
+
+    /**
+     * Makes a packed compound move of the {@link RemovalRule#CHOSEN chosen removal} rule.
+     *
+     * @param move the packed move
+     * @throws IllegalArgumentException if the move is not legal
+     */
+    public void makeCompoundMove(int move) {
+        makeMove(CompoundMoves.destination(move), CompoundMoves.removed(move));
+    }
+
+    /**
+     * Clears a uniformly chosen random empty square.
+     */
+    public void clearRandomSquare() {
+        long empty = getEmpty();
+        int square = Bitboards.selectBit(empty, random.nextInt(Long.bitCount(empty)));
+        clear |= 1L << square;
+        hash ^= Zobrist.cleared(square);
+    }
+
+    /**
+     * Checks if the kings are walled off from each other by cleared squares.
+     *
+     * @return true if the kings are in separate regions, false otherwise
+     * @see Bitboards#separated(int, int, long)
+     */
+    public boolean isSeparated() {
+        return Bitboards.separated(Long.numberOfTrailingZeros(white), Long.numberOfTrailingZeros(black), getEmpty());
+    }
+
+    @Override
+    public Player getNextPlayer() {
+        return currentPlayer;
+    }
+
+    @Override
+    public boolean isGameOver() {
+        return legalMoves() == 0;
+    }
+
+    @Override
+    public Status getStatus() {
+        if (!isGameOver()) {
+            return Status.IN_PROGRESS;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isWinner(Player player) {
+        return isGameOver() && currentPlayer != player;
+    }
+
+    @Override
+    public String toString() {
+        var sb = new StringBuilder();
+        for (var row = 0; row < BoardGameModel.BOARD_ROWS; row++) {
+            for (var col = 0; col < BoardGameModel.BOARD_COLUMNS; col++) {
+                sb.append(getSquare(Position.of(row, col)).ordinal()).append(' ');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
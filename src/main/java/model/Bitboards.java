@@ -0,0 +1,137 @@
+package model;
+
+/**
+ * The Bitboards class provides precomputed tables and primitive move generation
+ * for the bitmask representation of the board used by {@link BitboardState}.
+ * The tables are built once when the class is loaded, so none of the methods allocate.
+ */
+public final class Bitboards {
+
+    private static final long[] KING_MOVES = new long[BitboardState.SQUARES];
+
+    private static final long FIRST_COLUMN = 0x0101_0101_0101L;
+    private static final long LAST_COLUMN = FIRST_COLUMN << (BoardGameModel.BOARD_COLUMNS - 1);
+
+    static {
+        for (var row = 0; row < BoardGameModel.BOARD_ROWS; row++) {
+            for (var col = 0; col < BoardGameModel.BOARD_COLUMNS; col++) {
+                long mask = 0;
+                for (var dRow = -1; dRow <= 1; dRow++) {
+                    for (var dCol = -1; dCol <= 1; dCol++) {
+                        if ((dRow != 0 || dCol != 0) && BoardGameModel.isOnBoard(row + dRow, col + dCol)) {
+                            mask |= 1L << BitboardState.squareIndex(row + dRow, col + dCol);
+                        }
+                    }
+                }
+                KING_MOVES[BitboardState.squareIndex(row, col)] = mask;
+            }
+        }
+    }
+
+    private Bitboards() {
+    }
+
+    /**
+     * Returns the mask of the squares adjacent to the specified square.
+     *
+     * @param square the square index
+     * @return the mask of the neighbouring squares
+     */
+    public static long kingMoves(int square) {
+        return KING_MOVES[square];
+    }
+
+    /**
+     * Returns the mask of the squares a king standing on the specified square can legally move to.
+     *
+     * @param square the square index of the king
+     * @param empty the mask of the empty squares
+     * @return the mask of the legal destinations
+     */
+    public static long legalMoves(int square, long empty) {
+        return KING_MOVES[square] & empty;
+    }
+
+    /**
+     * Returns the number of legal moves of a king standing on the specified square.
+     *
+     * @param square the square index of the king
+     * @param empty the mask of the empty squares
+     * @return the number of legal destinations
+     */
+    public static int moveCount(int square, long empty) {
+        return Long.bitCount(KING_MOVES[square] & empty);
+    }
+
+    /**
+     * Returns the mask extended by every square a king could step to from one of its squares.
+     *
+     * @param mask the mask to extend
+     * @return the mask together with all of its neighbouring squares
+     */
+    public static long dilate(long mask) {
+        long row = (mask | ((mask << 1) & ~FIRST_COLUMN) | ((mask >>> 1) & ~LAST_COLUMN)) & BitboardState.BOARD_MASK;
+        return (row | (row << BoardGameModel.BOARD_COLUMNS) | (row >>> BoardGameModel.BOARD_COLUMNS))
+                & BitboardState.BOARD_MASK;
+    }
+
+    /**
+     * Returns the squares a king could reach from the given squares by walking through empty squares.
+     *
+     * @param from the mask of the starting squares
+     * @param empty the mask of the empty squares
+     * @return the starting squares together with every empty square connected to them
+     */
+    public static long reachable(long from, long empty) {
+        long region = from;
+        long previous;
+        do {
+            previous = region;
+            region = (dilate(region) & empty) | from;
+        } while (region != previous);
+        return region;
+    }
+
+    /**
+     * Checks if two kings are walled off from each other, so that neither can ever reach a square next to the other.
+     * From then on the kings can no longer block each other, and only the cleared squares decide the game.
+     *
+     * @param square the square of one king
+     * @param other the square of the other king
+     * @param empty the mask of the empty squares
+     * @return true if the kings are in separate regions, false otherwise
+     */
+    public static boolean separated(int square, int other, long empty) {
+        return (dilate(reachable(1L << square, empty)) & (1L << other)) == 0;
+    }
+
+    /**
+     * Writes the square indices of the set bits of a mask into an array.
+     *
+     * @param mask the mask to expand
+     * @param squares the array receiving the square indices, which must be large enough to hold them
+     * @return the number of square indices written
+     */
+    public static int toSquares(long mask, int[] squares) {
+        var count = 0;
+        while (mask != 0) {
+            squares[count++] = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the index of the n-th set bit of a mask, counting from the least significant bit.
+     *
+     * @param mask the mask
+     * @param n the zero-based rank of the set bit, which must be less than the number of set bits
+     * @return the square index of the set bit
+     */
+    public static int selectBit(long mask, int n) {
+        for (var i = 0; i < n; i++) {
+            mask &= mask - 1;
+        }
+        return Long.numberOfTrailingZeros(mask);
+    }
+}
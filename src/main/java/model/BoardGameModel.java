@@ -9,6 +9,7 @@ import org.tinylog.Logger;
 import scoreboard.GameResultSaver;
 
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The BoardGameModel class represents the model for the board game.
@@ -23,21 +24,44 @@ public class BoardGameModel implements BasicState<Position> {
     /** The number of columns on the board. */
     public static final int BOARD_COLUMNS = 8;
 
+    /** The maximum number of moves kept for undo and redo, more than a game can last. */
+    private static final int MAX_HISTORY = BOARD_ROWS * BOARD_COLUMNS;
+
     private final ReadOnlyObjectWrapper<Square>[][] board;
     public Random random;
     private final StringProperty currentPlayerProperty = new SimpleStringProperty("Player 1");
     private Player currentPlayer;
+    private Position whiteKing;
+    private Position blackKing;
+    private final int[] mobility = new int[Player.values().length];
+    private final int[] history = new int[MAX_HISTORY];
+    private int historySize;
+    private int historyLimit;
+    private final int[] emptySquares = new int[BOARD_ROWS * BOARD_COLUMNS];
+    private final int[] emptyIndex = new int[BOARD_ROWS * BOARD_COLUMNS];
+    private int emptyCount;
+    private RemovalRule removalRule = RemovalRule.RANDOM;
 
     /**
      * Initializes a new instance of the BoardGameModel class.
      * Sets up the board and initializes the game state.
      */
     public BoardGameModel() {
+        this(new Random());
+    }
+
+    /**
+     * Initializes a new instance of the BoardGameModel class that clears squares using the given random
+     * number generator, so that games can be reproduced by seeding it.
+     *
+     * @param random the random number generator choosing the squares to clear
+     */
+    public BoardGameModel(Random random) {
         Logger.debug("Initializing BoardGameModel");
         currentPlayer = Player.PLAYER_1;
         currentPlayerProperty.set(currentPlayer.toString());
         board = new ReadOnlyObjectWrapper[BOARD_COLUMNS][BOARD_ROWS];
-        random = new Random();
+        this.random = random;
         for (var i = 0; i < BOARD_COLUMNS; i++) {
             for (var j = 0; j < BOARD_ROWS; j++) {
                 board[i][j] = new ReadOnlyObjectWrapper<>(
@@ -49,6 +73,7 @@ public class BoardGameModel implements BasicState<Position> {
                 );
             }
         }
+        resetTracking();
         Logger.debug("BoardGameModel initialized");
     }
 
@@ -70,9 +95,82 @@ public class BoardGameModel implements BasicState<Position> {
                 );
             }
         }
+        resetTracking();
         Logger.info("Game state reset");
     }
 
+    /**
+     * Resets the tracked king positions, the cached mobility counts, the move history
+     * and the set of empty squares to the initial state.
+     */
+    private void resetTracking() {
+        whiteKing = Position.of(2, 0);
+        blackKing = Position.of(3, 7);
+        historySize = 0;
+        historyLimit = 0;
+        emptyCount = 0;
+        for (var square = 0; square < emptySquares.length; square++) {
+            if (getSquare(square) == Square.NONE) {
+                addEmptySquare(square);
+            }
+        }
+        invalidateMobility();
+    }
+
+    /**
+     * Adds a square to the set of empty squares, which is kept as a dense array of square indices
+     * together with the position of each square in that array.
+     */
+    private void addEmptySquare(int square) {
+        emptyIndex[square] = emptyCount;
+        emptySquares[emptyCount++] = square;
+    }
+
+    /**
+     * Removes a square from the set of empty squares by moving the last square of the set into its place.
+     */
+    private void removeEmptySquare(int square) {
+        int last = emptySquares[--emptyCount];
+        emptySquares[emptyIndex[square]] = last;
+        emptyIndex[last] = emptyIndex[square];
+    }
+
+    /**
+     * Gets the number of empty squares on the board.
+     *
+     * @return the number of squares that are neither cleared nor occupied by a king
+     */
+    public int getEmptySquareCount() {
+        return emptyCount;
+    }
+
+    /**
+     * Gets the rule deciding which square is removed after a move.
+     *
+     * @return the removal rule
+     */
+    public RemovalRule getRemovalRule() {
+        return removalRule;
+    }
+
+    /**
+     * Sets the rule deciding which square is removed after a move, which applies from the next move on.
+     *
+     * @param removalRule the removal rule
+     */
+    public void setRemovalRule(RemovalRule removalRule) {
+        Logger.info("Setting removal rule to {}", removalRule);
+        this.removalRule = removalRule;
+    }
+
+    /**
+     * Invalidates the cached mobility counts of both players.
+     */
+    private void invalidateMobility() {
+        mobility[0] = -1;
+        mobility[1] = -1;
+    }
+
     /**
      * Gets the property representing the current player.
      *
@@ -91,7 +189,7 @@ public class BoardGameModel implements BasicState<Position> {
         int row = random.nextInt(BOARD_ROWS);
         int col = random.nextInt(BOARD_COLUMNS);
         Logger.debug("Generated random position: ({}, {})", row, col);
-        return new Position(row, col);
+        return Position.of(row, col);
     }
 
     /**
@@ -125,6 +223,21 @@ public class BoardGameModel implements BasicState<Position> {
         }
     }
 
+    /**
+     * Gets the square with the specified square index.
+     *
+     * @param square the square index, see {@link BitboardState#squareIndex(int, int)}
+     * @return the square with the specified index
+     */
+    public Square getSquare(int square) {
+        if (0 <= square && square < BitboardState.SQUARES) {
+            return board[square % BOARD_COLUMNS][square / BOARD_COLUMNS].get();
+        } else {
+            Logger.error("Attempted to get square at out of bounds index: {}", square);
+            throw new ArrayIndexOutOfBoundsException("Square index out of bounds: " + square);
+        }
+    }
+
     /**
      * Sets the square at the specified position.
      *
@@ -133,7 +246,54 @@ public class BoardGameModel implements BasicState<Position> {
      */
     public void setSquare(Position p, Square square) {
         Logger.debug("Setting square at position {} to {}", p, square);
-        board[p.col()][p.row()].set(square);
+        setSquare(BitboardState.squareIndex(p), square);
+    }
+
+    /**
+     * Sets the square with the specified square index.
+     *
+     * @param square the square index, see {@link BitboardState#squareIndex(int, int)}
+     * @param value the square to set
+     */
+    public void setSquare(int square, Square value) {
+        ReadOnlyObjectWrapper<Square> property = board[square % BOARD_COLUMNS][square / BOARD_COLUMNS];
+        Square previous = property.get();
+        property.set(value);
+        if (previous == Square.NONE && value != Square.NONE) {
+            removeEmptySquare(square);
+        } else if (previous != Square.NONE && value == Square.NONE) {
+            addEmptySquare(square);
+        }
+        Position p = BitboardState.toPosition(square);
+        if (value == Square.WHITE) {
+            whiteKing = p;
+        } else if (p.equals(whiteKing)) {
+            whiteKing = locateKing(Square.WHITE);
+        }
+        if (value == Square.BLACK) {
+            blackKing = p;
+        } else if (p.equals(blackKing)) {
+            blackKing = locateKing(Square.BLACK);
+        }
+        invalidateMobility();
+    }
+
+    /**
+     * Scans the board for a square holding the specified king.
+     * Only needed when a tracked king is overwritten by {@link #setSquare(Position, Square)}.
+     *
+     * @param king the square of the king to look for
+     * @return the position of the king, or null if not found
+     */
+    private Position locateKing(Square king) {
+        for (int col = 0; col < BOARD_COLUMNS; col++) {
+            for (int row = 0; row < BOARD_ROWS; row++) {
+                if (board[col][row].get() == king) {
+                    return Position.of(row, col);
+                }
+            }
+        }
+        return null;
     }
 
     /**
@@ -164,18 +324,80 @@ public class BoardGameModel implements BasicState<Position> {
      * @return the current player's position, or null if not found
      */
     public Position findCurrentPlayerPosition() {
-        Square playerSquare = (currentPlayer == Player.PLAYER_1) ? Square.WHITE : Square.BLACK;
-        for (int col = 0; col < BOARD_COLUMNS; col++) {
-            for (int row = 0; row < BOARD_ROWS; row++) {
-                if (board[col][row].get() == playerSquare) {
-                    Position position = new Position(row, col);
-                    Logger.debug("Current player position: {}", position);
-                    return position;
+        Position position = findPlayerPosition(currentPlayer);
+        if (position == null) {
+            Logger.warn("Current player position not found");
+        }
+        return position;
+    }
+
+    /**
+     * Finds the position of the specified player's king on the board.
+     * The positions of both kings are kept up to date as squares are set, so no scan is needed.
+     *
+     * @param player the player
+     * @return the position of the player's king, or null if not found
+     */
+    public Position findPlayerPosition(Player player) {
+        return player == Player.PLAYER_1 ? whiteKing : blackKing;
+    }
+
+    /**
+     * Finds the square index of the current player's king.
+     *
+     * @return the square index of the current player's king, or -1 if not found
+     */
+    public int findCurrentPlayerSquare() {
+        return findPlayerSquare(currentPlayer);
+    }
+
+    /**
+     * Finds the square index of the specified player's king.
+     *
+     * @param player the player
+     * @return the square index of the player's king, or -1 if not found
+     */
+    public int findPlayerSquare(Player player) {
+        Position position = findPlayerPosition(player);
+        return position == null ? -1 : BitboardState.squareIndex(position);
+    }
+
+    /**
+     * Gets the number of legal moves of the specified player's king.
+     * The counts are cached until the board changes.
+     *
+     * @param player the player
+     * @return the number of empty squares adjacent to the player's king
+     */
+    public int getMobility(Player player) {
+        int index = player.ordinal();
+        if (mobility[index] < 0) {
+            mobility[index] = countMobility(findPlayerPosition(player));
+        }
+        return mobility[index];
+    }
+
+    /**
+     * Counts the empty squares adjacent to the specified position.
+     *
+     * @param from the position of a king, or null
+     * @return the number of empty neighbouring squares
+     */
+    private int countMobility(Position from) {
+        if (from == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int dRow = -1; dRow <= 1; dRow++) {
+            for (int dCol = -1; dCol <= 1; dCol++) {
+                int row = from.row() + dRow;
+                int col = from.col() + dCol;
+                if ((dRow != 0 || dCol != 0) && isOnBoard(row, col) && board[col][row].get() == Square.NONE) {
+                    count++;
                 }
             }
         }
-        Logger.warn("Current player position not found");
-        return null;
+        return count;
     }
 
     /**
@@ -190,6 +412,17 @@ public class BoardGameModel implements BasicState<Position> {
         return empty;
     }
 
+    /**
+     * Checks if the square with the specified square index is empty.
+     *
+     * @param square the square index
+     * @return true if the square is on the board and empty, false otherwise
+     */
+    public boolean isEmpty(int square) {
+        return 0 <= square && square < BitboardState.SQUARES
+                && board[square % BOARD_COLUMNS][square / BOARD_COLUMNS].get() == Square.NONE;
+    }
+
     /**
      * Checks if the specified position is clear.
      *
@@ -222,16 +455,46 @@ public class BoardGameModel implements BasicState<Position> {
     }
 
     /**
-     * Clears a random square on the board.
+     * Checks if the move to the square with the specified square index is a "king move".
+     *
+     * @param to the square index to move to
+     * @return true if the move is a king move, false otherwise
+     */
+    public boolean isKingMove(int to) {
+        int from = findCurrentPlayerSquare();
+        if (from < 0) {
+            return false;
+        }
+        int dx = Math.abs(to / BOARD_COLUMNS - from / BOARD_COLUMNS);
+        int dy = Math.abs(to % BOARD_COLUMNS - from % BOARD_COLUMNS);
+        return dx + dy == 1 || dx * dy == 1;
+    }
+
+    /**
+     * Clears a random empty square on the board, drawn uniformly from the set of empty squares in constant time.
+     *
+     * @return the position of the cleared square
+     * @throws IllegalStateException if there is no empty square
      */
-    public void clearRandomSquare() {
+    public Position clearRandomSquare() {
         Logger.info("Clearing random square");
-        Position randomSquare;
-        do {
-            randomSquare = generateRandomPosition();
-        } while (!isEmpty(randomSquare));
-        setSquare(randomSquare, Square.CLEAR);
+        Position randomSquare = BitboardState.toPosition(clearRandomEmptySquare());
         Logger.info("Cleared square at position {}", randomSquare);
+        return randomSquare;
+    }
+
+    /**
+     * Clears a random empty square on the board and returns its square index.
+     *
+     * @throws IllegalStateException if there is no empty square
+     */
+    private int clearRandomEmptySquare() {
+        if (emptyCount == 0) {
+            throw new IllegalStateException("No empty square to clear");
+        }
+        int square = emptySquares[random.nextInt(emptyCount)];
+        setSquare(square, Square.CLEAR);
+        return square;
     }
 
     @Override
@@ -253,25 +516,9 @@ public class BoardGameModel implements BasicState<Position> {
 
     @Override
     public boolean isGameOver() {
-        Logger.debug("Checking if game is over");
-        for (int row = 0; row < BOARD_ROWS; row++) {
-            for (int col = 0; col < BOARD_COLUMNS; col++) {
-                Position from = new Position(row, col);
-                if (getSquare(from) == (currentPlayer == Player.PLAYER_1 ? Square.WHITE : Square.BLACK)) {
-                    for (int dRow = -1; dRow <= 1; dRow++) {
-                        for (int dCol = -1; dCol <= 1; dCol++) {
-                            Position to = new Position(row + dRow, col + dCol);
-                            if (isOnBoard(to) && isLegalMove(to)) {
-                                Logger.debug("Game is not over, legal move found from {} to {}", from, to);
-                                return false;
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        Logger.info("Game is over");
-        return true;
+        boolean gameOver = getMobility(currentPlayer) == 0;
+        Logger.debug("Game is over: {}", gameOver);
+        return gameOver;
     }
 
     @Override
@@ -299,30 +546,244 @@ public class BoardGameModel implements BasicState<Position> {
      */
     public boolean isLegalToMoveFrom() {
         Position from = findCurrentPlayerPosition();
-        boolean legal = isOnBoard(from) && !isEmpty(from) && !isClear(from);
+        boolean legal = isOnBoard(from);
         Logger.debug("It is legal to move from {}: {}", from, legal);
         return legal;
     }
 
     @Override
     public boolean isLegalMove(Position to) {
-        boolean legal = isLegalToMoveFrom() && isOnBoard(to) && isEmpty(to) && isKingMove(to) && !isClear(to);
+        boolean legal = isOnBoard(to) && isLegalMove(BitboardState.squareIndex(to));
         Logger.debug("Move to {} is legal: {}", to, legal);
         return legal;
     }
 
+    /**
+     * Checks if the current player's king can move to the square with the specified square index.
+     *
+     * @param to the square index to move to
+     * @return true if the move is legal, false otherwise
+     */
+    public boolean isLegalMove(int to) {
+        return isEmpty(to) && isKingMove(to);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Under the {@link RemovalRule#RANDOM random removal} rule a random empty square is cleared after the move.
+     *
+     * @throws IllegalStateException if the {@link RemovalRule#CHOSEN chosen removal} rule is in effect,
+     *         where the square to clear must be given with {@link #makeMove(Position, Position)}
+     */
     @Override
     public void makeMove(Position to) {
         Logger.info("Making move to position {}", to);
-        Position from = findCurrentPlayerPosition();
+        makeMove(isOnBoard(to) ? BitboardState.squareIndex(to) : -1);
+    }
+
+    /**
+     * Moves the current player's king to the square with the specified square index,
+     * clears a random empty square and switches the player. Illegal moves are ignored.
+     *
+     * @param to the square index to move to
+     * @throws IllegalStateException if the {@link RemovalRule#CHOSEN chosen removal} rule is in effect
+     */
+    public void makeMove(int to) {
+        if (removalRule == RemovalRule.CHOSEN) {
+            Logger.error("Attempted to make a move without choosing the square to remove");
+            throw new IllegalStateException("The square to remove must be chosen");
+        }
         if (isLegalMove(to)) {
+            int from = findCurrentPlayerSquare();
             setSquare(to, getSquare(from));
             setSquare(from, Square.NONE);
-            clearRandomSquare();
+            int cleared = clearRandomEmptySquare();
+            recordMove(from, to, cleared);
             switchPlayer();
         } else {
-            Logger.warn("Illegal move attempted to position {}", to);
+            Logger.warn("Illegal move attempted to square {}", to);
+        }
+    }
+
+    /**
+     * Moves the current player's king to the specified position and clears the given square instead of a random one,
+     * then switches the player. This is how moves are made under the {@link RemovalRule#CHOSEN chosen removal} rule,
+     * and it lets tools replay or enumerate the random outcomes of a move deterministically.
+     *
+     * @param to the position to move to
+     * @param cleared the position to clear, which must be empty after the king has moved
+     * @throws IllegalArgumentException if the move is legal but {@code cleared} is not empty after it
+     */
+    public void makeMove(Position to, Position cleared) {
+        Logger.info("Making move to position {} clearing {}", to, cleared);
+        makeMove(isOnBoard(to) ? BitboardState.squareIndex(to) : -1,
+                isOnBoard(cleared) ? BitboardState.squareIndex(cleared) : -1);
+    }
+
+    /**
+     * Moves the current player's king to the square with the specified square index and clears the given square,
+     * then switches the player. Illegal moves are ignored.
+     *
+     * @param to the square index to move to
+     * @param cleared the square index to clear, which must be empty after the king has moved
+     * @throws IllegalArgumentException if the move is legal but {@code cleared} is not empty after it
+     */
+    public void makeMove(int to, int cleared) {
+        if (isLegalMove(to)) {
+            if (!isLegalMove(to, cleared)) {
+                throw new IllegalArgumentException("Square to clear is not empty: " + cleared);
+            }
+            int from = findCurrentPlayerSquare();
+            setSquare(to, getSquare(from));
+            setSquare(from, Square.NONE);
+            setSquare(cleared, Square.CLEAR);
+            recordMove(from, to, cleared);
+            switchPlayer();
+        } else {
+            Logger.warn("Illegal move attempted to square {}", to);
+        }
+    }
+
+    /**
+     * Checks if the current player's king can move to the specified position and then remove the given square.
+     *
+     * @param to the position to move to
+     * @param removed the position to clear after the king has moved
+     * @return true if the compound move is legal, false otherwise
+     */
+    public boolean isLegalMove(Position to, Position removed) {
+        boolean legal = isOnBoard(to) && isOnBoard(removed)
+                && isLegalMove(BitboardState.squareIndex(to), BitboardState.squareIndex(removed));
+        Logger.debug("Move to {} removing {} is legal: {}", to, removed, legal);
+        return legal;
+    }
+
+    /**
+     * Checks if the current player's king can move to the square with the specified square index
+     * and then remove the given square.
+     *
+     * @param to the square index to move to
+     * @param removed the square index to clear after the king has moved
+     * @return true if the compound move is legal, false otherwise
+     */
+    public boolean isLegalMove(int to, int removed) {
+        return isLegalMove(to) && removed != to && (removed == findCurrentPlayerSquare() || isEmpty(removed));
+    }
+
+    /**
+     * Writes the current player's packed compound moves of the {@link RemovalRule#CHOSEN chosen removal} rule
+     * into an array, without allocating.
+     *
+     * @param moves the array receiving the packed moves, with room for at least {@link CompoundMoves#MAX_MOVES}
+     *              elements
+     * @return the number of compound moves
+     * @see CompoundMoves
+     */
+    public int legalCompoundMoves(int[] moves) {
+        int from = findCurrentPlayerSquare();
+        if (from < 0) {
+            return 0;
+        }
+        long empty = 0;
+        for (var i = 0; i < emptyCount; i++) {
+            empty |= 1L << emptySquares[i];
+        }
+        return CompoundMoves.generate(from, empty, moves);
+    }
+
+    /**
+     * Makes a packed compound move, moving the current player's king and clearing the chosen square.
+     *
+     * @param move the packed move
+     * @throws IllegalArgumentException if the move is legal but the square to clear is not empty after it
+     * @see CompoundMoves
+     */
+    public void makeCompoundMove(int move) {
+        makeMove(CompoundMoves.destination(move), CompoundMoves.removed(move));
+    }
+
+    /**
+     * Pushes a move onto the undo stack, discarding the moves that could be redone.
+     * Each move is packed into one int as the square indices {@code from | to << 6 | cleared << 12}.
+     */
+    private void recordMove(int from, int to, int cleared) {
+        if (historySize == MAX_HISTORY) {
+            System.arraycopy(history, 1, history, 0, MAX_HISTORY - 1);
+            historySize--;
         }
+        history[historySize++] = from | to << 6 | cleared << 12;
+        historyLimit = historySize;
+    }
+
+    /**
+     * Checks if there is a move to undo.
+     *
+     * @return true if {@link #unmakeMove()} can be called, false otherwise
+     */
+    public boolean canUndo() {
+        return historySize > 0;
+    }
+
+    /**
+     * Checks if there is an undone move to redo.
+     *
+     * @return true if {@link #redoMove()} can be called, false otherwise
+     */
+    public boolean canRedo() {
+        return historySize < historyLimit;
+    }
+
+    /**
+     * Gets the number of moves made since the start of the game, not counting undone moves.
+     *
+     * @return the number of moves on the undo stack
+     */
+    public int getMoveCount() {
+        return historySize;
+    }
+
+    /**
+     * Takes back the last move: restores the cleared square and the previous king square, and switches the player back.
+     * The move can be made again with {@link #redoMove()} until another move is made.
+     *
+     * @throws IllegalStateException if there is no move to undo
+     */
+    public void unmakeMove() {
+        if (!canUndo()) {
+            throw new IllegalStateException("No move to undo");
+        }
+        int move = history[--historySize];
+        int from = move & 0x3F;
+        int to = move >>> 6 & 0x3F;
+        int cleared = move >>> 12;
+        Logger.info("Undoing move from {} to {} clearing {}", BitboardState.toPosition(from),
+                BitboardState.toPosition(to), BitboardState.toPosition(cleared));
+        Square king = getSquare(to);
+        setSquare(cleared, Square.NONE);
+        setSquare(from, king);
+        setSquare(to, Square.NONE);
+        switchPlayer();
+    }
+
+    /**
+     * Makes the last undone move again, clearing the same square as before.
+     *
+     * @throws IllegalStateException if there is no move to redo
+     */
+    public void redoMove() {
+        if (!canRedo()) {
+            throw new IllegalStateException("No move to redo");
+        }
+        int move = history[historySize++];
+        int from = move & 0x3F;
+        int to = move >>> 6 & 0x3F;
+        int cleared = move >>> 12;
+        Logger.info("Redoing move from {} to {} clearing {}", BitboardState.toPosition(from),
+                BitboardState.toPosition(to), BitboardState.toPosition(cleared));
+        setSquare(to, getSquare(from));
+        setSquare(from, Square.NONE);
+        setSquare(cleared, Square.CLEAR);
+        switchPlayer();
     }
 
     /**
@@ -367,14 +828,42 @@ public class BoardGameModel implements BasicState<Position> {
     }
 
     /**
-     * Saves the game result.
+     * Saves the game result. The scores are updated at once and the result is written in the background,
+     * so this method does not wait for the disk.
      *
      * @param winner the name of the winning player
+     * @return the future completing once the result is durable
      */
-    public void saveGameResult(String winner) {
+    public CompletableFuture<Void> saveGameResult(String winner) {
         Logger.info("Saving game result, winner: {}", winner);
-        GameResultSaver.saveResult(winner);
-        Logger.info("Saved game result: {}", winner);
+        return GameResultSaver.saveResultAsync(winner).whenComplete((ignored, e) -> {
+            if (e != null) {
+                Logger.error("Failed to save game result: {}", winner, e);
+            } else {
+                Logger.info("Saved game result: {}", winner);
+            }
+        });
+    }
+
+    /**
+     * Saves the result of the game together with its loser, the colour of the winner and the number of moves,
+     * so the statistics of both players are updated as well. The result is written in the background.
+     *
+     * @param winner the name of the winning player
+     * @param loser the name of the losing player
+     * @param winningPlayer the player who won the game
+     * @return the future completing once the result is durable
+     */
+    public CompletableFuture<Void> saveGameResult(String winner, String loser, Player winningPlayer) {
+        Logger.info("Saving game result, winner: {}, loser: {}", winner, loser);
+        return GameResultSaver.saveGameAsync(winner, loser, winningPlayer == Player.PLAYER_1, getMoveCount())
+                .whenComplete((ignored, e) -> {
+                    if (e != null) {
+                        Logger.error("Failed to save game result: {}", winner, e);
+                    } else {
+                        Logger.info("Saved game result: {}", winner);
+                    }
+                });
     }
 
     /**
@@ -0,0 +1,110 @@
+package model;
+
+/**
+ * The CompoundMoves class generates the moves of the {@link RemovalRule#CHOSEN chosen removal} rule,
+ * where a move is the pair of the king's destination and the square the player removes afterwards.
+ * A compound move is packed into a single {@code int} as the square indices {@code to | removed << 6},
+ * so whole move lists can be generated into a reusable array without allocating.
+ * The square the king leaves becomes empty, so it can be removed, while the destination cannot.
+ */
+public final class CompoundMoves {
+
+    /** The largest number of compound moves of a position: 8 destinations times the 46 squares left empty. */
+    public static final int MAX_MOVES = 8 * (BitboardState.SQUARES - 2);
+
+    private static final int SQUARE_BITS = 6;
+    private static final int SQUARE_MASK = (1 << SQUARE_BITS) - 1;
+
+    private CompoundMoves() {
+    }
+
+    /**
+     * Packs a compound move into an {@code int}.
+     *
+     * @param to the square index the king moves to
+     * @param removed the square index removed after the king has moved
+     * @return the packed move
+     */
+    public static int pack(int to, int removed) {
+        return to | removed << SQUARE_BITS;
+    }
+
+    /**
+     * Gets the square index the king moves to in a packed move.
+     *
+     * @param move the packed move
+     * @return the destination of the king
+     */
+    public static int destination(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    /**
+     * Gets the square index removed in a packed move.
+     *
+     * @param move the packed move
+     * @return the removed square
+     */
+    public static int removed(int move) {
+        return move >>> SQUARE_BITS;
+    }
+
+    /**
+     * Returns the mask of the squares that can be removed after the king has moved.
+     *
+     * @param from the square index the king leaves
+     * @param to the square index the king moves to
+     * @param empty the mask of the empty squares before the move
+     * @return the mask of the removable squares
+     */
+    public static long removable(int from, int to, long empty) {
+        return (empty | 1L << from) & ~(1L << to);
+    }
+
+    /**
+     * Checks if a compound move of a king is legal.
+     *
+     * @param from the square index of the king
+     * @param to the square index the king moves to
+     * @param removed the square index removed after the king has moved
+     * @param empty the mask of the empty squares before the move
+     * @return true if the move is legal, false otherwise
+     */
+    public static boolean isLegal(int from, int to, int removed, long empty) {
+        return 0 <= to && to < BitboardState.SQUARES && 0 <= removed && removed < BitboardState.SQUARES
+                && (Bitboards.legalMoves(from, empty) & 1L << to) != 0
+                && (removable(from, to, empty) & 1L << removed) != 0;
+    }
+
+    /**
+     * Writes the packed compound moves of a king into an array, grouped by destination.
+     *
+     * @param from the square index of the king
+     * @param empty the mask of the empty squares
+     * @param moves the array receiving the packed moves, with room for at least {@link #MAX_MOVES} elements
+     * @return the number of compound moves
+     */
+    public static int generate(int from, long empty, int[] moves) {
+        var count = 0;
+        for (long destinations = Bitboards.legalMoves(from, empty); destinations != 0;
+                destinations &= destinations - 1) {
+            int to = Long.numberOfTrailingZeros(destinations);
+            for (long removable = removable(from, to, empty); removable != 0; removable &= removable - 1) {
+                moves[count++] = pack(to, Long.numberOfTrailingZeros(removable));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of compound moves of a king without generating them.
+     * Every destination leaves exactly as many removable squares as there were empty squares before the move.
+     *
+     * @param from the square index of the king
+     * @param empty the mask of the empty squares
+     * @return the number of compound moves
+     */
+    public static int count(int from, long empty) {
+        return Bitboards.moveCount(from, empty) * Long.bitCount(empty);
+    }
+}
@@ -3,12 +3,39 @@ package model;
 /**
  * The Position class represents a position on the game board.
  * It encapsulates the row and column indices of the position.
+ * The positions of the board are interned, so {@link #of(int, int)} returns a shared instance for them
+ * instead of allocating a new one.
  *
  * @param row the row index of the position
  * @param col the column index of the position
  */
 public record Position(int row, int col) {
 
+    private static final Position[] BOARD = new Position[BoardGameModel.BOARD_ROWS * BoardGameModel.BOARD_COLUMNS];
+
+    static {
+        for (var row = 0; row < BoardGameModel.BOARD_ROWS; row++) {
+            for (var col = 0; col < BoardGameModel.BOARD_COLUMNS; col++) {
+                BOARD[row * BoardGameModel.BOARD_COLUMNS + col] = new Position(row, col);
+            }
+        }
+    }
+
+    /**
+     * Returns the position with the specified row and column indices.
+     * Positions on the board are shared instances; positions off the board are created on each call.
+     *
+     * @param row the row index of the position
+     * @param col the column index of the position
+     * @return the position
+     */
+    public static Position of(int row, int col) {
+        if (BoardGameModel.isOnBoard(row, col)) {
+            return BOARD[row * BoardGameModel.BOARD_COLUMNS + col];
+        }
+        return new Position(row, col);
+    }
+
     /**
      * Returns a string representation of the position in the format "(row,col)".
      *
@@ -16,7 +43,7 @@ public record Position(int row, int col) {
      */
     @Override
     public String toString() {
-        return String.format("(%d,%d)", row, col);
+        return "(" + row + "," + col + ")";
     }
 
 }
@@ -0,0 +1,184 @@
+package model;
+
+/**
+ * The PositionKey class packs game states into a single {@code long} and maps them to canonical representatives.
+ * A key holds the square of the king to move in bits 0-5, the square of the other king in bits 6-11
+ * and the mask of the cleared squares in bits 12-59. Since the key names the kings by whose turn it is
+ * rather than by colour, a position and its colour-swapped counterpart share the same key.
+ * The 6×8 board has four symmetries, and {@link #canonical(long)} picks the smallest key among
+ * the four images of a position, so caches keyed by it hold every symmetry class only once.
+ */
+public final class PositionKey {
+
+    /** The identity symmetry. */
+    public static final int IDENTITY = 0;
+
+    /** The symmetry mirroring the columns, mapping column {@code c} to {@code 7 - c}. */
+    public static final int MIRROR_COLUMNS = 1;
+
+    /** The symmetry mirroring the rows, mapping row {@code r} to {@code 5 - r}. */
+    public static final int MIRROR_ROWS = 2;
+
+    /** The rotation by 180 degrees, mapping the square {@code s} to {@code 47 - s}. */
+    public static final int ROTATE_180 = 3;
+
+    /** The number of symmetries of the board. */
+    public static final int SYMMETRIES = 4;
+
+    private static final int SQUARE_BITS = 6;
+    private static final int SQUARE_MASK = (1 << SQUARE_BITS) - 1;
+    private static final int CLEAR_SHIFT = 2 * SQUARE_BITS;
+    private static final int[][] SQUARES = new int[SYMMETRIES][BitboardState.SQUARES];
+
+    static {
+        for (var row = 0; row < BoardGameModel.BOARD_ROWS; row++) {
+            for (var col = 0; col < BoardGameModel.BOARD_COLUMNS; col++) {
+                int square = BitboardState.squareIndex(row, col);
+                int mirroredRow = BoardGameModel.BOARD_ROWS - 1 - row;
+                int mirroredCol = BoardGameModel.BOARD_COLUMNS - 1 - col;
+                SQUARES[IDENTITY][square] = square;
+                SQUARES[MIRROR_COLUMNS][square] = BitboardState.squareIndex(row, mirroredCol);
+                SQUARES[MIRROR_ROWS][square] = BitboardState.squareIndex(mirroredRow, col);
+                SQUARES[ROTATE_180][square] = BitboardState.squareIndex(mirroredRow, mirroredCol);
+            }
+        }
+    }
+
+    private PositionKey() {
+    }
+
+    /**
+     * Packs a position into a key.
+     *
+     * @param own the square of the king to move
+     * @param opponent the square of the other king
+     * @param clear the mask of the cleared squares
+     * @return the key of the position
+     */
+    public static long pack(int own, int opponent, long clear) {
+        return clear << CLEAR_SHIFT | (long) opponent << SQUARE_BITS | own;
+    }
+
+    /**
+     * Packs the state of a model into a key.
+     *
+     * @param model the model
+     * @return the key of the model's state
+     */
+    public static long of(BoardGameModel model) {
+        return of(BitboardState.of(model));
+    }
+
+    /**
+     * Packs a bitboard state into a key.
+     *
+     * @param state the state
+     * @return the key of the state
+     */
+    public static long of(BitboardState state) {
+        return pack(state.kingSquare(state.getNextPlayer()), state.kingSquare(state.getNextPlayer().opponent()),
+                state.getClear());
+    }
+
+    /**
+     * Extracts the square of the king to move from a key.
+     *
+     * @param key the key
+     * @return the square index of the king to move
+     */
+    public static int own(long key) {
+        return (int) key & SQUARE_MASK;
+    }
+
+    /**
+     * Extracts the square of the other king from a key.
+     *
+     * @param key the key
+     * @return the square index of the other king
+     */
+    public static int opponent(long key) {
+        return (int) (key >>> SQUARE_BITS) & SQUARE_MASK;
+    }
+
+    /**
+     * Extracts the mask of the cleared squares from a key.
+     *
+     * @param key the key
+     * @return the mask of the cleared squares
+     */
+    public static long clear(long key) {
+        return key >>> CLEAR_SHIFT;
+    }
+
+    /**
+     * Maps a square by a symmetry.
+     *
+     * @param symmetry the symmetry
+     * @param square the square index
+     * @return the image of the square
+     */
+    public static int transformSquare(int symmetry, int square) {
+        return SQUARES[symmetry][square];
+    }
+
+    /**
+     * Maps a mask of squares by a symmetry.
+     *
+     * @param symmetry the symmetry
+     * @param mask the mask of squares
+     * @return the mask of the images of the squares
+     */
+    public static long transformMask(int symmetry, long mask) {
+        return switch (symmetry) {
+            case MIRROR_COLUMNS -> Long.reverse(Long.reverseBytes(mask));
+            case MIRROR_ROWS -> Long.reverseBytes(mask) >>> 16;
+            case ROTATE_180 -> Long.reverse(mask) >>> 16;
+            default -> mask;
+        };
+    }
+
+    /**
+     * Maps a key by a symmetry. Every symmetry of the board is its own inverse.
+     *
+     * @param symmetry the symmetry
+     * @param key the key
+     * @return the key of the image of the position
+     */
+    public static long transform(int symmetry, long key) {
+        return pack(SQUARES[symmetry][own(key)], SQUARES[symmetry][opponent(key)],
+                transformMask(symmetry, clear(key)));
+    }
+
+    /**
+     * Finds the symmetry mapping a key to its canonical representative.
+     *
+     * @param key the key
+     * @return the symmetry for which the image of the key is the smallest
+     */
+    public static int canonicalSymmetry(long key) {
+        int best = IDENTITY;
+        long bestKey = key;
+        for (var symmetry = 1; symmetry < SYMMETRIES; symmetry++) {
+            long image = transform(symmetry, key);
+            if (image < bestKey) {
+                bestKey = image;
+                best = symmetry;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Maps a key to the canonical representative of its symmetry class, the smallest of its images.
+     *
+     * @param key the key
+     * @return the canonical key
+     */
+    public static long canonical(long key) {
+        long best = key;
+        for (var symmetry = 1; symmetry < SYMMETRIES; symmetry++) {
+            best = Math.min(best, transform(symmetry, key));
+        }
+        return best;
+    }
+}
@@ -0,0 +1,12 @@
+package model;
+
+/**
+ * The RemovalRule enum represents the ways a square is removed from the board after a king has moved.
+ */
+public enum RemovalRule {
+    /** A random empty square is cleared after every move. */
+    RANDOM,
+
+    /** The player who moved chooses the empty square to clear, as described by the rules of the game. */
+    CHOSEN
+}
@@ -0,0 +1,81 @@
+package model;
+
+import game.State.Player;
+
+import java.util.SplittableRandom;
+
+/**
+ * The Zobrist class holds the random keys used to hash game states.
+ * The hash of a state is the exclusive or of the keys of both king squares, of every cleared square
+ * and, when the second player is to move, of the side key. A move therefore changes the hash
+ * by a handful of exclusive ors. The keys come from a fixed seed, so hashes are stable across runs.
+ */
+public final class Zobrist {
+
+    private static final long[][] KINGS = new long[Player.values().length][BitboardState.SQUARES];
+    private static final long[] CLEARED = new long[BitboardState.SQUARES];
+    private static final long SIDE;
+
+    static {
+        var random = new SplittableRandom(0x5EED_2014L);
+        for (var keys : KINGS) {
+            for (var square = 0; square < BitboardState.SQUARES; square++) {
+                keys[square] = random.nextLong();
+            }
+        }
+        for (var square = 0; square < BitboardState.SQUARES; square++) {
+            CLEARED[square] = random.nextLong();
+        }
+        SIDE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of a king standing on a square.
+     *
+     * @param color the ordinal of the player owning the king
+     * @param square the square index
+     * @return the key of the king on the square
+     */
+    public static long king(int color, int square) {
+        return KINGS[color][square];
+    }
+
+    /**
+     * Returns the key of a cleared square.
+     *
+     * @param square the square index
+     * @return the key of the cleared square
+     */
+    public static long cleared(int square) {
+        return CLEARED[square];
+    }
+
+    /**
+     * Returns the key toggled whenever the player to move changes.
+     *
+     * @return the side key
+     */
+    public static long side() {
+        return SIDE;
+    }
+
+    /**
+     * Computes the hash of a state from scratch.
+     *
+     * @param whiteSquare the square of the white king
+     * @param blackSquare the square of the black king
+     * @param clear the mask of the cleared squares
+     * @param toMove the player to move
+     * @return the hash of the state
+     */
+    public static long hash(int whiteSquare, int blackSquare, long clear, Player toMove) {
+        long hash = KINGS[0][whiteSquare] ^ KINGS[1][blackSquare];
+        for (long rest = clear; rest != 0; rest &= rest - 1) {
+            hash ^= CLEARED[Long.numberOfTrailingZeros(rest)];
+        }
+        return toMove == Player.PLAYER_2 ? hash ^ SIDE : hash;
+    }
+}
@@ -1,25 +1,101 @@
 package scoreboard;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.tinylog.Logger;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * The GameResultSaver class manages the saving and loading of game scores to and from a JSON file.
+ * Results are recorded by appending a line to a {@link ResultLog} next to the scores file, so saving a result
+ * costs the same no matter how many players there are. Every {@link #COMPACTION_INTERVAL} results the scores
+ * are compacted into a snapshot, which atomically replaces the scores file, and the log is emptied.
+ * On loading, the scores are rebuilt from the snapshot and the results logged after it.
+ *
+ * <p>Results are written by a {@link ResultWriter} on a background thread, which groups the results arriving
+ * close together into one append. {@link #saveResultAsync(String)} updates the scores at once and returns
+ * a future completing once the result is durable, so callers on the JavaFX application thread never wait
+ * for the disk. Changing the file, loading or clearing the scores first writes every queued result,
+ * and so does {@link #shutdown()}, which also runs when the JVM exits.
+ *
+ * <p>Results may be saved from any number of threads. The live scores are a concurrent map of {@link LongAdder}
+ * counters, so concurrent wins never wait for each other and never lose an update.
+ * Saving a result holds the read side of a reload gate while it counts and queues the result, and reloading or
+ * clearing the scores holds the write side, so no result is counted into scores that are then replaced,
+ * or queued to a writer that the reload does not wait for.
+ * Readers get an immutable copy from {@link #getScores()}, taken while no win is being counted.
+ * The persisted scores are kept apart by the writer thread, and the log numbers the results in the order
+ * they are written, so snapshots always match the log exactly.
+ *
+ * <p>The writer thread moves the winners of every batch on a {@link Leaderboard}, so the ranking shown by the
+ * scoreboard is never sorted from scratch, and counting a win never waits for the lock of the leaderboard.
+ * The ranking follows the written scores, so it trails the live scores by at most the batch being written.
+ *
+ * <p>Games saved with both players, by {@link #saveGameAsync(String, String, boolean, int)}, also update
+ * the {@link PlayerStats} of both. The statistics are saved in a binary file next to the scores file whenever
+ * the scores are compacted, and rebuilt on loading from that file and the results logged after it.
  */
 public class GameResultSaver {
 
+    /** The number of logged results after which the scores are compacted into a snapshot. */
+    public static final int COMPACTION_INTERVAL = 1000;
+
+    private static final String LOG_SUFFIX = ".log";
+
+    private static final String STATS_SUFFIX = ".stats";
+
+    private static final int MAX_SNAPSHOT_ATTEMPTS = 64;
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final ConcurrentHashMap<String, LongAdder> scores = new ConcurrentHashMap<>();
+    private static final AtomicLong started = new AtomicLong();
+    private static final AtomicLong completed = new AtomicLong();
+    private static final ReentrantReadWriteLock reloadGate = new ReentrantReadWriteLock();
+    private static final Leaderboard leaderboard = new Leaderboard();
+    private static final PlayerStats stats = new PlayerStats();
+    private static volatile ResultWriter<ResultLog.Entry> writer;
+
     private static String filePath = "game_results.json";
-    private static Map<String, Integer> scores = new HashMap<>();
+    private static Map<String, Integer> persisted = new HashMap<>();
+    private static final PlayerStats persistedStats = new PlayerStats();
+    private static ResultLog log;
+    private static long sequence;
+    private static long loggedResults;
+    private static int maxBatchSize = ResultWriter.DEFAULT_MAX_BATCH_SIZE;
+    private static long maxLatencyMillis = ResultWriter.DEFAULT_MAX_LATENCY_MILLIS;
+
+    /**
+     * A snapshot of the scores, holding the sequence number of the last result included in it.
+     *
+     * @param sequence the sequence number of the last result included in the snapshot
+     * @param scores the scores of the players
+     */
+    private record Snapshot(long sequence, Map<String, Integer> scores) {
+    }
 
     static {
         Logger.debug("Initializing GameResultSaver...");
         loadScores();
+        Runtime.getRuntime().addShutdownHook(new Thread(GameResultSaver::shutdown, "result-writer-shutdown"));
     }
 
     /**
@@ -29,8 +105,52 @@ public class GameResultSaver {
      */
     public static void setFilePath(String path) {
         Logger.info("Setting file path to {}", path);
-        filePath = path;
-        loadScores();
+        reloadGate.writeLock().lock();
+        try {
+            shutdown();
+            synchronized (GameResultSaver.class) {
+                filePath = path;
+            }
+            loadScores();
+        } finally {
+            reloadGate.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the bounds of the batches of results written together, taking effect with the next result.
+     *
+     * @param maxBatchSize the maximum number of results written together
+     * @param maxLatencyMillis the maximum time a result waits for other results to join its batch, in milliseconds
+     */
+    public static void setWriterBounds(int maxBatchSize, long maxLatencyMillis) {
+        if (maxBatchSize < 1 || maxLatencyMillis < 0) {
+            throw new IllegalArgumentException("Invalid batch bounds: " + maxBatchSize + ", " + maxLatencyMillis);
+        }
+        Logger.info("Setting result batches to at most {} results or {} ms", maxBatchSize, maxLatencyMillis);
+        shutdown();
+        synchronized (GameResultSaver.class) {
+            GameResultSaver.maxBatchSize = maxBatchSize;
+            GameResultSaver.maxLatencyMillis = maxLatencyMillis;
+        }
+    }
+
+    /**
+     * Gets the path of the log of the results recorded since the last snapshot.
+     *
+     * @return the path of the result log
+     */
+    public static synchronized Path getLogPath() {
+        return Path.of(filePath + LOG_SUFFIX);
+    }
+
+    /**
+     * Gets the path of the binary file holding the player statistics.
+     *
+     * @return the path of the statistics file
+     */
+    public static synchronized Path getStatsPath() {
+        return Path.of(filePath + STATS_SUFFIX);
     }
 
     /**
@@ -38,39 +158,144 @@ public class GameResultSaver {
      */
     public static void clearScores() {
         Logger.info("Clearing all scores");
-        scores = new HashMap<>();
-        saveScores();
+        reloadGate.writeLock().lock();
+        try {
+            shutdown();
+            synchronized (GameResultSaver.class) {
+                persisted = new HashMap<>();
+                persistedStats.clear();
+                compact();
+                replaceLiveScores(persisted);
+            }
+        } finally {
+            reloadGate.writeLock().unlock();
+        }
     }
 
     /**
-     * Loads scores from the specified file. If the file does not exist, initializes an empty scores map.
+     * Loads scores from the specified file and replays the results logged after it was written.
+     * If the file does not exist, initializes an empty scores map.
      */
     public static void loadScores() {
-        Logger.info("Loading scores from file: {}", filePath);
-        ObjectMapper mapper = new ObjectMapper();
+        reloadGate.writeLock().lock();
+        try {
+            shutdown();
+            reload();
+        } finally {
+            reloadGate.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the scores and statistics from the snapshots and the log, once every queued result has been written.
+     */
+    private static void reload() {
+        synchronized (GameResultSaver.class) {
+            Logger.info("Loading scores from file: {}", filePath);
+            closeLog();
+            var snapshot = readSnapshot(Path.of(filePath));
+            persisted = snapshot.scores();
+            sequence = snapshot.sequence();
+            long statsSequence = readStats(getStatsPath());
+            loggedResults = 0;
+            try {
+                log = new ResultLog(getLogPath(), mapper);
+                long scoresSequence = sequence;
+                loggedResults = log.replay(Math.min(scoresSequence, statsSequence), entry -> {
+                    if (entry.sequence() > scoresSequence) {
+                        persisted.merge(entry.winner(), 1, Integer::sum);
+                    }
+                    if (entry.sequence() > statsSequence && entry.loser() != null) {
+                        persistedStats.record(entry.winner(), entry.loser(), entry.winnerWhite(), entry.moves());
+                    }
+                    sequence = Math.max(sequence, entry.sequence());
+                });
+                Logger.info("Replayed {} results from {}", loggedResults, getLogPath());
+            } catch (IOException e) {
+                Logger.error("Failed to replay result log: {}", e.getMessage(), e);
+            }
+            replaceLiveScores(persisted);
+        }
+    }
+
+    /**
+     * Replaces the live scores with the given scores, as a single update seen by {@link #getScores()}.
+     */
+    private static void replaceLiveScores(Map<String, Integer> values) {
+        started.incrementAndGet();
+        try {
+            scores.clear();
+            values.forEach((name, wins) -> counter(name).add(wins));
+            leaderboard.reset(values);
+            stats.copyFrom(persistedStats);
+        } finally {
+            completed.incrementAndGet();
+        }
+    }
+
+    private static LongAdder counter(String name) {
+        var counter = scores.get(name);
+        return counter != null ? counter : scores.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Reads a snapshot of the scores. A file holding only the scores, as written before results were logged,
+     * is read as a snapshot including no logged result.
+     */
+    private static Snapshot readSnapshot(Path path) {
+        if (!Files.exists(path)) {
+            Logger.warn("Scores file not found. Initializing new scores.");
+            return new Snapshot(0, new HashMap<>());
+        }
         try {
-            File file = new File(filePath);
-            if (file.exists()) {
-                scores = mapper.readValue(file, new TypeReference<Map<String, Integer>>() {});
-                Logger.info("Scores loaded successfully from {}", filePath);
-            } else {
-                Logger.warn("Scores file not found. Initializing new scores.");
-                scores = new HashMap<>();
+            JsonNode root = mapper.readTree(path.toFile());
+            if (root == null || root.isMissingNode()) {
+                return new Snapshot(0, new HashMap<>());
             }
-        } catch (IOException e) {
+            var type = new TypeReference<HashMap<String, Integer>>() {};
+            if (root.has("scores") && root.has("sequence")) {
+                Logger.info("Scores loaded successfully from {}", path);
+                return new Snapshot(root.get("sequence").asLong(), mapper.convertValue(root.get("scores"), type));
+            }
+            Logger.info("Scores loaded successfully from {}", path);
+            return new Snapshot(0, mapper.convertValue(root, type));
+        } catch (IOException | IllegalArgumentException e) {
             Logger.error("Failed to load scores from file: {}", e.getMessage(), e);
-            scores = new HashMap<>();
+            return new Snapshot(0, new HashMap<>());
+        }
+    }
+
+    /**
+     * Reads the persisted player statistics. Without a statistics file, as before statistics were kept,
+     * the statistics start empty.
+     *
+     * @return the sequence number of the last result included in the statistics
+     */
+    private static long readStats(Path path) {
+        if (!Files.exists(path)) {
+            persistedStats.clear();
+            return 0;
+        }
+        try {
+            long statsSequence = persistedStats.load(path);
+            Logger.info("Player statistics loaded successfully from {}", path);
+            return statsSequence;
+        } catch (IOException e) {
+            Logger.error("Failed to load player statistics from file: {}", e.getMessage(), e);
+            persistedStats.clear();
+            return 0;
         }
     }
 
     /**
-     * Saves the current scores to the specified file.
+     * Writes a snapshot of the persisted scores and statistics, atomically replacing each file,
+     * then empties the result log. A crash between the steps is harmless, since the results already
+     * in a snapshot are skipped on replay.
      */
-    private static void saveScores() {
+    public static synchronized void compact() {
         Logger.info("Saving scores to file: {}", filePath);
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            mapper.writeValue(new File(filePath), scores);
+            writeSnapshot();
             Logger.info("Scores saved successfully to {}", filePath);
         } catch (IOException e) {
             Logger.error("Failed to save scores to file: {}", e.getMessage(), e);
@@ -78,24 +303,236 @@ public class GameResultSaver {
     }
 
     /**
-     * Saves the result of a game by incrementing the score for the winning player.
+     * Writes the snapshots. Each is forced to the disk before it replaces the previous file,
+     * and the log is only truncated once both are durable, so a power loss never leaves a partial snapshot
+     * behind an emptied log.
+     */
+    private static void writeSnapshot() throws IOException {
+        persistedStats.save(getStatsPath(), sequence);
+        Path temporary = Path.of(filePath + ".tmp");
+        var buffer = ByteBuffer.wrap(mapper.writeValueAsBytes(new Snapshot(sequence, persisted)));
+        try (var channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, Path.of(filePath), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (log != null) {
+            log.clear();
+        }
+        loggedResults = 0;
+    }
+
+    private static void closeLog() {
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                Logger.error("Failed to close result log: {}", e.getMessage(), e);
+            }
+            log = null;
+        }
+    }
+
+    /**
+     * Saves the result of a game by incrementing the score for the winning player,
+     * waiting until the result is durable.
      *
      * @param winnerName the name of the winning player
      */
     public static void saveResult(String winnerName) {
+        try {
+            saveResultAsync(winnerName).join();
+        } catch (CompletionException e) {
+            Logger.error("Failed to save result for {}: {}", winnerName, e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Saves the result of a game by incrementing the score for the winning player at once
+     * and queueing the result to be written in the background.
+     *
+     * @param winnerName the name of the winning player
+     * @return the future completing once the result is durable
+     */
+    public static CompletableFuture<Void> saveResultAsync(String winnerName) {
         Logger.info("Saving result for winner: {}", winnerName);
-        scores.put(winnerName, scores.getOrDefault(winnerName, 0) + 1);
-        saveScores();
-        Logger.debug("Score updated for {}: {}", winnerName, scores.get(winnerName));
+        return save(new ResultLog.Entry(0, winnerName));
     }
 
     /**
-     * Fetches the current scores.
+     * Saves a finished game by incrementing the score for the winning player and updating the statistics
+     * of both players at once, and queueing the result to be written in the background.
      *
-     * @return a map containing the player names and their corresponding scores
+     * @param winnerName the name of the winning player
+     * @param loserName the name of the losing player
+     * @param winnerWhite whether the winning player played white
+     * @param moves the number of moves of the game
+     * @return the future completing once the result is durable
+     */
+    public static CompletableFuture<Void> saveGameAsync(String winnerName, String loserName, boolean winnerWhite,
+                                                        int moves) {
+        Logger.info("Saving game won by {} against {} in {} moves", winnerName, loserName, moves);
+        return save(new ResultLog.Entry(0, winnerName, loserName, winnerWhite, moves));
+    }
+
+    /**
+     * Counts a result at once and queues it, to be numbered by the writer thread.
+     */
+    private static CompletableFuture<Void> save(ResultLog.Entry result) {
+        reloadGate.readLock().lock();
+        try {
+            started.incrementAndGet();
+            try {
+                counter(result.winner()).increment();
+                if (result.loser() != null) {
+                    stats.record(result.winner(), result.loser(), result.winnerWhite(), result.moves());
+                }
+            } finally {
+                completed.incrementAndGet();
+            }
+            Logger.debug("Score updated for {}", result.winner());
+            while (true) {
+                var current = writer();
+                var done = current.submit(result);
+                if (!done.isCompletedExceptionally() || !current.isClosed()) {
+                    return done;
+                }
+                synchronized (GameResultSaver.class) {
+                    if (writer == current) {
+                        writer = null;
+                    }
+                }
+            }
+        } finally {
+            reloadGate.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the running writer, starting one if there is none.
+     */
+    private static ResultWriter<ResultLog.Entry> writer() {
+        var current = writer;
+        if (current == null) {
+            synchronized (GameResultSaver.class) {
+                current = writer;
+                if (current == null) {
+                    current = new ResultWriter<>(GameResultSaver::writeBatch, maxBatchSize, maxLatencyMillis);
+                    writer = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Numbers a batch of results, moves its winners on the leaderboard and appends it to the log, compacting
+     * the scores once enough results have been logged. If the log cannot be written, a snapshot is saved instead.
+     */
+    private static synchronized void writeBatch(List<ResultLog.Entry> results) throws IOException {
+        var entries = new ArrayList<ResultLog.Entry>(results.size());
+        var winners = new HashMap<String, Integer>();
+        for (var result : results) {
+            winners.put(result.winner(), persisted.merge(result.winner(), 1, Integer::sum));
+            if (result.loser() != null) {
+                persistedStats.record(result.winner(), result.loser(), result.winnerWhite(), result.moves());
+            }
+            entries.add(result.withSequence(++sequence));
+        }
+        winners.forEach(leaderboard::put);
+        try {
+            if (log == null) {
+                log = new ResultLog(getLogPath(), mapper);
+            }
+            log.append(entries);
+            loggedResults += entries.size();
+        } catch (IOException e) {
+            Logger.error("Failed to log results, saving a snapshot instead: {}", e.getMessage(), e);
+            writeSnapshot();
+            return;
+        }
+        if (loggedResults >= COMPACTION_INTERVAL) {
+            compact();
+        }
+    }
+
+    /**
+     * Writes every queued result and stops the background writer. It is started again by the next result.
+     */
+    public static void shutdown() {
+        ResultWriter<ResultLog.Entry> current;
+        synchronized (GameResultSaver.class) {
+            current = writer;
+            writer = null;
+        }
+        if (current != null) {
+            Logger.info("Writing queued results");
+            current.close();
+        }
+    }
+
+    /**
+     * Gets the current number of wins of a player without copying the scores.
+     *
+     * @param playerName the name of the player
+     * @return the number of wins of the player
+     */
+    public static long getWins(String playerName) {
+        var counter = scores.get(playerName);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Gets the leaderboard ranking the players by their written scores.
+     *
+     * @return the leaderboard
+     */
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    /**
+     * Gets the statistics of the players, including every game saved so far.
+     *
+     * @return the player statistics
+     */
+    public PlayerStats getPlayerStats() {
+        return stats;
+    }
+
+    /**
+     * Fetches a snapshot of the current scores. The snapshot is taken while no win is being counted,
+     * unless wins keep arriving for {@value #MAX_SNAPSHOT_ATTEMPTS} attempts in a row.
+     *
+     * @return an immutable map containing the player names and their corresponding scores
      */
     public Map<String, Integer> getScores() {
         Logger.debug("Fetching current scores");
-        return scores;
+        Map<String, Integer> snapshot = Map.of();
+        for (var attempt = 0; attempt < MAX_SNAPSHOT_ATTEMPTS; attempt++) {
+            long before = completed.get();
+            if (started.get() == before) {
+                snapshot = copyScores();
+                if (started.get() == before) {
+                    return snapshot;
+                }
+            }
+            Thread.onSpinWait();
+        }
+        return snapshot.isEmpty() ? copyScores() : snapshot;
+    }
+
+    private static Map<String, Integer> copyScores() {
+        var copy = new HashMap<String, Integer>(scores.size() * 2);
+        scores.forEach((name, counter) -> {
+            int wins = counter.intValue();
+            if (wins > 0) {
+                copy.put(name, wins);
+            }
+        });
+        return Map.copyOf(copy);
     }
-}
\ No newline at end of file
+}
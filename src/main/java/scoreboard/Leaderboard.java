@@ -0,0 +1,256 @@
+package scoreboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The Leaderboard class ranks the players by their number of wins, breaking ties by name.
+ * It is an indexable skip list: every link also records how many players it skips, so finding the rank
+ * of a player, the player at a rank, or a page of the ranking all take O(log n) steps plus the page length.
+ * A win moves a single player, which costs O(log n) as well, so the ranking is kept up to date on every result
+ * instead of being sorted whenever it is shown.
+ * All methods are synchronized, so wins may be recorded from any thread.
+ */
+public class Leaderboard {
+
+    /** The rank returned for a player who is not on the leaderboard. */
+    public static final int NOT_RANKED = -1;
+
+    private static final int MAX_LEVEL = 32;
+
+    /**
+     * A row of the leaderboard.
+     *
+     * @param rank the rank of the player, starting at 1
+     * @param name the name of the player
+     * @param wins the number of wins of the player
+     */
+    public record Row(int rank, String name, long wins) {
+    }
+
+    private static final class Node {
+        private final String name;
+        private final long wins;
+        private final Node[] next;
+        private final int[] span;
+
+        private Node(String name, long wins, int level) {
+            this.name = name;
+            this.wins = wins;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+
+    private final Node head = new Node(null, 0, MAX_LEVEL);
+    private final Map<String, Node> nodes = new HashMap<>();
+    private int level = 1;
+
+    /**
+     * Checks if a node comes before the given player: it has more wins, or as many and a smaller name.
+     */
+    private static boolean precedes(Node node, long wins, String name) {
+        return node.wins != wins ? node.wins > wins : node.name.compareTo(name) < 0;
+    }
+
+    private static int randomLevel() {
+        int level = 1;
+        var random = ThreadLocalRandom.current();
+        while (level < MAX_LEVEL && random.nextInt(4) == 0) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Adds a win to a player, adding the player if needed.
+     *
+     * @param name the name of the player
+     * @return the new number of wins of the player
+     */
+    public synchronized long increment(String name) {
+        long wins = getWins(name) + 1;
+        put(name, wins);
+        return wins;
+    }
+
+    /**
+     * Sets the number of wins of a player, adding the player if needed.
+     *
+     * @param name the name of the player
+     * @param wins the number of wins of the player
+     */
+    public synchronized void put(String name, long wins) {
+        var old = nodes.get(name);
+        if (old != null) {
+            if (old.wins == wins) {
+                return;
+            }
+            unlink(old);
+        }
+        nodes.put(name, insert(name, wins));
+    }
+
+    /**
+     * Removes every player and ranks the given ones instead.
+     *
+     * @param scores the player names and their numbers of wins
+     */
+    public synchronized void reset(Map<String, ? extends Number> scores) {
+        clear();
+        scores.forEach((name, wins) -> put(name, wins.longValue()));
+    }
+
+    /**
+     * Removes every player.
+     */
+    public synchronized void clear() {
+        nodes.clear();
+        for (var i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        level = 1;
+    }
+
+    private Node insert(String name, long wins) {
+        var update = new Node[MAX_LEVEL];
+        var rank = new int[MAX_LEVEL];
+        var node = head;
+        for (var i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (node.next[i] != null && precedes(node.next[i], wins, name)) {
+                rank[i] += node.span[i];
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (var i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = nodes.size();
+            }
+            level = nodeLevel;
+        }
+        var inserted = new Node(name, wins, nodeLevel);
+        for (var i = 0; i < nodeLevel; i++) {
+            inserted.next[i] = update[i].next[i];
+            update[i].next[i] = inserted;
+            inserted.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (var i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        return inserted;
+    }
+
+    private void unlink(Node removed) {
+        var node = head;
+        for (var i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && precedes(node.next[i], removed.wins, removed.name)) {
+                node = node.next[i];
+            }
+            if (node.next[i] == removed) {
+                node.span[i] += removed.span[i] - 1;
+                node.next[i] = removed.next[i];
+            } else {
+                node.span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        nodes.remove(removed.name);
+    }
+
+    /**
+     * Gets the number of wins of a player.
+     *
+     * @param name the name of the player
+     * @return the number of wins, or 0 if the player is not on the leaderboard
+     */
+    public synchronized long getWins(String name) {
+        var node = nodes.get(name);
+        return node == null ? 0 : node.wins;
+    }
+
+    /**
+     * Gets the rank of a player.
+     *
+     * @param name the name of the player
+     * @return the rank of the player starting at 1, or {@link #NOT_RANKED} if the player is not on the leaderboard
+     */
+    public synchronized int rank(String name) {
+        var target = nodes.get(name);
+        if (target == null) {
+            return NOT_RANKED;
+        }
+        int rank = 0;
+        var node = head;
+        for (var i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null
+                    && (node.next[i] == target || precedes(node.next[i], target.wins, target.name))) {
+                rank += node.span[i];
+                node = node.next[i];
+            }
+            if (node == target) {
+                return rank;
+            }
+        }
+        return NOT_RANKED;
+    }
+
+    /**
+     * Gets the best players.
+     *
+     * @param count the maximum number of players
+     * @return the rows of the best players, best first
+     */
+    public List<Row> top(int count) {
+        return page(0, count);
+    }
+
+    /**
+     * Gets a page of the leaderboard.
+     *
+     * @param offset the number of players ranked before the page
+     * @param limit the maximum number of players on the page
+     * @return the rows of the page, best first
+     */
+    public synchronized List<Row> page(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Invalid page: " + offset + ", " + limit);
+        }
+        var rows = new ArrayList<Row>(Math.min(limit, Math.max(0, nodes.size() - offset)));
+        if (offset >= nodes.size() || limit == 0) {
+            return rows;
+        }
+        int traversed = 0;
+        var node = head;
+        for (var i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && traversed + node.span[i] <= offset + 1) {
+                traversed += node.span[i];
+                node = node.next[i];
+            }
+        }
+        for (int rank = offset + 1; node != null && rows.size() < limit; node = node.next[0], rank++) {
+            rows.add(new Row(rank, node.name, node.wins));
+        }
+        return rows;
+    }
+
+    /**
+     * Gets the number of players on the leaderboard.
+     *
+     * @return the number of players
+     */
+    public synchronized int size() {
+        return nodes.size();
+    }
+}
@@ -0,0 +1,327 @@
+package scoreboard;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * The PlayerStats class keeps the statistics of every player: games played, wins as white and as black, losses,
+ * the total length of their games and their current streak.
+ * Every player name is interned to a dense id, and each statistic is a column of primitives indexed by that id,
+ * so scanning the statistics of millions of players reads a few arrays in order and boxes nothing.
+ * The columns are saved in the same layout, in a compact binary file holding the sequence number of the last
+ * result included in it.
+ * All methods are synchronized, so games may be recorded from any thread.
+ */
+public class PlayerStats {
+
+    /** The id returned for a player who has no statistics. */
+    public static final int NOT_FOUND = -1;
+
+    /** The first four bytes of a statistics file. */
+    public static final int MAGIC = 0x5053_5441;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] gamesPlayed = new int[INITIAL_CAPACITY];
+    private int[] winsAsWhite = new int[INITIAL_CAPACITY];
+    private int[] winsAsBlack = new int[INITIAL_CAPACITY];
+    private int[] losses = new int[INITIAL_CAPACITY];
+    private int[] streaks = new int[INITIAL_CAPACITY];
+    private long[] totalMoves = new long[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Gets the id of a player, adding the player if needed.
+     *
+     * @param name the name of the player
+     * @return the id of the player
+     */
+    public synchronized int id(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        if (size == names.length) {
+            grow(size * 2);
+        }
+        names[size] = name;
+        ids.put(name, size);
+        return size++;
+    }
+
+    /**
+     * Gets the id of a player without adding the player.
+     *
+     * @param name the name of the player
+     * @return the id of the player, or {@link #NOT_FOUND} if the player has no statistics
+     */
+    public synchronized int find(String name) {
+        Integer id = ids.get(name);
+        return id == null ? NOT_FOUND : id;
+    }
+
+    private void grow(int capacity) {
+        names = Arrays.copyOf(names, capacity);
+        gamesPlayed = Arrays.copyOf(gamesPlayed, capacity);
+        winsAsWhite = Arrays.copyOf(winsAsWhite, capacity);
+        winsAsBlack = Arrays.copyOf(winsAsBlack, capacity);
+        losses = Arrays.copyOf(losses, capacity);
+        streaks = Arrays.copyOf(streaks, capacity);
+        totalMoves = Arrays.copyOf(totalMoves, capacity);
+    }
+
+    /**
+     * Records a finished game for both of its players.
+     *
+     * @param winner the name of the winning player
+     * @param loser the name of the losing player
+     * @param winnerWhite whether the winning player played white
+     * @param moves the number of moves of the game
+     */
+    public synchronized void record(String winner, String loser, boolean winnerWhite, int moves) {
+        int w = id(winner);
+        int l = id(loser);
+        gamesPlayed[w]++;
+        gamesPlayed[l]++;
+        if (winnerWhite) {
+            winsAsWhite[w]++;
+        } else {
+            winsAsBlack[w]++;
+        }
+        losses[l]++;
+        totalMoves[w] += moves;
+        totalMoves[l] += moves;
+        streaks[w] = streaks[w] > 0 ? streaks[w] + 1 : 1;
+        streaks[l] = streaks[l] < 0 ? streaks[l] - 1 : -1;
+    }
+
+    /**
+     * Replaces the statistics with a copy of other statistics.
+     *
+     * @param other the statistics to copy
+     */
+    public synchronized void copyFrom(PlayerStats other) {
+        synchronized (other) {
+            ids.clear();
+            ids.putAll(other.ids);
+            names = other.names.clone();
+            gamesPlayed = other.gamesPlayed.clone();
+            winsAsWhite = other.winsAsWhite.clone();
+            winsAsBlack = other.winsAsBlack.clone();
+            losses = other.losses.clone();
+            streaks = other.streaks.clone();
+            totalMoves = other.totalMoves.clone();
+            size = other.size;
+        }
+    }
+
+    /**
+     * Removes every player.
+     */
+    public synchronized void clear() {
+        ids.clear();
+        names = new String[INITIAL_CAPACITY];
+        gamesPlayed = new int[INITIAL_CAPACITY];
+        winsAsWhite = new int[INITIAL_CAPACITY];
+        winsAsBlack = new int[INITIAL_CAPACITY];
+        losses = new int[INITIAL_CAPACITY];
+        streaks = new int[INITIAL_CAPACITY];
+        totalMoves = new long[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Gets the number of players with statistics. Their ids are 0 to the number of players, exclusive.
+     *
+     * @return the number of players
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Visits the id of every player in order while holding the lock, so the statistics read by the visitor
+     * do not change during the scan.
+     *
+     * @param visitor the visitor of the player ids
+     */
+    public synchronized void scan(IntConsumer visitor) {
+        for (var id = 0; id < size; id++) {
+            visitor.accept(id);
+        }
+    }
+
+    /**
+     * Gets the name of a player.
+     *
+     * @param id the id of the player
+     * @return the name of the player
+     */
+    public synchronized String getName(int id) {
+        return names[checkId(id)];
+    }
+
+    /**
+     * Gets the number of games a player has played.
+     *
+     * @param id the id of the player
+     * @return the number of games played
+     */
+    public synchronized int getGamesPlayed(int id) {
+        return gamesPlayed[checkId(id)];
+    }
+
+    /**
+     * Gets the number of games a player has won as white.
+     *
+     * @param id the id of the player
+     * @return the number of wins as white
+     */
+    public synchronized int getWinsAsWhite(int id) {
+        return winsAsWhite[checkId(id)];
+    }
+
+    /**
+     * Gets the number of games a player has won as black.
+     *
+     * @param id the id of the player
+     * @return the number of wins as black
+     */
+    public synchronized int getWinsAsBlack(int id) {
+        return winsAsBlack[checkId(id)];
+    }
+
+    /**
+     * Gets the number of games a player has lost.
+     *
+     * @param id the id of the player
+     * @return the number of losses
+     */
+    public synchronized int getLosses(int id) {
+        return losses[checkId(id)];
+    }
+
+    /**
+     * Gets the total number of moves of the games a player has played.
+     *
+     * @param id the id of the player
+     * @return the total number of moves
+     */
+    public synchronized long getTotalMoves(int id) {
+        return totalMoves[checkId(id)];
+    }
+
+    /**
+     * Gets the average number of moves of the games a player has played.
+     *
+     * @param id the id of the player
+     * @return the average game length, or 0 if the player has not played
+     */
+    public synchronized double getAverageGameLength(int id) {
+        checkId(id);
+        return gamesPlayed[id] == 0 ? 0 : (double) totalMoves[id] / gamesPlayed[id];
+    }
+
+    /**
+     * Gets the current streak of a player: the number of games won in a row if positive,
+     * or the number of games lost in a row if negative.
+     *
+     * @param id the id of the player
+     * @return the current streak
+     */
+    public synchronized int getStreak(int id) {
+        return streaks[checkId(id)];
+    }
+
+    private int checkId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("No player with id " + id);
+        }
+        return id;
+    }
+
+    /**
+     * Saves the statistics, atomically replacing the file once the new file has been forced to the disk.
+     * The file holds a header of the magic number, the sequence number and the number of players, then the names,
+     * then each column in turn.
+     *
+     * @param path the path of the statistics file
+     * @param sequence the sequence number of the last result included in the statistics
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void save(Path path, long sequence) throws IOException {
+        Path temporary = Path.of(path + ".tmp");
+        try (var channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeInt(MAGIC);
+            out.writeLong(sequence);
+            out.writeInt(size);
+            for (var id = 0; id < size; id++) {
+                out.writeUTF(names[id]);
+            }
+            for (int[] column : new int[][] {gamesPlayed, winsAsWhite, winsAsBlack, losses, streaks}) {
+                for (var id = 0; id < size; id++) {
+                    out.writeInt(column[id]);
+                }
+            }
+            for (var id = 0; id < size; id++) {
+                out.writeLong(totalMoves[id]);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Replaces the statistics with those saved in a file.
+     *
+     * @param path the path of the statistics file
+     * @return the sequence number of the last result included in the statistics
+     * @throws IOException if the file cannot be read or is not a statistics file
+     */
+    public synchronized long load(Path path) throws IOException {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a player statistics file: " + path);
+            }
+            long sequence = in.readLong();
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Invalid player count " + count + " in " + path);
+            }
+            clear();
+            grow(Math.max(INITIAL_CAPACITY, count));
+            for (var id = 0; id < count; id++) {
+                names[id] = in.readUTF();
+                ids.put(names[id], id);
+            }
+            size = count;
+            for (int[] column : new int[][] {gamesPlayed, winsAsWhite, winsAsBlack, losses, streaks}) {
+                for (var id = 0; id < count; id++) {
+                    column[id] = in.readInt();
+                }
+            }
+            for (var id = 0; id < count; id++) {
+                totalMoves[id] = in.readLong();
+            }
+            return sequence;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package scoreboard;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.tinylog.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The ResultLog class is an append-only log of game results in the JSON Lines format.
+ * Every result is one line holding its sequence number and the name of the winner. A result, or a batch of them,
+ * is written by a single {@link FileChannel} append and forced to the disk before {@link #append(List)} returns.
+ * A crash can therefore only leave a partial last line behind, which {@link #replay(long, Consumer)} drops.
+ */
+public class ResultLog implements AutoCloseable {
+
+    /**
+     * A game result recorded in the log. The loser, the colour of the winner and the length of the game
+     * are only known for results saved with {@link GameResultSaver#saveGameAsync(String, String, boolean, int)},
+     * and are left out of the line otherwise.
+     *
+     * @param sequence the sequence number of the result, increasing by one with every result
+     * @param winner the name of the winning player
+     * @param loser the name of the losing player, or {@code null} if unknown
+     * @param winnerWhite whether the winning player played white
+     * @param moves the number of moves of the game
+     */
+    public record Entry(long sequence, String winner, @JsonInclude(JsonInclude.Include.NON_NULL) String loser,
+            @JsonInclude(JsonInclude.Include.NON_DEFAULT) boolean winnerWhite,
+            @JsonInclude(JsonInclude.Include.NON_DEFAULT) int moves) {
+
+        /**
+         * Constructs an entry for a result of which only the winner is known.
+         *
+         * @param sequence the sequence number of the result
+         * @param winner the name of the winning player
+         */
+        public Entry(long sequence, String winner) {
+            this(sequence, winner, null, false, 0);
+        }
+
+        /**
+         * Gets the same result with another sequence number.
+         *
+         * @param sequence the sequence number of the result
+         * @return the renumbered result
+         */
+        public Entry withSequence(long sequence) {
+            return new Entry(sequence, winner, loser, winnerWhite, moves);
+        }
+    }
+
+    private final Path path;
+    private final ObjectMapper mapper;
+    private final FileChannel channel;
+
+    /**
+     * Opens a result log for appending, creating the file if it does not exist.
+     *
+     * @param path the path of the log file
+     * @param mapper the mapper serializing the entries
+     * @throws IOException if the file cannot be opened
+     */
+    public ResultLog(Path path, ObjectMapper mapper) throws IOException {
+        this.path = path;
+        this.mapper = mapper;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        channel.position(channel.size());
+    }
+
+    /**
+     * Gets the path of the log file.
+     *
+     * @return the path of the log file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Appends a game result to the log and forces it to the disk.
+     *
+     * @param sequence the sequence number of the result
+     * @param winner the name of the winning player
+     * @throws IOException if the result cannot be written
+     */
+    public void append(long sequence, String winner) throws IOException {
+        append(List.of(new Entry(sequence, winner)));
+    }
+
+    /**
+     * Appends a batch of game results to the log with a single write and forces them to the disk together.
+     *
+     * @param entries the results in the order of their sequence numbers
+     * @throws IOException if the results cannot be written
+     */
+    public void append(List<Entry> entries) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        for (var entry : entries) {
+            bytes.write(encode(entry));
+        }
+        var buffer = ByteBuffer.wrap(bytes.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Encodes an entry as a line of the log.
+     */
+    private byte[] encode(Entry entry) throws JsonProcessingException {
+        return (mapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the entries of the log in order, skipping those already included in a snapshot.
+     * The file is cut off at the first partial or unreadable line, which only a crash during an append leaves behind.
+     *
+     * @param afterSequence the sequence number of the last result included in the snapshot
+     * @param consumer the consumer of the entries following the snapshot
+     * @return the number of entries passed to the consumer
+     * @throws IOException if the log cannot be read
+     */
+    public long replay(long afterSequence, Consumer<Entry> consumer) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        long replayed = 0;
+        int start = 0;
+        for (int end; start < bytes.length; start = end + 1) {
+            end = indexOf(bytes, (byte) '\n', start);
+            Entry entry = end < 0 ? null : decode(bytes, start, end);
+            if (entry == null) {
+                Logger.warn("Dropping incomplete result log tail at offset {} of {}", start, path);
+                channel.truncate(start);
+                channel.position(start);
+                break;
+            }
+            if (entry.sequence() > afterSequence) {
+                consumer.accept(entry);
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    private Entry decode(byte[] bytes, int start, int end) {
+        try {
+            return mapper.readValue(bytes, start, end - start, Entry.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte value, int from) {
+        for (var i = from; i < bytes.length; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes every entry from the log, once they have been included in a snapshot.
+     *
+     * @throws IOException if the log cannot be truncated
+     */
+    public void clear() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(false);
+    }
+
+    /**
+     * Closes the log file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,219 @@
+package scoreboard;
+
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ResultWriter class persists game results on a background thread with group commit.
+ * Submitted results are queued, and the writer thread hands them to a {@link Sink} in batches, so that results
+ * arriving while a batch is being forced to the disk share the next force instead of paying for one each.
+ * A result taken while no other result is queued is written at once, so a lone result never waits.
+ * Under load, when more results are already queued, a batch is written once it holds the maximum number
+ * of results or once its first result has waited for the maximum latency, whichever comes first.
+ * Every submitted result gets a future which completes once it is durable, or exceptionally if it cannot be written.
+ *
+ * @param <T> the type of the results
+ */
+public class ResultWriter<T> implements AutoCloseable {
+
+    /** The default maximum number of results written together. */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    /** The default maximum time a result waits for other results to join its batch, in milliseconds. */
+    public static final long DEFAULT_MAX_LATENCY_MILLIS = 5;
+
+    /**
+     * The destination of the batches of results.
+     *
+     * @param <T> the type of the results
+     */
+    @FunctionalInterface
+    public interface Sink<T> {
+
+        /**
+         * Writes a batch of results durably.
+         *
+         * @param results the results in the order they were submitted
+         * @throws IOException if the results cannot be written
+         */
+        void write(List<T> results) throws IOException;
+    }
+
+    private record Pending<T>(T result, CompletableFuture<Void> done) {
+    }
+
+    private final Pending<T> stop = new Pending<>(null, null);
+
+    private final Sink<T> sink;
+    private final int maxBatchSize;
+    private final long maxLatencyNanos;
+    private final BlockingQueue<Pending<T>> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private boolean closed;
+    private volatile long batches;
+    private volatile long written;
+
+    /**
+     * Constructs a {@code ResultWriter} with the default bounds and starts its writer thread.
+     *
+     * @param sink the destination of the batches
+     */
+    public ResultWriter(Sink<T> sink) {
+        this(sink, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_LATENCY_MILLIS);
+    }
+
+    /**
+     * Constructs a {@code ResultWriter} with the given bounds and starts its writer thread.
+     *
+     * @param sink the destination of the batches
+     * @param maxBatchSize the maximum number of results written together
+     * @param maxLatencyMillis the maximum time a result waits for other results to join its batch, in milliseconds
+     */
+    public ResultWriter(Sink<T> sink, int maxBatchSize, long maxLatencyMillis) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + maxBatchSize);
+        }
+        if (maxLatencyMillis < 0) {
+            throw new IllegalArgumentException("Latency must not be negative: " + maxLatencyMillis);
+        }
+        this.sink = sink;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMillis);
+        this.thread = new Thread(this::run, "result-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues a result to be written. Once the writer is closed, the future fails with an
+     * {@link IllegalStateException}.
+     *
+     * @param result the result
+     * @return the future completing once the result is durable
+     */
+    public CompletableFuture<Void> submit(T result) {
+        var done = new CompletableFuture<Void>();
+        synchronized (this) {
+            if (closed) {
+                done.completeExceptionally(new IllegalStateException("Result writer is closed"));
+                return done;
+            }
+            queue.add(new Pending<>(result, done));
+        }
+        return done;
+    }
+
+    private void run() {
+        var batch = new ArrayList<Pending<T>>(maxBatchSize);
+        var running = true;
+        while (running) {
+            try {
+                Pending<T> first = queue.take();
+                if (first == stop) {
+                    break;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxLatencyNanos;
+                boolean loaded = !queue.isEmpty();
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending<T> next = loaded && remaining > 0
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    if (next == stop) {
+                        running = false;
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Logger.warn("Result writer interrupted, writing the queued results");
+                synchronized (this) {
+                    closed = true;
+                }
+                queue.drainTo(batch);
+                batch.remove(stop);
+                running = false;
+            }
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<Pending<T>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        var results = new ArrayList<T>(batch.size());
+        for (var pending : batch) {
+            results.add(pending.result());
+        }
+        try {
+            sink.write(results);
+            batches++;
+            written += batch.size();
+            for (var pending : batch) {
+                pending.done().complete(null);
+            }
+        } catch (IOException | RuntimeException e) {
+            Logger.error("Failed to write {} results: {}", batch.size(), e.getMessage(), e);
+            for (var pending : batch) {
+                pending.done().completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Checks if the writer has stopped accepting results.
+     *
+     * @return true if the writer is closed, false otherwise
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Gets the number of batches written so far.
+     *
+     * @return the number of batches
+     */
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * Gets the number of results written so far.
+     *
+     * @return the number of results
+     */
+    public long getWritten() {
+        return written;
+    }
+
+    /**
+     * Stops accepting results, writes every result queued so far and waits for the writer thread to finish.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!closed) {
+                closed = true;
+                queue.add(stop);
+            }
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
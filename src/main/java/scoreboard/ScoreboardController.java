@@ -4,29 +4,57 @@ import game.gui.BoardGameApplication;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.control.Pagination;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 import org.tinylog.Logger;
 
-import java.util.Map;
-
 /**
  * The ScoreboardController class is responsible for managing the scoreboard view.
- * It displays the scores of the players and allows navigation back to the login screen.
+ * It displays the players ranked by their scores and allows navigation back to the login screen.
+ * The ranking is read from the {@link Leaderboard} one page at a time, so only the visible rows are created,
+ * and the statistics of the players on the page are read from the {@link PlayerStats} by id.
  */
 public class ScoreboardController {
 
+    private static final int PAGE_SIZE = 50;
+
     @FXML
     private TableView<PlayerScore> scoreboard;
 
+    @FXML
+    private Pagination pages;
+
+    @FXML
+    private TableColumn<?, ?> rank;
+
     @FXML
     private TableColumn<?, ?> playerName;
 
     @FXML
     private TableColumn<?, ?> numberOfWins;
 
+    @FXML
+    private TableColumn<?, ?> gamesPlayed;
+
+    @FXML
+    private TableColumn<?, ?> winsAsWhite;
+
+    @FXML
+    private TableColumn<?, ?> winsAsBlack;
+
+    @FXML
+    private TableColumn<?, ?> losses;
+
+    @FXML
+    private TableColumn<?, ?> averageGameLength;
+
+    @FXML
+    private TableColumn<?, ?> streak;
+
     @FXML
     private Button backToLoginButton;
 
@@ -34,6 +62,10 @@ public class ScoreboardController {
 
     private final GameResultSaver resultSaver = new GameResultSaver();
 
+    private final Leaderboard leaderboard = resultSaver.getLeaderboard();
+
+    private final PlayerStats stats = resultSaver.getPlayerStats();
+
     /**
      * Initializes the controller class. This method is automatically called
      * after the FXML file has been loaded.
@@ -42,22 +74,22 @@ public class ScoreboardController {
     private void initialize() {
         Logger.info("Initializing ScoreboardController");
 
+        rank.setCellValueFactory(new PropertyValueFactory<>("rank"));
         playerName.setCellValueFactory(new PropertyValueFactory<>("playerName"));
         numberOfWins.setCellValueFactory(new PropertyValueFactory<>("numberOfWins"));
+        gamesPlayed.setCellValueFactory(new PropertyValueFactory<>("gamesPlayed"));
+        winsAsWhite.setCellValueFactory(new PropertyValueFactory<>("winsAsWhite"));
+        winsAsBlack.setCellValueFactory(new PropertyValueFactory<>("winsAsBlack"));
+        losses.setCellValueFactory(new PropertyValueFactory<>("losses"));
+        averageGameLength.setCellValueFactory(new PropertyValueFactory<>("averageGameLength"));
+        streak.setCellValueFactory(new PropertyValueFactory<>("streak"));
 
         Logger.debug("Setting up scoreboard table columns");
 
-        ObservableList<PlayerScore> data = FXCollections.observableArrayList();
-        Map<String, Integer> results = resultSaver.getScores();
-        Logger.info("Loading scores from GameResultSaver");
-
-        for (Map.Entry<String, Integer> entry : results.entrySet()) {
-            data.add(new PlayerScore(entry.getKey(), entry.getValue()));
-            Logger.debug("Added score for player {}: {}", entry.getKey(), entry.getValue());
-        }
-
-        scoreboard.setItems(data);
-        Logger.info("Scoreboard data populated with {} entries", data.size());
+        int players = leaderboard.size();
+        pages.setPageCount(Math.max(1, (players + PAGE_SIZE - 1) / PAGE_SIZE));
+        pages.setPageFactory(this::showPage);
+        Logger.info("Scoreboard paged over {} players", players);
 
         backToLoginButton.setOnAction(event -> {
             Logger.info("Back to login button clicked");
@@ -67,24 +99,84 @@ public class ScoreboardController {
         Logger.info("ScoreboardController initialized successfully");
     }
 
+    /**
+     * Fetches a page of the leaderboard into the table.
+     *
+     * @param pageIndex the index of the page
+     * @return the table showing the page
+     */
+    private Node showPage(int pageIndex) {
+        ObservableList<PlayerScore> data = FXCollections.observableArrayList();
+        for (var row : leaderboard.page(pageIndex * PAGE_SIZE, PAGE_SIZE)) {
+            var score = new PlayerScore(row.rank(), row.name(), row.wins());
+            int id = stats.find(row.name());
+            if (id != PlayerStats.NOT_FOUND) {
+                score.setStats(stats.getGamesPlayed(id), stats.getWinsAsWhite(id), stats.getWinsAsBlack(id),
+                        stats.getLosses(id), stats.getAverageGameLength(id), stats.getStreak(id));
+            }
+            data.add(score);
+        }
+        scoreboard.setItems(data);
+        Logger.debug("Showing scoreboard page {} with {} entries", pageIndex, data.size());
+        return scoreboard;
+    }
+
     /**
      * Represents a player's score entry in the scoreboard.
      */
     public static class PlayerScore {
+        private final Integer rank;
         private final String playerName;
-        private final Integer numberOfWins;
+        private final Long numberOfWins;
+        private int gamesPlayed;
+        private int winsAsWhite;
+        private int winsAsBlack;
+        private int losses;
+        private double averageGameLength;
+        private int streak;
 
         /**
-         * Constructs a PlayerScore with the specified player name and number of wins.
+         * Constructs a PlayerScore with the specified rank, player name and number of wins.
          *
+         * @param rank the rank of the player
          * @param playerName  the name of the player
          * @param numberOfWins the number of wins
          */
-        public PlayerScore(String playerName, Integer numberOfWins) {
+        public PlayerScore(Integer rank, String playerName, Long numberOfWins) {
+            this.rank = rank;
             this.playerName = playerName;
             this.numberOfWins = numberOfWins;
         }
 
+        /**
+         * Sets the statistics of the player, which are only kept for games saved with both players.
+         *
+         * @param gamesPlayed the number of games played
+         * @param winsAsWhite the number of wins as white
+         * @param winsAsBlack the number of wins as black
+         * @param losses the number of losses
+         * @param averageGameLength the average number of moves per game
+         * @param streak the current streak, positive for wins and negative for losses
+         */
+        public void setStats(int gamesPlayed, int winsAsWhite, int winsAsBlack, int losses,
+                             double averageGameLength, int streak) {
+            this.gamesPlayed = gamesPlayed;
+            this.winsAsWhite = winsAsWhite;
+            this.winsAsBlack = winsAsBlack;
+            this.losses = losses;
+            this.averageGameLength = averageGameLength;
+            this.streak = streak;
+        }
+
+        /**
+         * Gets the rank of the player.
+         *
+         * @return the rank
+         */
+        public Integer getRank() {
+            return rank;
+        }
+
         /**
          * Gets the name of the player.
          *
@@ -99,9 +191,63 @@ public class ScoreboardController {
          *
          * @return the number of wins
          */
-        public Integer getNumberOfWins() {
+        public Long getNumberOfWins() {
             return numberOfWins;
         }
+
+        /**
+         * Gets the number of games played.
+         *
+         * @return the number of games played
+         */
+        public int getGamesPlayed() {
+            return gamesPlayed;
+        }
+
+        /**
+         * Gets the number of wins as white.
+         *
+         * @return the number of wins as white
+         */
+        public int getWinsAsWhite() {
+            return winsAsWhite;
+        }
+
+        /**
+         * Gets the number of wins as black.
+         *
+         * @return the number of wins as black
+         */
+        public int getWinsAsBlack() {
+            return winsAsBlack;
+        }
+
+        /**
+         * Gets the number of losses.
+         *
+         * @return the number of losses
+         */
+        public int getLosses() {
+            return losses;
+        }
+
+        /**
+         * Gets the average number of moves per game, rounded to one decimal.
+         *
+         * @return the average game length
+         */
+        public String getAverageGameLength() {
+            return String.format("%.1f", averageGameLength);
+        }
+
+        /**
+         * Gets the current streak.
+         *
+         * @return the current streak, positive for wins and negative for losses
+         */
+        public int getStreak() {
+            return streak;
+        }
     }
 
     /**
@@ -0,0 +1,105 @@
+package sim;
+
+import engine.Evaluation;
+import model.Bitboards;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * The Policy enum lists the strategies that can play self-play games.
+ * Policies work on the bitboard encoding of a position and never allocate, so that millions of games can be played.
+ * Ties between equally good moves are broken at random.
+ */
+public enum Policy {
+
+    /**
+     * Moves to a uniformly random legal square.
+     */
+    RANDOM {
+        @Override
+        public int chooseMove(int own, int opponent, long clear, Random random) {
+            long legal = Bitboards.legalMoves(own, Evaluation.empty(own, opponent, clear));
+            return Bitboards.selectBit(legal, random.nextInt(Long.bitCount(legal)));
+        }
+    },
+
+    /**
+     * Moves to the square that maximises the own mobility minus the mobility of the opponent.
+     */
+    GREEDY_MOBILITY {
+        @Override
+        public int chooseMove(int own, int opponent, long clear, Random random) {
+            long legal = Bitboards.legalMoves(own, Evaluation.empty(own, opponent, clear));
+            int best = -1;
+            int bestScore = Integer.MIN_VALUE;
+            int ties = 0;
+            for (; legal != 0; legal &= legal - 1) {
+                int to = Long.numberOfTrailingZeros(legal);
+                long empty = Evaluation.empty(to, opponent, clear);
+                int score = Bitboards.moveCount(to, empty) - Bitboards.moveCount(opponent, empty);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = to;
+                    ties = 1;
+                } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                    best = to;
+                }
+            }
+            return best;
+        }
+    },
+
+    /**
+     * Looks two plies ahead and moves to the square whose worst reply leaves the best {@link Evaluation}.
+     */
+    LOOKAHEAD {
+        @Override
+        public int chooseMove(int own, int opponent, long clear, Random random) {
+            long legal = Bitboards.legalMoves(own, Evaluation.empty(own, opponent, clear));
+            int best = -1;
+            int bestScore = Integer.MIN_VALUE;
+            int ties = 0;
+            for (; legal != 0; legal &= legal - 1) {
+                int to = Long.numberOfTrailingZeros(legal);
+                int score = Evaluation.WIN;
+                long replies = Bitboards.legalMoves(opponent, Evaluation.empty(to, opponent, clear));
+                for (; replies != 0; replies &= replies - 1) {
+                    score = Math.min(score, Evaluation.evaluate(to, Long.numberOfTrailingZeros(replies), clear));
+                }
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = to;
+                    ties = 1;
+                } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                    best = to;
+                }
+            }
+            return best;
+        }
+    };
+
+    /**
+     * Chooses a move for the king to move, which must have at least one legal move.
+     *
+     * @param own the square of the king to move
+     * @param opponent the square of the opponent's king
+     * @param clear the mask of the cleared squares
+     * @param random the source of randomness of the game
+     * @return the square the king moves to
+     */
+    public abstract int chooseMove(int own, int opponent, long clear, Random random);
+
+    /**
+     * Parses a policy name given on the command line, ignoring case and accepting hyphens for underscores.
+     * The name {@code greedy} is accepted for {@link #GREEDY_MOBILITY}.
+     *
+     * @param name the name of the policy
+     * @return the policy
+     * @throws IllegalArgumentException if there is no policy with the given name
+     */
+    public static Policy parse(String name) {
+        var normalized = name.toUpperCase(Locale.ROOT).replace('-', '_');
+        return normalized.equals("GREEDY") ? GREEDY_MOBILITY : valueOf(normalized);
+    }
+}
@@ -0,0 +1,173 @@
+package sim;
+
+import game.State.Player;
+import model.BitboardState;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The SelfPlay class plays games between two {@link Policy policies} on several threads and aggregates the results.
+ * Games are played on {@link BitboardState}, without JavaFX, logging or saving results, and every game draws its
+ * random numbers from its own seed, so the statistics depend only on the seed and not on the number of threads.
+ * The {@link #main(String[])} method is the command-line entry point of the simulation.
+ */
+public class SelfPlay {
+
+    private static final int CHUNK_SIZE = 256;
+
+    private static final long SEED_INCREMENT = 0x9E37_79B9_7F4A_7C15L;
+
+    private static final String USAGE = """
+            Usage: SelfPlay [--games N] [--white POLICY] [--black POLICY] [--threads N] [--seed N] [--report MILLIS]
+            Policies: random, greedy-mobility, lookahead""";
+
+    private final Policy white;
+    private final Policy black;
+    private final long games;
+    private final int threads;
+    private final long seed;
+
+    /**
+     * Constructs a {@code SelfPlay} simulation.
+     *
+     * @param white the policy of the white king, which moves first
+     * @param black the policy of the black king
+     * @param games the number of games to play
+     * @param threads the number of threads playing games
+     * @param seed the seed from which the seeds of the games are derived
+     */
+    public SelfPlay(Policy white, Policy black, long games, int threads, long seed) {
+        if (games < 0) {
+            throw new IllegalArgumentException("The number of games must not be negative: " + games);
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required: " + threads);
+        }
+        this.white = white;
+        this.black = black;
+        this.games = games;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    /**
+     * Plays all games and returns their statistics.
+     *
+     * @return the statistics of the games
+     */
+    public SimulationStats run() {
+        return run(Long.MAX_VALUE, stats -> { });
+    }
+
+    /**
+     * Plays all games, passing the statistics gathered so far to {@code progress} at regular intervals.
+     *
+     * @param reportIntervalMillis the interval between progress reports, in milliseconds
+     * @param progress the consumer of the progress reports, called on the caller's thread
+     * @return the statistics of the games
+     */
+    public SimulationStats run(long reportIntervalMillis, Consumer<SimulationStats> progress) {
+        var stats = new SimulationStats();
+        var next = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                long first;
+                while ((first = next.getAndAdd(CHUNK_SIZE)) < games) {
+                    long last = Math.min(first + CHUNK_SIZE, games);
+                    for (long game = first; game < last; game++) {
+                        playGame(game, stats);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(reportIntervalMillis, TimeUnit.MILLISECONDS)) {
+                progress.accept(stats);
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        return stats;
+    }
+
+    /**
+     * Plays the game with the given index and records its result.
+     *
+     * @param game the index of the game, from which its seed is derived
+     * @param stats the statistics receiving the result
+     */
+    void playGame(long game, SimulationStats stats) {
+        var random = new Random(seed + game * SEED_INCREMENT);
+        var state = new BitboardState(random);
+        int plies = 0;
+        long legalMoveSum = 0;
+        long legal;
+        while ((legal = state.legalMoves()) != 0) {
+            var player = state.getNextPlayer();
+            var policy = player == Player.PLAYER_1 ? white : black;
+            legalMoveSum += Long.bitCount(legal);
+            state.makeMove(policy.chooseMove(state.kingSquare(player), state.kingSquare(player.opponent()),
+                    state.getClear(), random));
+            plies++;
+        }
+        stats.record(state.getNextPlayer() == Player.PLAYER_2, plies, legalMoveSum);
+    }
+
+    /**
+     * Runs a simulation configured by the command-line arguments and prints its statistics.
+     *
+     * @param args the command-line arguments, see {@link #USAGE}
+     */
+    public static void main(String[] args) {
+        long games = 100_000;
+        var white = Policy.RANDOM;
+        var black = Policy.RANDOM;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        long reportMillis = 1000;
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                var value = args[i + 1];
+                switch (args[i]) {
+                    case "--games" -> games = Long.parseLong(value);
+                    case "--white" -> white = Policy.parse(value);
+                    case "--black" -> black = Policy.parse(value);
+                    case "--threads" -> threads = Integer.parseInt(value);
+                    case "--seed" -> seed = Long.parseLong(value);
+                    case "--report" -> reportMillis = Long.parseLong(value);
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (games < 0) {
+                throw new IllegalArgumentException("The number of games must not be negative: " + games);
+            }
+            if (threads < 1) {
+                throw new IllegalArgumentException("At least one thread is required: " + threads);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        System.out.printf("%s (white) vs %s (black), %d games on %d threads, seed %d%n",
+                white, black, games, threads, seed);
+        long start = System.nanoTime();
+        var simulation = new SelfPlay(white, black, games, threads, seed);
+        var stats = simulation.run(reportMillis, progress -> System.out.printf("%s, %d games per second%n",
+                progress, progress.getGames() * 1_000_000_000L / Math.max(1, System.nanoTime() - start)));
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+        System.out.printf("%s, %d games per second%n", stats, stats.getGames() * 1_000_000_000L / elapsedNanos);
+        System.out.print(stats.formatHistogram());
+    }
+}
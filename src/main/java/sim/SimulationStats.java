@@ -0,0 +1,134 @@
+package sim;
+
+import model.BitboardState;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The SimulationStats class aggregates the results of self-play games.
+ * Games may be recorded from any number of threads while another thread reads the statistics.
+ */
+public class SimulationStats {
+
+    private final LongAdder games = new LongAdder();
+    private final LongAdder whiteWins = new LongAdder();
+    private final LongAdder decisions = new LongAdder();
+    private final LongAdder legalMoves = new LongAdder();
+    private final AtomicLongArray lengths = new AtomicLongArray(BitboardState.SQUARES + 1);
+
+    /**
+     * Records the result of a game.
+     *
+     * @param whiteWon whether the white king, which moves first, won the game
+     * @param plies the number of moves made in the game
+     * @param legalMoveSum the sum of the number of legal moves over every move made in the game
+     */
+    public void record(boolean whiteWon, int plies, long legalMoveSum) {
+        games.increment();
+        if (whiteWon) {
+            whiteWins.increment();
+        }
+        decisions.add(plies);
+        legalMoves.add(legalMoveSum);
+        lengths.incrementAndGet(plies);
+    }
+
+    /**
+     * Gets the number of games recorded.
+     *
+     * @return the number of games
+     */
+    public long getGames() {
+        return games.sum();
+    }
+
+    /**
+     * Gets the number of games won by white.
+     *
+     * @return the number of white wins
+     */
+    public long getWhiteWins() {
+        return whiteWins.sum();
+    }
+
+    /**
+     * Gets the number of games won by black.
+     *
+     * @return the number of black wins
+     */
+    public long getBlackWins() {
+        return getGames() - getWhiteWins();
+    }
+
+    /**
+     * Gets the fraction of the games won by white.
+     *
+     * @return the win rate of white, or 0 if no game has been recorded
+     */
+    public double getWhiteWinRate() {
+        long total = getGames();
+        return total == 0 ? 0.0 : (double) getWhiteWins() / total;
+    }
+
+    /**
+     * Gets the average number of moves made per game.
+     *
+     * @return the average game length in plies
+     */
+    public double getAverageLength() {
+        long total = getGames();
+        return total == 0 ? 0.0 : (double) decisions.sum() / total;
+    }
+
+    /**
+     * Gets the average number of legal moves of the player to move, over every move made.
+     *
+     * @return the average branching factor
+     */
+    public double getAverageBranchingFactor() {
+        long total = decisions.sum();
+        return total == 0 ? 0.0 : (double) legalMoves.sum() / total;
+    }
+
+    /**
+     * Gets the number of games that lasted the given number of moves.
+     *
+     * @param plies the game length in plies
+     * @return the number of games of that length
+     */
+    public long getLengthCount(int plies) {
+        return lengths.get(plies);
+    }
+
+    /**
+     * Formats the game-length histogram, one line per length that occurred, with bars scaled to the most common length.
+     *
+     * @return the histogram
+     */
+    public String formatHistogram() {
+        long max = 1;
+        for (var plies = 0; plies < lengths.length(); plies++) {
+            max = Math.max(max, lengths.get(plies));
+        }
+        var sb = new StringBuilder();
+        for (var plies = 0; plies < lengths.length(); plies++) {
+            long count = lengths.get(plies);
+            if (count > 0) {
+                sb.append(String.format(Locale.ROOT, "%3d %10d ", plies, count))
+                        .append("#".repeat((int) (count * 50 / max)))
+                        .append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "games %d, white wins %.2f%%, black wins %.2f%%, average length %.2f, average branching factor %.3f",
+                getGames(), 100 * getWhiteWinRate(), getGames() == 0 ? 0.0 : 100 - 100 * getWhiteWinRate(),
+                getAverageLength(), getAverageBranchingFactor());
+    }
+}
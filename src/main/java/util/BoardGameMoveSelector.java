@@ -2,13 +2,18 @@ package util;
 
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
+import model.BitboardState;
 import model.BoardGameModel;
 import model.Position;
+import model.RemovalRule;
 import org.tinylog.Logger;
 
 /**
  * The {@code BoardGameMoveSelector} class manages the selection of moves in a board game.
  * It keeps track of the phases of move selection and ensures that only legal moves are selected.
+ * Under the {@link RemovalRule#CHOSEN chosen removal} rule the square to remove is selected after the destination.
+ * Squares can be selected either by {@link Position} or by square index,
+ * see {@link BitboardState#squareIndex(int, int)}; the selection is kept as square indices.
  */
 public class BoardGameMoveSelector {
 
@@ -18,14 +23,16 @@ public class BoardGameMoveSelector {
     public enum Phase {
         SELECT_FROM,
         SELECT_TO,
+        SELECT_REMOVED,
         READY_TO_MOVE
     }
 
     private final BoardGameModel model;
     private final ReadOnlyObjectWrapper<Phase> phase;
     private boolean invalidSelection;
-    private Position from;
-    private Position to;
+    private int from = -1;
+    private int to = -1;
+    private int removed = -1;
 
     /**
      * Constructs a {@code BoardGameMoveSelector} with the specified model.
@@ -38,8 +45,8 @@ public class BoardGameMoveSelector {
         Logger.info("Initializing BoardGameMoveSelector. Starting phase: {}", phase.get());
         selectFrom();
         invalidSelection = false;
-        from = model.findCurrentPlayerPosition();
-        Logger.debug("Initial position for current player: {}", from);
+        from = model.findCurrentPlayerSquare();
+        Logger.debug("Initial square for current player: {}", from);
     }
 
     /**
@@ -79,14 +86,27 @@ public class BoardGameMoveSelector {
      */
     public void select(Position position) {
         Logger.info("Selecting position: {}", position);
+        select(toSquare(position));
+    }
+
+    /**
+     * Selects a square based on the current phase.
+     *
+     * @param square the square index to select, or -1 for a position off the board
+     */
+    public void select(int square) {
         switch (phase.get()) {
             case SELECT_FROM -> {
                 Logger.debug("Phase is SELECT_FROM. Calling selectFrom()");
                 selectFrom();
             }
             case SELECT_TO -> {
-                Logger.debug("Phase is SELECT_TO. Calling selectTo({})", position);
-                selectTo(position);
+                Logger.debug("Phase is SELECT_TO. Calling selectTo({})", square);
+                selectTo(square);
+            }
+            case SELECT_REMOVED -> {
+                Logger.debug("Phase is SELECT_REMOVED. Calling selectRemoved({})", square);
+                selectRemoved(square);
             }
             case READY_TO_MOVE -> {
                 Logger.error("Illegal state: already in READY_TO_MOVE phase.");
@@ -95,20 +115,34 @@ public class BoardGameMoveSelector {
         }
     }
 
+    /**
+     * Converts a position into a square index, mapping positions off the board to -1.
+     */
+    private static int toSquare(Position position) {
+        return BoardGameModel.isOnBoard(position) ? BitboardState.squareIndex(position) : -1;
+    }
+
+    /**
+     * Converts a square index into a position, mapping -1 to null.
+     */
+    private static Position toPosition(int square) {
+        return square < 0 ? null : BitboardState.toPosition(square);
+    }
+
     /**
      * Selects the 'from' position for the move.
      */
     private void selectFrom() {
         Logger.info("Selecting 'from' position");
-        Position position = model.findCurrentPlayerPosition();
+        int square = model.findCurrentPlayerSquare();
         if (model.isLegalToMoveFrom()) {
-            from = position;
+            from = square;
             phase.set(Phase.SELECT_TO);
             invalidSelection = false;
-            Logger.debug("'From' position set to {}. Phase updated to SELECT_TO", from);
+            Logger.debug("'From' square set to {}. Phase updated to SELECT_TO", from);
         } else {
             invalidSelection = true;
-            Logger.warn("Invalid 'from' position selection: {}", position);
+            Logger.warn("Invalid 'from' square selection: {}", square);
         }
     }
 
@@ -119,14 +153,50 @@ public class BoardGameMoveSelector {
      */
     public void selectTo(Position position) {
         Logger.info("Selecting 'to' position: {}", position);
-        if (model.isLegalMove(position)) {
-            to = position;
+        selectTo(toSquare(position));
+    }
+
+    /**
+     * Selects the 'to' square for the move.
+     *
+     * @param square the square index to move to
+     */
+    public void selectTo(int square) {
+        if (model.isLegalMove(square)) {
+            to = square;
+            phase.set(model.getRemovalRule() == RemovalRule.CHOSEN ? Phase.SELECT_REMOVED : Phase.READY_TO_MOVE);
+            invalidSelection = false;
+            Logger.debug("'To' square set to {}. Phase updated to {}", to, phase.get());
+        } else {
+            invalidSelection = true;
+            Logger.warn("Invalid 'to' square selection: {}", square);
+        }
+    }
+
+    /**
+     * Selects the square to remove after the move.
+     *
+     * @param position the position of the square to remove
+     */
+    public void selectRemoved(Position position) {
+        Logger.info("Selecting 'removed' position: {}", position);
+        selectRemoved(toSquare(position));
+    }
+
+    /**
+     * Selects the square to remove after the move.
+     *
+     * @param square the square index to remove
+     */
+    public void selectRemoved(int square) {
+        if (model.isLegalMove(to, square)) {
+            removed = square;
             phase.set(Phase.READY_TO_MOVE);
             invalidSelection = false;
-            Logger.debug("'To' position set to {}. Phase updated to READY_TO_MOVE", to);
+            Logger.debug("'Removed' square set to {}. Phase updated to READY_TO_MOVE", removed);
         } else {
             invalidSelection = true;
-            Logger.warn("Invalid 'to' position selection: {}", position);
+            Logger.warn("Invalid 'removed' square selection: {}", square);
         }
     }
 
@@ -137,11 +207,20 @@ public class BoardGameMoveSelector {
      * @throws IllegalStateException if not in a phase where 'from' position is available
      */
     public Position getFrom() {
+        return toPosition(getFromSquare());
+    }
+
+    /**
+     * Gets the square index of the 'from' position of the move.
+     *
+     * @return the 'from' square index
+     * @throws IllegalStateException if not in a phase where 'from' position is available
+     */
+    public int getFromSquare() {
         if (phase.get() == Phase.SELECT_FROM) {
             Logger.error("Attempt to get 'from' position in SELECT_FROM phase");
             throw new IllegalStateException();
         }
-        Logger.debug("Returning 'from' position: {}", from);
         return from;
     }
 
@@ -149,19 +228,53 @@ public class BoardGameMoveSelector {
      * Gets the 'to' position of the move.
      *
      * @return the 'to' position
-     * @throws IllegalStateException if not in READY_TO_MOVE phase
+     * @throws IllegalStateException if not in SELECT_REMOVED or READY_TO_MOVE phase
      */
     public Position getTo() {
-        if (phase.get() != Phase.READY_TO_MOVE) {
-            Logger.error("Attempt to get 'to' position not in READY_TO_MOVE phase");
+        return toPosition(getToSquare());
+    }
+
+    /**
+     * Gets the square index of the 'to' position of the move.
+     *
+     * @return the 'to' square index
+     * @throws IllegalStateException if not in SELECT_REMOVED or READY_TO_MOVE phase
+     */
+    public int getToSquare() {
+        if (phase.get() != Phase.SELECT_REMOVED && phase.get() != Phase.READY_TO_MOVE) {
+            Logger.error("Attempt to get 'to' position before it was selected");
             throw new IllegalStateException();
         }
-        Logger.debug("Returning 'to' position: {}", to);
         return to;
     }
 
     /**
-     * Makes the move from the 'from' position to the 'to' position.
+     * Gets the position of the square to remove under the {@link RemovalRule#CHOSEN chosen removal} rule.
+     *
+     * @return the 'removed' position, or null if the square is removed at random
+     * @throws IllegalStateException if not in READY_TO_MOVE phase
+     */
+    public Position getRemoved() {
+        return toPosition(getRemovedSquare());
+    }
+
+    /**
+     * Gets the square index of the square to remove under the {@link RemovalRule#CHOSEN chosen removal} rule.
+     *
+     * @return the 'removed' square index, or -1 if the square is removed at random
+     * @throws IllegalStateException if not in READY_TO_MOVE phase
+     */
+    public int getRemovedSquare() {
+        if (phase.get() != Phase.READY_TO_MOVE) {
+            Logger.error("Attempt to get 'removed' position not in READY_TO_MOVE phase");
+            throw new IllegalStateException();
+        }
+        return removed;
+    }
+
+    /**
+     * Makes the move from the 'from' position to the 'to' position,
+     * removing the selected square under the {@link RemovalRule#CHOSEN chosen removal} rule.
      *
      * @throws IllegalStateException if not in READY_TO_MOVE phase
      */
@@ -170,8 +283,13 @@ public class BoardGameMoveSelector {
             Logger.error("Attempt to make a move not in READY_TO_MOVE phase");
             throw new IllegalStateException();
         }
-        Logger.info("Making move from {} to {}", from, to);
-        model.makeMove(to);
+        if (removed >= 0) {
+            Logger.info("Making move from square {} to {} removing {}", from, to, removed);
+            model.makeMove(to, removed);
+        } else {
+            Logger.info("Making move from square {} to {}", from, to);
+            model.makeMove(to);
+        }
         reset();
     }
 
@@ -180,10 +298,11 @@ public class BoardGameMoveSelector {
      */
     public void reset() {
         Logger.info("Resetting BoardGameMoveSelector");
-        from = model.findCurrentPlayerPosition();
-        to = null;
+        from = model.findCurrentPlayerSquare();
+        to = -1;
+        removed = -1;
         phase.set(Phase.SELECT_TO);
         invalidSelection = false;
-        Logger.debug("Reset complete. New 'from' position: {}. Phase set to SELECT_TO", from);
+        Logger.debug("Reset complete. New 'from' square: {}. Phase set to SELECT_TO", from);
     }
 }
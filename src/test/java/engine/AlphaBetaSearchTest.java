@@ -0,0 +1,58 @@
+package engine;
+
+import model.BitboardState;
+import model.BoardGameModel;
+import model.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AlphaBetaSearchTest {
+
+    @Test
+    void testEvaluateStartIsBalanced() {
+        assertEquals(0, Evaluation.evaluate(BitboardState.WHITE_START, BitboardState.BLACK_START, 0));
+    }
+
+    @Test
+    void testEvaluateTrappedKing() {
+        long clear = bit(0, 1) | bit(1, 0) | bit(1, 1);
+        assertEquals(-Evaluation.WIN, Evaluation.evaluate(BitboardState.squareIndex(0, 0), BitboardState.BLACK_START, clear));
+    }
+
+    @Test
+    void testFindBestMoveFromStart() {
+        var search = new AlphaBetaSearch(100_000, 1000);
+        var model = new BoardGameModel();
+        Position move = search.findBestMove(model);
+        assertTrue(model.isLegalMove(move));
+        assertTrue(search.getCompletedDepth() > 0);
+    }
+
+    @Test
+    void testFindsTrappingMove() {
+        var search = new AlphaBetaSearch(1_000_000, 1000);
+        long clear = bit(0, 6) | bit(1, 7);
+        int move = search.findBestMove(BitboardState.squareIndex(2, 5), BitboardState.squareIndex(0, 7), clear, 4);
+        assertEquals(BitboardState.squareIndex(1, 6), move);
+        assertTrue(search.getScore() > Evaluation.WIN - AlphaBetaSearch.MAX_DEPTH);
+    }
+
+    @Test
+    void testNoLegalMove() {
+        var search = new AlphaBetaSearch(1000, 1000);
+        long clear = bit(0, 1) | bit(1, 0) | bit(1, 1);
+        assertEquals(-1, search.findBestMove(BitboardState.squareIndex(0, 0), BitboardState.BLACK_START, clear, 4));
+    }
+
+    @Test
+    void testNodeLimit() {
+        var search = new AlphaBetaSearch(5000, 10_000);
+        search.findBestMove(new BitboardState());
+        assertTrue(search.getNodes() <= 5000);
+    }
+
+    private static long bit(int row, int col) {
+        return 1L << BitboardState.squareIndex(row, col);
+    }
+}
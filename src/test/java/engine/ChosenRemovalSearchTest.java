@@ -0,0 +1,170 @@
+package engine;
+
+import engine.tablebase.Tablebase;
+import engine.tablebase.TablebaseGenerator;
+import game.State.Player;
+import model.BitboardState;
+import model.BoardGameModel;
+import model.CompoundMoves;
+import model.Position;
+import model.Zobrist;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChosenRemovalSearchTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testExactHorizonKeepsReachableRemovals() {
+        var search = new ChosenRemovalSearch(1000, 1000, ChosenRemovalSearch.EXACT_HORIZON);
+        var moves = new int[CompoundMoves.MAX_MOVES];
+        var state = new BitboardState();
+        assertEquals(5 * 46, search.generate(BitboardState.WHITE_START, BitboardState.BLACK_START,
+                state.getEmpty(), moves));
+    }
+
+    @Test
+    void testGroupsUnreachableRemovals() {
+        var search = new ChosenRemovalSearch(1000, 1000, ChosenRemovalSearch.EXACT_HORIZON);
+        var moves = new int[CompoundMoves.MAX_MOVES];
+        long wall = 0;
+        for (var row = 0; row < BoardGameModel.BOARD_ROWS; row++) {
+            wall |= bit(row, 3);
+        }
+        int black = BitboardState.squareIndex(3, 2);
+        int count = search.generate(BitboardState.WHITE_START, black,
+                Evaluation.empty(BitboardState.WHITE_START, black, wall), moves);
+        assertEquals(5 * 17, count);
+    }
+
+    @Test
+    void testDefaultHorizonPrunesDistantRemovals() {
+        var search = new ChosenRemovalSearch(1000, 1000);
+        var moves = new int[CompoundMoves.MAX_MOVES];
+        var state = new BitboardState();
+        int count = search.generate(BitboardState.WHITE_START, BitboardState.BLACK_START, state.getEmpty(), moves);
+        assertTrue(count < 5 * 46);
+        int previous = 0;
+        for (var i = 0; i < count; i++) {
+            assertTrue(CompoundMoves.isLegal(BitboardState.WHITE_START, CompoundMoves.destination(moves[i]),
+                    CompoundMoves.removed(moves[i]), state.getEmpty()));
+            int distance = distance(CompoundMoves.removed(moves[i]), BitboardState.BLACK_START);
+            if (i > 0 && CompoundMoves.destination(moves[i]) == CompoundMoves.destination(moves[i - 1])) {
+                assertTrue(distance >= previous);
+            }
+            previous = distance;
+        }
+    }
+
+    @Test
+    void testHashDestinationKeepsNearestRemovalsFirst() {
+        var search = new ChosenRemovalSearch(1_000_000, 10_000);
+        search.findBestMove(BitboardState.WHITE_START, BitboardState.BLACK_START, 0, 3);
+        var empty = new BitboardState().getEmpty();
+        var rootMoves = new int[CompoundMoves.MAX_MOVES];
+        var replies = new int[CompoundMoves.MAX_MOVES];
+        var children = new int[CompoundMoves.MAX_MOVES];
+        int rootCount = search.generate(BitboardState.WHITE_START, BitboardState.BLACK_START, empty, rootMoves);
+        var tested = 0;
+        for (var i = 0; i < rootCount; i++) {
+            int white = CompoundMoves.destination(rootMoves[i]);
+            long clear = 1L << CompoundMoves.removed(rootMoves[i]);
+            int replyCount = search.generate(BitboardState.BLACK_START, white,
+                    Evaluation.empty(white, BitboardState.BLACK_START, clear), replies);
+            for (var j = 0; j < replyCount; j++) {
+                int black = CompoundMoves.destination(replies[j]);
+                long childClear = clear | 1L << CompoundMoves.removed(replies[j]);
+                long entry = search.getTable().probe(Zobrist.hash(white, black, childClear, Player.PLAYER_1));
+                if (entry == TranspositionTable.NO_ENTRY) {
+                    continue;
+                }
+                int destination = TranspositionTable.move(entry);
+                long childEmpty = Evaluation.empty(white, black, childClear);
+                int count = search.generate(white, black, childEmpty, children);
+                if (destination < 0 || CompoundMoves.destination(children[0]) == destination) {
+                    continue;
+                }
+                int[] generated = Arrays.copyOf(children, count);
+                search.destinationToFront(children, count, destination);
+                int[] block = Arrays.stream(generated)
+                        .filter(move -> CompoundMoves.destination(move) == destination).toArray();
+                assertArrayEquals(block, Arrays.copyOf(children, block.length));
+                for (var k = 1; k < block.length; k++) {
+                    assertTrue(distance(CompoundMoves.removed(block[k]), black)
+                            >= distance(CompoundMoves.removed(block[k - 1]), black));
+                }
+                int[] rest = Arrays.stream(generated)
+                        .filter(move -> CompoundMoves.destination(move) != destination).toArray();
+                assertArrayEquals(rest, Arrays.copyOfRange(children, block.length, count));
+                tested++;
+            }
+        }
+        assertTrue(tested > 0);
+    }
+
+    @Test
+    void testFindsTrappingRemoval() {
+        var search = new ChosenRemovalSearch(1_000_000, 1000);
+        long clear = bit(0, 6) | bit(1, 7);
+        int move = search.findBestMove(BitboardState.squareIndex(3, 3), BitboardState.squareIndex(0, 7), clear, 4);
+        assertEquals(BitboardState.squareIndex(1, 6), CompoundMoves.removed(move));
+        assertTrue(search.getScore() > Evaluation.WIN - ChosenRemovalSearch.MAX_DEPTH);
+    }
+
+    @Test
+    void testFindBestMoveFromStart() {
+        var search = new ChosenRemovalSearch(50_000, 1000);
+        var model = new BoardGameModel();
+        int move = search.findBestMove(model);
+        Position to = BitboardState.toPosition(CompoundMoves.destination(move));
+        Position removed = BitboardState.toPosition(CompoundMoves.removed(move));
+        assertTrue(model.isLegalMove(to, removed));
+        assertTrue(search.getCompletedDepth() > 0);
+        assertTrue(search.getPrunedRemovals() > 0);
+        assertTrue(search.getNodes() <= 50_000);
+    }
+
+    @Test
+    void testTablebaseScoresEndgames() throws IOException {
+        Path file = directory.resolve("endgame.tb");
+        TablebaseGenerator.write(3, file);
+        var tablebase = Tablebase.open(file);
+        int white = BitboardState.squareIndex(2, 2);
+        int black = BitboardState.squareIndex(2, 4);
+        long empty = bit(2, 3) | bit(1, 3) | bit(3, 3) | bit(1, 2);
+        long clear = BitboardState.BOARD_MASK & ~empty & ~(1L << white) & ~(1L << black);
+        var search = new ChosenRemovalSearch(1_000_000, 10_000, ChosenRemovalSearch.EXACT_HORIZON);
+        search.findBestMove(white, black, clear, ChosenRemovalSearch.MAX_DEPTH);
+        var probing = new ChosenRemovalSearch(1_000_000, 10_000, ChosenRemovalSearch.EXACT_HORIZON);
+        probing.setTablebase(tablebase);
+        probing.findBestMove(white, black, clear, ChosenRemovalSearch.MAX_DEPTH);
+        assertEquals(search.getScore(), probing.getScore());
+        assertTrue(Math.abs(probing.getScore()) > Evaluation.WIN - ChosenRemovalSearch.MAX_DEPTH);
+        assertTrue(probing.getTablebaseHits() > 0);
+        assertTrue(probing.getNodes() < search.getNodes());
+    }
+
+    @Test
+    void testNoLegalMove() {
+        var search = new ChosenRemovalSearch(1000, 1000);
+        long clear = bit(0, 1) | bit(1, 0) | bit(1, 1);
+        assertEquals(-1, search.findBestMove(BitboardState.squareIndex(0, 0), BitboardState.BLACK_START, clear, 4));
+    }
+
+    private static int distance(int from, int to) {
+        return Math.max(Math.abs(from / BoardGameModel.BOARD_COLUMNS - to / BoardGameModel.BOARD_COLUMNS),
+                Math.abs(from % BoardGameModel.BOARD_COLUMNS - to % BoardGameModel.BOARD_COLUMNS));
+    }
+
+    private static long bit(int row, int col) {
+        return 1L << BitboardState.squareIndex(row, col);
+    }
+}
@@ -0,0 +1,87 @@
+package engine;
+
+import game.State;
+import model.BitboardState;
+import model.Bitboards;
+import model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpectimaxSearchTest {
+
+    @Test
+    void testTrappedKingLoses() {
+        var search = new ExpectimaxSearch(8, 1000);
+        long clear = bit(0, 1) | bit(1, 0) | bit(1, 1);
+        assertEquals(0.0, search.winProbability(BitboardState.squareIndex(0, 0), BitboardState.BLACK_START, clear));
+        assertTrue(search.isExact());
+    }
+
+    @Test
+    void testTrappingMoveWins() {
+        var search = new ExpectimaxSearch(1, 1000);
+        var state = new BitboardState(BitboardState.squareIndex(2, 5), BitboardState.squareIndex(0, 7),
+                bit(0, 6) | bit(1, 7), State.Player.PLAYER_1, new Random());
+        assertEquals(1.0, search.evaluateMoves(state).get(new Position(1, 6)));
+        assertEquals(new Position(1, 6), search.findBestMove(state));
+    }
+
+    @Test
+    void testEvaluateMovesFromStart() {
+        var search = new ExpectimaxSearch(1, 1000);
+        var moves = search.evaluateMoves(new BitboardState());
+        assertEquals(5, moves.size());
+        moves.values().forEach(p -> assertTrue(p >= 0.0 && p <= 1.0));
+        assertFalse(search.isExact());
+    }
+
+    @Test
+    void testMatchesNaiveExpectimax() {
+        var random = new Random(3);
+        for (var game = 0; game < 10; game++) {
+            int own = random.nextInt(BitboardState.SQUARES);
+            int opponent;
+            do {
+                opponent = random.nextInt(BitboardState.SQUARES);
+            } while (opponent == own);
+            long clear = 0;
+            while (Long.bitCount(Evaluation.empty(own, opponent, clear)) > 5) {
+                clear |= randomEmpty(random, own, opponent, clear);
+            }
+            var search = new ExpectimaxSearch(20, 1_000_000);
+            assertEquals(naive(own, opponent, clear), search.winProbability(own, opponent, clear), 1e-9);
+            assertTrue(search.isExact());
+        }
+    }
+
+    private static long randomEmpty(Random random, int own, int opponent, long clear) {
+        long empty = Evaluation.empty(own, opponent, clear);
+        for (int k = random.nextInt(Long.bitCount(empty)); k > 0; k--) {
+            empty &= empty - 1;
+        }
+        return Long.lowestOneBit(empty);
+    }
+
+    private static double naive(int own, int opponent, long clear) {
+        long legal = Bitboards.legalMoves(own, Evaluation.empty(own, opponent, clear));
+        double best = 0.0;
+        while (legal != 0) {
+            int to = Long.numberOfTrailingZeros(legal);
+            legal &= legal - 1;
+            long empty = Evaluation.empty(to, opponent, clear);
+            double sum = 0.0;
+            for (long rest = empty; rest != 0; rest &= rest - 1) {
+                sum += 1.0 - naive(opponent, to, clear | Long.lowestOneBit(rest));
+            }
+            best = Math.max(best, sum / Long.bitCount(empty));
+        }
+        return best;
+    }
+
+    private static long bit(int row, int col) {
+        return 1L << BitboardState.squareIndex(row, col);
+    }
+}
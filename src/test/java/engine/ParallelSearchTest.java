@@ -0,0 +1,49 @@
+package engine;
+
+import model.BitboardState;
+import model.BoardGameModel;
+import model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelSearchTest {
+
+    @Test
+    void testFindBestMove() {
+        try (var search = new ParallelSearch(4, 200, 16)) {
+            var model = new BoardGameModel();
+            Position move = search.findBestMove(model);
+            assertTrue(model.isLegalMove(move));
+            assertTrue(search.getNodes() > 0);
+            assertTrue(search.getNodesPerSecond() > 0);
+        }
+    }
+
+    @Test
+    void testSingleThread() {
+        try (var search = new ParallelSearch(1, 100, 16)) {
+            var state = new BitboardState();
+            assertTrue(state.isLegalMove(search.findBestMove(state)));
+        }
+    }
+
+    @Test
+    void testCancel() throws Exception {
+        try (var search = new ParallelSearch(2, 60_000, 16)) {
+            var result = CompletableFuture.supplyAsync(() -> search.findBestMove(new BitboardState()));
+            Thread.sleep(100);
+            search.cancel();
+            Position move = result.get(10, TimeUnit.SECONDS);
+            assertNotNull(move);
+        }
+    }
+
+    @Test
+    void testInvalidThreadCount() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSearch(0, 100, 16));
+    }
+}
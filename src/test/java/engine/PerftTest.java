@@ -0,0 +1,103 @@
+package engine;
+
+import game.State;
+import model.BitboardState;
+import model.Bitboards;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerftTest {
+
+    @Test
+    void testStartPosition() {
+        // Five king moves, each followed by clearing one of the 46 empty squares
+        assertEquals(1, Perft.count(BitboardState.WHITE_START, BitboardState.BLACK_START, 0, 0));
+        assertEquals(5 * 46, Perft.count(BitboardState.WHITE_START, BitboardState.BLACK_START, 0, 1));
+    }
+
+    @Test
+    void testParallelMatchesSequential() {
+        long expected = Perft.count(BitboardState.WHITE_START, BitboardState.BLACK_START, 0, 3);
+        var result = new Perft(4, false).run(new BitboardState(), 3);
+        assertEquals(expected, result.nodes());
+        assertTrue(result.nodesPerSecond() > 0);
+    }
+
+    @Test
+    void testMatchesNaiveCount() {
+        var random = new Random(1);
+        for (var i = 0; i < 20; i++) {
+            var state = randomLateGame(random);
+            var player = state.getNextPlayer();
+            assertEquals(naiveCount(state, 3),
+                    Perft.count(state.kingSquare(player), state.kingSquare(player.opponent()), state.getClear(), 3));
+        }
+    }
+
+    @Test
+    void testCheckedStartPosition() {
+        assertEquals(5 * 46, new Perft(2, true).run(new BitboardState(), 1).nodes());
+    }
+
+    @Test
+    void testCheckedLateGame() {
+        var random = new Random(2);
+        var perft = new Perft(2, true);
+        for (var i = 0; i < 5; i++) {
+            var state = randomLateGame(random);
+            var player = state.getNextPlayer();
+            long expected = Perft.count(state.kingSquare(player), state.kingSquare(player.opponent()),
+                    state.getClear(), 2);
+            assertEquals(expected, perft.run(state, 2).nodes());
+        }
+    }
+
+    @Test
+    void testInvalidThreadCount() {
+        assertThrows(IllegalArgumentException.class, () -> new Perft(0, false));
+    }
+
+    private static BitboardState randomLateGame(Random random) {
+        while (true) {
+            var state = new BitboardState(random);
+            while (Long.bitCount(state.getEmpty()) > 10 && !state.isGameOver()) {
+                long legal = state.legalMoves();
+                state.makeMove(Bitboards.selectBit(legal, random.nextInt(Long.bitCount(legal))));
+            }
+            if (!state.isGameOver()) {
+                return state;
+            }
+        }
+    }
+
+    /**
+     * Counts the positions by enumerating the cleared squares on copies of the state, independently of Perft.
+     */
+    private static long naiveCount(BitboardState state, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        long nodes = 0;
+        var player = state.getNextPlayer();
+        for (var to = 0; to < BitboardState.SQUARES; to++) {
+            if (!state.isLegalMove(to)) {
+                continue;
+            }
+            for (var cleared = 0; cleared < BitboardState.SQUARES; cleared++) {
+                boolean vacated = cleared == state.kingSquare(player);
+                boolean empty = (state.getEmpty() & 1L << cleared) != 0 && cleared != to;
+                if (vacated || empty) {
+                    int white = player == State.Player.PLAYER_1 ? to : state.kingSquare(player.opponent());
+                    int black = player == State.Player.PLAYER_1 ? state.kingSquare(player.opponent()) : to;
+                    var child = new BitboardState(white, black, state.getClear() | 1L << cleared, player.opponent(),
+                            new Random());
+                    nodes += naiveCount(child, depth - 1);
+                }
+            }
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,156 @@
+package engine;
+
+import model.BitboardState;
+import model.Bitboards;
+import model.BoardGameModel;
+import model.PositionKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeparatedEndgameTest {
+
+    @Test
+    void testSeparated() {
+        long empty = BitboardState.BOARD_MASK & ~wall() & ~bit(0, 0) & ~bit(0, 7);
+        assertTrue(Bitboards.separated(BitboardState.squareIndex(0, 0), BitboardState.squareIndex(0, 7), empty));
+        assertFalse(Bitboards.separated(BitboardState.WHITE_START, BitboardState.BLACK_START,
+                new BitboardState().getEmpty()));
+    }
+
+    @Test
+    void testMatchesBruteForce() {
+        var random = new Random(7);
+        var endgame = new SeparatedEndgame();
+        var positions = 0;
+        while (positions < 30) {
+            int own = random.nextInt(BitboardState.SQUARES);
+            int opponent;
+            do {
+                opponent = random.nextInt(BitboardState.SQUARES);
+            } while (opponent == own);
+            long clear = 0;
+            int emptySquares = 4 + random.nextInt(SeparatedEndgame.MAX_EXACT_SQUARES - 3);
+            while (Long.bitCount(Evaluation.empty(own, opponent, clear)) > emptySquares) {
+                clear |= randomEmpty(random, own, opponent, clear);
+            }
+            if (!Bitboards.separated(own, opponent, Evaluation.empty(own, opponent, clear))) {
+                continue;
+            }
+            positions++;
+            double probability = naive(own, opponent, clear, new HashMap<>());
+            int score = endgame.score(own, opponent, clear);
+            assertEquals(SeparatedEndgame.toScore(probability), score);
+            assertTrue(Math.abs(score) <= SeparatedEndgame.MAX_SCORE);
+        }
+    }
+
+    @Test
+    void testShuttlingKingIsNotLost() {
+        // White can only shuttle between two squares, black can walk five squares without stepping back
+        int white = BitboardState.squareIndex(0, 0);
+        int black = BitboardState.squareIndex(5, 7);
+        long clear = BitboardState.BOARD_MASK & ~bit(0, 0) & ~bit(0, 1)
+                & ~bit(5, 7) & ~bit(5, 6) & ~bit(5, 5) & ~bit(5, 4) & ~bit(5, 3) & ~bit(5, 2);
+        double probability = naive(white, black, clear, new HashMap<>());
+        assertTrue(probability > 0.4);
+        assertEquals(SeparatedEndgame.toScore(probability), new SeparatedEndgame().score(white, black, clear));
+    }
+
+    @Test
+    void testLargeRegionsAreEvaluated() {
+        var endgame = new SeparatedEndgame();
+        int white = BitboardState.squareIndex(0, 0);
+        int black = BitboardState.squareIndex(0, 7);
+        long clear = cornerClear();
+        assertEquals(Evaluation.evaluate(white, black, clear), endgame.score(white, black, clear));
+        assertTrue(endgame.score(white, black, clear) > 0);
+        assertTrue(endgame.score(black, white, clear) < 0);
+        assertEquals(SeparatedEndgame.UNSOLVED, endgame.score(BitboardState.WHITE_START, BitboardState.BLACK_START, 0));
+    }
+
+    @Test
+    void testScoresFollowProbabilities() {
+        assertEquals(0, SeparatedEndgame.toScore(0.5));
+        assertEquals(SeparatedEndgame.MAX_SCORE, SeparatedEndgame.toScore(1.0));
+        assertEquals(-SeparatedEndgame.MAX_SCORE, SeparatedEndgame.toScore(0.0));
+        assertTrue(SeparatedEndgame.toScore(0.6) > SeparatedEndgame.toScore(0.55));
+        assertEquals(-SeparatedEndgame.toScore(0.8), SeparatedEndgame.toScore(0.2));
+    }
+
+    @Test
+    void testSearchScoresSeparatedPosition() {
+        var search = new AlphaBetaSearch(100_000, 1000);
+        int white = BitboardState.squareIndex(0, 0);
+        int black = BitboardState.squareIndex(0, 7);
+        int move = search.findBestMove(white, black, cornerClear(), 4);
+        assertTrue(move >= 0);
+        assertTrue(search.getScore() > 0);
+        assertTrue(search.getScore() < Evaluation.WIN - AlphaBetaSearch.MAX_DEPTH);
+        assertTrue(search.getSeparatedNodes() > 0);
+    }
+
+    /**
+     * Computes the win probability of the player to move by trying every move and every cleared square.
+     */
+    private static double naive(int own, int opponent, long clear, Map<Long, Double> seen) {
+        long key = PositionKey.pack(own, opponent, clear);
+        Double known = seen.get(key);
+        if (known != null) {
+            return known;
+        }
+        long legal = Bitboards.legalMoves(own, Evaluation.empty(own, opponent, clear));
+        double best = 0.0;
+        while (legal != 0) {
+            int to = Long.numberOfTrailingZeros(legal);
+            legal &= legal - 1;
+            long empty = Evaluation.empty(to, opponent, clear);
+            double sum = 0.0;
+            for (long rest = empty; rest != 0; rest &= rest - 1) {
+                sum += 1.0 - naive(opponent, to, clear | Long.lowestOneBit(rest), seen);
+            }
+            best = Math.max(best, sum / Long.bitCount(empty));
+        }
+        seen.put(key, best);
+        return best;
+    }
+
+    private static long randomEmpty(Random random, int own, int opponent, long clear) {
+        long empty = Evaluation.empty(own, opponent, clear);
+        for (int k = random.nextInt(Long.bitCount(empty)); k > 0; k--) {
+            empty &= empty - 1;
+        }
+        return Long.lowestOneBit(empty);
+    }
+
+    /**
+     * Clears the fourth column and the right half of the board except the two squares of the top right corner.
+     */
+    private static long cornerClear() {
+        long clear = wall();
+        for (var row = 0; row < BoardGameModel.BOARD_ROWS; row++) {
+            for (var col = 4; col < BoardGameModel.BOARD_COLUMNS; col++) {
+                if (row > 1 || col < 7) {
+                    clear |= bit(row, col);
+                }
+            }
+        }
+        return clear;
+    }
+
+    private static long wall() {
+        long wall = 0;
+        for (var row = 0; row < BoardGameModel.BOARD_ROWS; row++) {
+            wall |= bit(row, 3);
+        }
+        return wall;
+    }
+
+    private static long bit(int row, int col) {
+        return 1L << BitboardState.squareIndex(row, col);
+    }
+}
@@ -0,0 +1,87 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranspositionTableTest {
+
+    @Test
+    void testPackAndUnpack() {
+        long data = TranspositionTable.pack(-1234, 17, TranspositionTable.UPPER, 47);
+        assertEquals(-1234, TranspositionTable.score(data));
+        assertEquals(17, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.UPPER, TranspositionTable.bound(data));
+        assertEquals(47, TranspositionTable.move(data));
+        assertEquals(-1, TranspositionTable.move(TranspositionTable.pack(0, 0, TranspositionTable.EXACT, -1)));
+    }
+
+    @Test
+    void testStoreAndProbe() {
+        var table = new TranspositionTable(4, TranspositionTable.ReplacementPolicy.ALWAYS);
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(42));
+        table.store(42, TranspositionTable.pack(5, 3, TranspositionTable.EXACT, 7));
+        long data = table.probe(42);
+        assertEquals(5, TranspositionTable.score(data));
+        assertEquals(7, TranspositionTable.move(data));
+        assertEquals(2, table.getProbes());
+        assertEquals(1, table.getHits());
+        assertEquals(0.5, table.getHitRate());
+        assertEquals(1.0 / 16, table.getFill());
+    }
+
+    @Test
+    void testCollisionIsMiss() {
+        var table = new TranspositionTable(1, TranspositionTable.ReplacementPolicy.ALWAYS);
+        for (long key = 1; key <= 3; key++) {
+            table.store(key, TranspositionTable.pack((int) key, 1, TranspositionTable.EXACT, -1));
+        }
+        long misses = IntStream.rangeClosed(1, 3)
+                .filter(key -> table.probe(key) == TranspositionTable.NO_ENTRY)
+                .count();
+        assertTrue(misses >= 1);
+        assertEquals(misses, table.getCollisions());
+    }
+
+    @Test
+    void testDepthPreferredKeepsDeeperEntry() {
+        var table = new TranspositionTable(1, TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED);
+        long first = 1;
+        long second = keyInSameSlot(first);
+        table.store(first, TranspositionTable.pack(1, 10, TranspositionTable.EXACT, -1));
+        table.store(second, TranspositionTable.pack(2, 5, TranspositionTable.EXACT, -1));
+        assertNotEquals(TranspositionTable.NO_ENTRY, table.probe(first));
+        table.newSearch();
+        table.store(second, TranspositionTable.pack(2, 5, TranspositionTable.EXACT, -1));
+        assertNotEquals(TranspositionTable.NO_ENTRY, table.probe(second));
+    }
+
+    @Test
+    void testConcurrentAccess() {
+        var table = new TranspositionTable(10, TranspositionTable.ReplacementPolicy.ALWAYS);
+        IntStream.range(0, 8).parallel().forEach(thread -> {
+            for (int i = 0; i < 100_000; i++) {
+                long key = (long) i * 0x9E37_79B9L + thread;
+                table.store(key, TranspositionTable.pack((int) key, 1, TranspositionTable.EXACT, -1));
+                long data = table.probe(key);
+                if (data != TranspositionTable.NO_ENTRY) {
+                    assertEquals((int) key, TranspositionTable.score(data));
+                }
+            }
+        });
+        assertTrue(table.getFill() > 0.9);
+    }
+
+    private static long keyInSameSlot(long key) {
+        var table = new TranspositionTable(1, TranspositionTable.ReplacementPolicy.ALWAYS);
+        table.store(key, TranspositionTable.pack(0, 0, TranspositionTable.EXACT, -1));
+        long other = key;
+        do {
+            other++;
+            table.probe(other);
+        } while (table.getCollisions() == 0);
+        return other;
+    }
+}
@@ -0,0 +1,134 @@
+package engine.book;
+
+import engine.Evaluation;
+import model.BitboardState;
+import model.Bitboards;
+import model.CompoundMoves;
+import model.PositionKey;
+import model.RemovalRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sim.Policy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OpeningBookTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testEnumerate() {
+        long start = PositionKey.pack(BitboardState.WHITE_START, BitboardState.BLACK_START, 0);
+        assertArrayEquals(new long[] {PositionKey.canonical(start)}, OpeningBookBuilder.enumerate(1));
+        long[] keys = OpeningBookBuilder.enumerate(2);
+        assertTrue(keys.length > 1 && keys.length <= 1 + 5 * 46);
+        for (var i = 0; i < keys.length; i++) {
+            assertEquals(PositionKey.canonical(keys[i]), keys[i]);
+            assertTrue(i == 0 || keys[i - 1] < keys[i]);
+        }
+    }
+
+    @Test
+    void testSampleIsWithinEnumeration() {
+        long[] enumerated = OpeningBookBuilder.enumerate(2);
+        for (long key : OpeningBookBuilder.sample(2, 100, Policy.RANDOM, 7)) {
+            assertTrue(Arrays.binarySearch(enumerated, key) >= 0);
+        }
+    }
+
+    @Test
+    void testMovesAreMappedThroughSymmetries() throws IOException {
+        Path file = directory.resolve("random.book");
+        long[] keys = OpeningBookBuilder.enumerate(2);
+        OpeningBookBuilder.build(file, RemovalRule.RANDOM, keys, 2_000, 1_000);
+        assertEquals(OpeningBook.HEADER_BYTES + (long) keys.length * OpeningBook.ENTRY_BYTES, Files.size(file));
+        var book = OpeningBook.open(file);
+        assertEquals(RemovalRule.RANDOM, book.getRule());
+        assertEquals(keys.length, book.size());
+        for (long key : keys) {
+            int move = book.findMove(PositionKey.own(key), PositionKey.opponent(key), PositionKey.clear(key));
+            for (var symmetry = 0; symmetry < PositionKey.SYMMETRIES; symmetry++) {
+                long image = PositionKey.transform(symmetry, key);
+                int own = PositionKey.own(image);
+                int opponent = PositionKey.opponent(image);
+                long clear = PositionKey.clear(image);
+                var entry = book.probe(own, opponent, clear);
+                assertNotNull(entry);
+                assertEquals(PositionKey.transformSquare(symmetry, move), entry.move());
+                assertTrue((Bitboards.legalMoves(own, Evaluation.empty(own, opponent, clear)) & 1L << entry.move())
+                        != 0);
+            }
+        }
+        assertEquals(OpeningBook.NOT_FOUND, book.findMove(0, 47, 0xFFL << 8));
+        assertNull(book.probe(0, 47, 0xFFL << 8));
+    }
+
+    @Test
+    void testChosenRemovalBook() throws IOException {
+        Path file = directory.resolve("chosen.book");
+        long[] keys = OpeningBookBuilder.enumerate(1);
+        OpeningBookBuilder.build(file, RemovalRule.CHOSEN, keys, 2_000, 1_000);
+        var book = OpeningBook.open(file);
+        assertEquals(RemovalRule.CHOSEN, book.getRule());
+        var state = new BitboardState(new Random(1));
+        var entry = book.probe(state);
+        assertNotNull(entry);
+        int own = state.kingSquare(state.getNextPlayer());
+        assertTrue(CompoundMoves.isLegal(own, CompoundMoves.destination(entry.move()),
+                CompoundMoves.removed(entry.move()), state.getEmpty()));
+    }
+
+    @Test
+    void testIllegalBookMoveIsAMiss() throws IOException {
+        Path file = directory.resolve("stale.book");
+        long key = PositionKey.canonical(PositionKey.pack(BitboardState.WHITE_START, BitboardState.BLACK_START, 0));
+        OpeningBookBuilder.write(file, RemovalRule.RANDOM, new long[] {key},
+                new int[] {PositionKey.opponent(key)}, new int[1]);
+        var search = new BookSearch(OpeningBook.open(file), 2, 1_000);
+        var state = new BitboardState(new Random(5));
+        assertNotNull(search.getBook().probe(state));
+        assertEquals(OpeningBook.NOT_FOUND, search.findBookMove(state));
+        assertFalse(search.isLastMoveFromBook());
+        int move = search.findBestMove(state);
+        assertTrue(state.isLegalMove(move));
+        assertEquals(0, search.getBookHits());
+        assertEquals(2, search.getBookMisses());
+    }
+
+    @Test
+    void testWriteRejectsUnsortedKeys() {
+        Path file = directory.resolve("unsorted.book");
+        assertThrows(IllegalArgumentException.class, () -> OpeningBookBuilder.write(file, RemovalRule.RANDOM,
+                new long[] {2, 1}, new int[2], new int[2]));
+    }
+
+    @Test
+    void testOpenRejectsOtherFiles() throws IOException {
+        Path file = directory.resolve("other.book");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+        assertThrows(IOException.class, () -> OpeningBook.open(file));
+    }
+
+    @Test
+    void testBookSearchFallsBackToSearch() throws IOException {
+        Path file = directory.resolve("fallback.book");
+        OpeningBookBuilder.build(file, RemovalRule.RANDOM, OpeningBookBuilder.enumerate(1), 2_000, 1_000);
+        var search = new BookSearch(OpeningBook.open(file), 2, 1_000);
+        var state = new BitboardState(new Random(3));
+        int move = search.findBestMove(state);
+        assertTrue(search.isLastMoveFromBook());
+        state.makeMove(move);
+        int reply = search.findBestMove(state);
+        assertFalse(search.isLastMoveFromBook());
+        assertTrue(state.isLegalMove(reply));
+        assertEquals(1, search.getBookHits());
+        assertEquals(1, search.getBookMisses());
+    }
+}
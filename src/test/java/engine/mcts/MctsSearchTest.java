@@ -0,0 +1,98 @@
+package engine.mcts;
+
+import model.BitboardState;
+import model.BoardGameModel;
+import model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MctsSearchTest {
+
+    @Test
+    void testFindBestMove() {
+        try (var search = new MctsSearch(4, 10_000, 20_000, 1)) {
+            var model = new BoardGameModel();
+            Position move = search.findBestMove(model);
+            assertTrue(model.isLegalMove(move));
+            assertEquals(20_000, search.getPlayouts());
+            assertTrue(search.getPlayoutsPerSecond() > 0);
+            assertTrue(search.getTreeSize() > 4);
+        }
+    }
+
+    @Test
+    void testPlayoutLimitIsNotRoundedUp() {
+        try (var search = new MctsSearch(4, 10_000, 10_003, 6)) {
+            search.findBestMove(new BoardGameModel());
+            assertEquals(10_003, search.getPlayouts());
+        }
+        try (var search = new MctsSearch(4, 10_000, 2, 7)) {
+            search.findBestMove(new BoardGameModel());
+            assertEquals(2, search.getPlayouts());
+        }
+    }
+
+    @Test
+    void testVisitsAddUpToPlayouts() {
+        try (var search = new MctsSearch(2, 10_000, 4_000, 2)) {
+            var state = new BitboardState();
+            search.findBestMove(state);
+            long visits = 0;
+            for (long legal = state.legalMoves(); legal != 0; legal &= legal - 1) {
+                visits += search.getVisits(Long.numberOfTrailingZeros(legal));
+            }
+            assertEquals(4_000, visits);
+        }
+    }
+
+    @Test
+    void testAvoidsTrap() {
+        // White on square 0 can move to 1 or 8; moving to 1 next to the black king on 2 leaves black no way out,
+        // while moving to 8 lets black escape through 1
+        long clear = BitboardState.BOARD_MASK & ~(1L | 1L << 1 | 1L << 2 | 1L << 8 | 1L << 16);
+        try (var search = new MctsSearch(1, 10_000, 2_000, 3)) {
+            assertEquals(1, search.findBestMove(0, 2, clear));
+            assertEquals(1.0, search.getWinRate(1));
+        }
+    }
+
+    @Test
+    void testNoLegalMove() {
+        long clear = BitboardState.BOARD_MASK & ~(1L | 1L << 47);
+        try (var search = new MctsSearch(1, 10_000, 100, 4)) {
+            assertEquals(-1, search.findBestMove(0, 47, clear));
+        }
+    }
+
+    @Test
+    void testAdvanceReusesTree() {
+        try (var search = new MctsSearch(1, 10_000, 5_000, 5)) {
+            var state = new BitboardState();
+            int move = BitboardState.squareIndex(search.findBestMove(state));
+            long visits = search.getVisits(move);
+            search.advance(move);
+            assertTrue(search.getTreeSize() > 1);
+            assertTrue(search.getTreeSize() <= visits);
+            state.makeMove(move);
+            int reply = BitboardState.squareIndex(search.findBestMove(state));
+            assertTrue(state.isLegalMove(reply));
+        }
+    }
+
+    @Test
+    void testPlayoutAlwaysEnds() {
+        var random = new SplittableRandom(6);
+        for (var i = 0; i < 1000; i++) {
+            int result = Playout.play(BitboardState.WHITE_START, BitboardState.BLACK_START, 0, random);
+            assertTrue(result == 0 || result == 1);
+        }
+    }
+
+    @Test
+    void testInvalidWorkerCount() {
+        assertThrows(IllegalArgumentException.class, () -> new MctsSearch(0, 100, 100, 0));
+    }
+}
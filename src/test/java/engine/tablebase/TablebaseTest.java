@@ -0,0 +1,132 @@
+package engine.tablebase;
+
+import model.BitboardState;
+import model.Bitboards;
+import model.CompoundMoves;
+import model.PositionKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TablebaseTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testIndexIsPerfect() {
+        int own = BitboardState.WHITE_START;
+        int opponent = BitboardState.BLACK_START;
+        var indices = new HashSet<Long>();
+        long others = BitboardState.BOARD_MASK & ~(1L << own) & ~(1L << opponent);
+        for (long a = others; a != 0; a &= a - 1) {
+            for (long b = a & (a - 1); b != 0; b &= b - 1) {
+                long index = Tablebase.index(own, opponent, (a & -a) | (b & -b));
+                assertTrue(index >= Tablebase.size(1) && index < Tablebase.size(2));
+                assertTrue(indices.add(index));
+            }
+        }
+        assertEquals(Tablebase.subsets(2), indices.size());
+    }
+
+    @Test
+    void testSymmetricPositionsShareAnIndex() {
+        int own = BitboardState.squareIndex(4, 6);
+        int opponent = BitboardState.squareIndex(1, 2);
+        long empty = 1L << BitboardState.squareIndex(3, 5) | 1L << BitboardState.squareIndex(0, 7);
+        long index = Tablebase.index(own, opponent, empty);
+        for (var symmetry = 0; symmetry < PositionKey.SYMMETRIES; symmetry++) {
+            assertEquals(index, Tablebase.index(PositionKey.transformSquare(symmetry, own),
+                    PositionKey.transformSquare(symmetry, opponent), PositionKey.transformMask(symmetry, empty)));
+        }
+        var indices = new HashSet<Long>();
+        for (var king = 0; king < BitboardState.SQUARES; king++) {
+            for (var otherKing = 0; otherKing < BitboardState.SQUARES; otherKing++) {
+                if (otherKing != king) {
+                    long others = BitboardState.BOARD_MASK & ~(1L << king) & ~(1L << otherKing);
+                    for (long a = others; a != 0; a &= a - 1) {
+                        indices.add(Tablebase.index(king, otherKing, a & -a));
+                    }
+                }
+            }
+        }
+        assertEquals(Tablebase.size(1) - Tablebase.size(0), indices.size());
+        assertEquals(Tablebase.size(0), indices.stream().mapToLong(Long::longValue).min().orElseThrow());
+        assertEquals(Tablebase.size(1) - 1, indices.stream().mapToLong(Long::longValue).max().orElseThrow());
+    }
+
+    @Test
+    void testCompressAndExpand() {
+        long mask = 0xA5A5_5A5A_A5A5L & BitboardState.BOARD_MASK & ~(1L << 3) & ~(1L << 40);
+        assertEquals(mask, Tablebase.expand(Tablebase.compress(mask, 40, 3), 3, 40));
+    }
+
+    @Test
+    void testGeneratedValuesAgreeWithSearch() throws IOException {
+        Path file = directory.resolve("endgame.tb");
+        TablebaseGenerator.write(2, file);
+        assertEquals(8 + Tablebase.size(2), Files.size(file));
+        var tablebase = Tablebase.open(file);
+        assertEquals(2, tablebase.getMaxEmpty());
+        for (var own = 0; own < BitboardState.SQUARES; own += 5) {
+            for (var opponent = 0; opponent < BitboardState.SQUARES; opponent += 7) {
+                if (opponent == own) {
+                    continue;
+                }
+                long near = Bitboards.dilate(Bitboards.kingMoves(own)) & ~(1L << own) & ~(1L << opponent);
+                for (long a = near; a != 0; a &= a - 1) {
+                    for (long b = a & (a - 1); b != 0; b &= b - 1) {
+                        long empty = (a & -a) | (b & -b);
+                        assertEquals(solve(own, opponent, empty), tablebase.probe(own, opponent, empty));
+                    }
+                }
+            }
+        }
+        assertEquals(Tablebase.NOT_FOUND, tablebase.probe(new BitboardState()));
+    }
+
+    @Test
+    void testWinInOne() throws IOException {
+        Path file = directory.resolve("endgame.tb");
+        TablebaseGenerator.write(1, file);
+        var tablebase = Tablebase.open(file);
+        int value = tablebase.probe(BitboardState.squareIndex(0, 0), BitboardState.BLACK_START,
+                1L << BitboardState.squareIndex(0, 1));
+        assertTrue(Tablebase.isWin(value));
+        assertEquals(1, Tablebase.plies(value));
+    }
+
+    @Test
+    void testOpenRejectsOtherFiles() throws IOException {
+        Path file = directory.resolve("other.tb");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IOException.class, () -> Tablebase.open(file));
+    }
+
+    /**
+     * Solves a position by a plain search over every compound move.
+     */
+    private static int solve(int own, int opponent, long empty) {
+        var moves = new int[CompoundMoves.MAX_MOVES];
+        int count = CompoundMoves.generate(own, empty, moves);
+        int shortestWin = Integer.MAX_VALUE;
+        int longestLoss = 0;
+        for (var i = 0; i < count; i++) {
+            int to = CompoundMoves.destination(moves[i]);
+            long childEmpty = CompoundMoves.removable(own, to, empty) & ~(1L << CompoundMoves.removed(moves[i]));
+            int child = solve(opponent, to, childEmpty);
+            if (Tablebase.isWin(child)) {
+                longestLoss = Math.max(longestLoss, Tablebase.plies(child) + 1);
+            } else {
+                shortestWin = Math.min(shortestWin, Tablebase.plies(child) + 1);
+            }
+        }
+        return shortestWin != Integer.MAX_VALUE ? 0x80 | shortestWin : longestLoss;
+    }
+}
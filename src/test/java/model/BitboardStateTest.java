@@ -0,0 +1,193 @@
+package model;
+
+import game.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BitboardStateTest {
+
+    private BitboardState state;
+
+    @BeforeEach
+    void setUp() {
+        state = new BitboardState(new Random(42));
+    }
+
+    @Test
+    void testInitialState() {
+        assertEquals(Square.WHITE, state.getSquare(new Position(2, 0)));
+        assertEquals(Square.BLACK, state.getSquare(new Position(3, 7)));
+        assertEquals(0, state.getClear());
+        assertEquals(46, Long.bitCount(state.getEmpty()));
+        assertEquals(State.Player.PLAYER_1, state.getNextPlayer());
+    }
+
+    @Test
+    void testSquareIndex() {
+        for (var square = 0; square < BitboardState.SQUARES; square++) {
+            assertEquals(square, BitboardState.squareIndex(BitboardState.toPosition(square)));
+        }
+    }
+
+    @Test
+    void testIsLegalMove() {
+        assertTrue(state.isLegalMove(new Position(1, 1)));
+        assertTrue(state.isLegalMove(new Position(3, 0)));
+        assertFalse(state.isLegalMove(new Position(2, 0)));
+        assertFalse(state.isLegalMove(new Position(2, 2)));
+        assertFalse(state.isLegalMove(new Position(-1, 0)));
+    }
+
+    @Test
+    void testMakeMove() {
+        state.makeMove(new Position(1, 1));
+        assertEquals(Square.WHITE, state.getSquare(new Position(1, 1)));
+        assertNotEquals(Square.WHITE, state.getSquare(new Position(2, 0)));
+        assertEquals(1, Long.bitCount(state.getClear()));
+        assertEquals(State.Player.PLAYER_2, state.getNextPlayer());
+    }
+
+    @Test
+    void testKingMoves() {
+        assertEquals(3, Long.bitCount(Bitboards.kingMoves(BitboardState.squareIndex(0, 0))));
+        assertEquals(5, Long.bitCount(Bitboards.kingMoves(BitboardState.WHITE_START)));
+        assertEquals(8, Long.bitCount(Bitboards.kingMoves(BitboardState.squareIndex(2, 3))));
+    }
+
+    @Test
+    void testLegalMoves() {
+        assertEquals(5, state.legalMoveCount());
+        int[] squares = new int[8];
+        assertEquals(5, state.legalMoves(squares));
+        for (var i = 0; i < 5; i++) {
+            assertTrue(state.isLegalMove(squares[i]));
+        }
+    }
+
+    @Test
+    void testIncrementalHash() {
+        assertEquals(Zobrist.hash(BitboardState.WHITE_START, BitboardState.BLACK_START, 0, State.Player.PLAYER_1),
+                state.getHash());
+        int[] squares = new int[8];
+        while (!state.isGameOver()) {
+            state.legalMoves(squares);
+            state.makeMove(squares[0]);
+            var rehashed = new BitboardState(state.kingSquare(State.Player.PLAYER_1),
+                    state.kingSquare(State.Player.PLAYER_2), state.getClear(), state.getNextPlayer(), new Random());
+            assertEquals(rehashed.getHash(), state.getHash());
+        }
+    }
+
+    @Test
+    void testMakeIllegalMove() {
+        long hash = state.getHash();
+        state.makeMove(new Position(5, 5));
+        state.makeMove(new Position(-1, 0));
+        state.makeMove(BitboardState.SQUARES);
+        assertEquals(hash, state.getHash());
+        assertEquals(0, state.getClear());
+        assertEquals(State.Player.PLAYER_1, state.getNextPlayer());
+    }
+
+    @Test
+    void testIsGameOver() {
+        assertFalse(state.isGameOver());
+        long walls = 0;
+        for (var row = 1; row <= 3; row++) {
+            for (var col = 0; col <= 1; col++) {
+                if (row != 2 || col != 0) {
+                    walls |= 1L << BitboardState.squareIndex(row, col);
+                }
+            }
+        }
+        var blocked = new BitboardState(BitboardState.WHITE_START, BitboardState.BLACK_START, walls,
+                State.Player.PLAYER_1, new Random());
+        assertTrue(blocked.isGameOver());
+        assertTrue(blocked.isWinner(State.Player.PLAYER_2));
+        assertFalse(blocked.isWinner(State.Player.PLAYER_1));
+    }
+
+    @Test
+    void testOfModel() {
+        var model = new BoardGameModel();
+        model.setSquare(new Position(0, 0), Square.CLEAR);
+        var copy = BitboardState.of(model);
+        assertEquals(model.toString(), copy.toString());
+        assertEquals(model.getNextPlayer(), copy.getNextPlayer());
+    }
+
+    @Test
+    void testRandomGameAgreesWithModel() {
+        var random = new Random(7);
+        while (!state.isGameOver()) {
+            var model = toModel(state);
+            for (var square = 0; square < BitboardState.SQUARES; square++) {
+                var position = BitboardState.toPosition(square);
+                assertEquals(model.isLegalMove(position), state.isLegalMove(position));
+            }
+            assertEquals(model.isGameOver(), state.isGameOver());
+            int to;
+            do {
+                to = random.nextInt(BitboardState.SQUARES);
+            } while (!state.isLegalMove(to));
+            state.makeMove(to);
+        }
+        assertTrue(toModel(state).isGameOver());
+    }
+
+    private static BoardGameModel toModel(BitboardState state) {
+        var model = new BoardGameModel();
+        for (var square = 0; square < BitboardState.SQUARES; square++) {
+            var position = BitboardState.toPosition(square);
+            model.setSquare(position, state.getSquare(position));
+        }
+        if (model.getNextPlayer() != state.getNextPlayer()) {
+            model.switchPlayer();
+        }
+        return model;
+    }
+
+    @Test
+    void testCompoundMoves() {
+        var moves = new int[CompoundMoves.MAX_MOVES];
+        int count = state.legalCompoundMoves(moves);
+        assertEquals(CompoundMoves.count(BitboardState.WHITE_START, state.getEmpty()), count);
+        assertEquals(5 * 46, count);
+        for (var i = 0; i < count; i++) {
+            int to = CompoundMoves.destination(moves[i]);
+            int removed = CompoundMoves.removed(moves[i]);
+            assertEquals(moves[i], CompoundMoves.pack(to, removed));
+            assertTrue(state.isLegalMove(to));
+            assertNotEquals(to, removed);
+        }
+    }
+
+    @Test
+    void testMakeCompoundMove() {
+        int to = BitboardState.squareIndex(1, 1);
+        state.makeCompoundMove(CompoundMoves.pack(to, BitboardState.WHITE_START));
+        assertEquals(Square.CLEAR, state.getSquare(new Position(2, 0)));
+        assertEquals(Square.WHITE, state.getSquare(new Position(1, 1)));
+        assertEquals(1, Long.bitCount(state.getClear()));
+        assertEquals(State.Player.PLAYER_2, state.getNextPlayer());
+        assertEquals(Zobrist.hash(to, BitboardState.BLACK_START, state.getClear(), State.Player.PLAYER_2),
+                state.getHash());
+        assertThrows(IllegalArgumentException.class,
+                () -> state.makeMove(BitboardState.squareIndex(3, 6), BitboardState.squareIndex(3, 6)));
+        assertThrows(IllegalArgumentException.class,
+                () -> state.makeMove(BitboardState.squareIndex(3, 6), to));
+    }
+
+    @Test
+    void testSelectBit() {
+        long mask = 0b1011_0100L;
+        assertEquals(2, Bitboards.selectBit(mask, 0));
+        assertEquals(4, Bitboards.selectBit(mask, 1));
+        assertEquals(5, Bitboards.selectBit(mask, 2));
+        assertEquals(7, Bitboards.selectBit(mask, 3));
+    }
+}
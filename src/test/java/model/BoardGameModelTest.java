@@ -4,6 +4,8 @@ import game.State;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class BoardGameModelTest {
@@ -61,6 +63,29 @@ public class BoardGameModelTest {
         assertNotNull(model.findCurrentPlayerPosition());
     }
 
+    @Test
+    void testFindPlayerPositionAfterMove() {
+        model.makeMove(new Position(1, 1));
+        assertEquals(new Position(1, 1), model.findPlayerPosition(State.Player.PLAYER_1));
+        assertEquals(new Position(3, 7), model.findCurrentPlayerPosition());
+    }
+
+    @Test
+    void testFindPlayerPositionAfterSetSquare() {
+        model.setSquare(new Position(2, 0), Square.NONE);
+        assertNull(model.findPlayerPosition(State.Player.PLAYER_1));
+        model.setSquare(new Position(4, 4), Square.WHITE);
+        assertEquals(new Position(4, 4), model.findPlayerPosition(State.Player.PLAYER_1));
+    }
+
+    @Test
+    void testGetMobility() {
+        assertEquals(5, model.getMobility(State.Player.PLAYER_1));
+        assertEquals(5, model.getMobility(State.Player.PLAYER_2));
+        model.setSquare(new Position(1, 1), Square.CLEAR);
+        assertEquals(4, model.getMobility(State.Player.PLAYER_1));
+    }
+
     @Test
     void testIsEmpty() {
         Position position = new Position(0, 0);
@@ -103,6 +128,127 @@ public class BoardGameModelTest {
         assertNotEquals(beforeMove, model.getSquare(to));
     }
 
+    @Test
+    void testMakeMoveClearingGivenSquare() {
+        model.makeMove(new Position(1, 1), new Position(2, 0));
+        assertEquals(Square.WHITE, model.getSquare(new Position(1, 1)));
+        assertEquals(Square.CLEAR, model.getSquare(new Position(2, 0)));
+        assertEquals(State.Player.PLAYER_2, model.getNextPlayer());
+        model.makeMove(new Position(3, 6), new Position(5, 5));
+        assertEquals(Square.CLEAR, model.getSquare(new Position(5, 5)));
+        assertEquals(Square.NONE, model.getSquare(new Position(3, 7)));
+    }
+
+    @Test
+    void testUnmakeMove() {
+        assertFalse(model.canUndo());
+        var start = model.toString();
+        model.makeMove(new Position(1, 1));
+        model.makeMove(new Position(3, 6));
+        assertEquals(2, model.getMoveCount());
+        model.unmakeMove();
+        model.unmakeMove();
+        assertEquals(start, model.toString());
+        assertEquals(State.Player.PLAYER_1, model.getNextPlayer());
+        assertEquals(new Position(2, 0), model.findPlayerPosition(State.Player.PLAYER_1));
+        assertEquals(new Position(3, 7), model.findPlayerPosition(State.Player.PLAYER_2));
+        assertEquals(0, model.getMoveCount());
+        assertThrows(IllegalStateException.class, model::unmakeMove);
+    }
+
+    @Test
+    void testUnmakeMoveRestoresClearedVacatedSquare() {
+        model.makeMove(new Position(1, 1), new Position(2, 0));
+        model.unmakeMove();
+        assertEquals(Square.WHITE, model.getSquare(new Position(2, 0)));
+        assertEquals(Square.NONE, model.getSquare(new Position(1, 1)));
+        assertEquals(5, model.getMobility(State.Player.PLAYER_1));
+    }
+
+    @Test
+    void testRedoMove() {
+        model.makeMove(new Position(1, 1));
+        model.makeMove(new Position(3, 6));
+        var afterMoves = model.toString();
+        model.unmakeMove();
+        model.unmakeMove();
+        assertTrue(model.canRedo());
+        model.redoMove();
+        model.redoMove();
+        assertFalse(model.canRedo());
+        assertEquals(afterMoves, model.toString());
+        assertEquals(State.Player.PLAYER_1, model.getNextPlayer());
+        assertThrows(IllegalStateException.class, model::redoMove);
+    }
+
+    @Test
+    void testMoveDiscardsRedo() {
+        model.makeMove(new Position(1, 1));
+        model.unmakeMove();
+        model.makeMove(new Position(3, 0));
+        assertFalse(model.canRedo());
+        model.reset();
+        assertFalse(model.canUndo());
+    }
+
+    @Test
+    void testMakeMoveClearingOccupiedSquare() {
+        assertThrows(IllegalArgumentException.class, () -> model.makeMove(new Position(1, 1), new Position(1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> model.makeMove(new Position(1, 1), new Position(3, 7)));
+        assertEquals(Square.WHITE, model.getSquare(new Position(2, 0)));
+    }
+
+    @Test
+    void testClearRandomSquare() {
+        assertEquals(BoardGameModel.BOARD_ROWS * BoardGameModel.BOARD_COLUMNS - 2, model.getEmptySquareCount());
+        while (model.getEmptySquareCount() > 0) {
+            int empty = model.getEmptySquareCount();
+            Position cleared = model.clearRandomSquare();
+            assertEquals(Square.CLEAR, model.getSquare(cleared));
+            assertEquals(empty - 1, model.getEmptySquareCount());
+        }
+        assertThrows(IllegalStateException.class, model::clearRandomSquare);
+        model.reset();
+        assertEquals(BoardGameModel.BOARD_ROWS * BoardGameModel.BOARD_COLUMNS - 2, model.getEmptySquareCount());
+    }
+
+    @Test
+    void testClearRandomSquareIsReproducible() {
+        var first = new BoardGameModel(new Random(7));
+        var second = new BoardGameModel(new Random(7));
+        for (var i = 0; i < 10; i++) {
+            assertEquals(first.clearRandomSquare(), second.clearRandomSquare());
+        }
+    }
+
+    @Test
+    void testChosenRemovalRule() {
+        model.setRemovalRule(RemovalRule.CHOSEN);
+        assertThrows(IllegalStateException.class, () -> model.makeMove(new Position(1, 1)));
+        assertTrue(model.isLegalMove(new Position(1, 1), new Position(2, 0)));
+        assertFalse(model.isLegalMove(new Position(1, 1), new Position(1, 1)));
+        assertFalse(model.isLegalMove(new Position(1, 1), new Position(3, 7)));
+        assertFalse(model.isLegalMove(new Position(2, 2), new Position(0, 0)));
+        model.makeMove(new Position(1, 1), new Position(0, 0));
+        assertEquals(Square.CLEAR, model.getSquare(new Position(0, 0)));
+        assertEquals(State.Player.PLAYER_2, model.getNextPlayer());
+    }
+
+    @Test
+    void testLegalCompoundMoves() {
+        var moves = new int[CompoundMoves.MAX_MOVES];
+        int count = model.legalCompoundMoves(moves);
+        assertEquals(5 * 46, count);
+        for (var i = 0; i < count; i++) {
+            Position to = BitboardState.toPosition(CompoundMoves.destination(moves[i]));
+            Position removed = BitboardState.toPosition(CompoundMoves.removed(moves[i]));
+            assertTrue(model.isLegalMove(to, removed));
+        }
+        model.makeCompoundMove(moves[0]);
+        assertEquals(Square.CLEAR, model.getSquare(BitboardState.toPosition(CompoundMoves.removed(moves[0]))));
+        assertEquals(State.Player.PLAYER_2, model.getNextPlayer());
+    }
+
     @Test
     void testSwitchPlayer() {
         State.Player currentPlayer = model.getNextPlayer();
@@ -145,4 +291,27 @@ public class BoardGameModelTest {
         assertNotNull(boardString);
         assertEquals(BoardGameModel.BOARD_ROWS, boardString.split("\n").length);
     }
+
+    @Test
+    void testPositionOfIsInterned() {
+        assertSame(Position.of(2, 3), Position.of(2, 3));
+        assertSame(Position.of(2, 3), BitboardState.toPosition(BitboardState.squareIndex(2, 3)));
+        assertEquals(new Position(-1, 0), Position.of(-1, 0));
+    }
+
+    @Test
+    void testSquareIndexApi() {
+        int from = BitboardState.WHITE_START;
+        int to = BitboardState.squareIndex(1, 1);
+        assertEquals(from, model.findCurrentPlayerSquare());
+        assertEquals(BitboardState.BLACK_START, model.findPlayerSquare(State.Player.PLAYER_2));
+        assertTrue(model.isLegalMove(to));
+        assertFalse(model.isLegalMove(-1));
+        assertFalse(model.isLegalMove(BitboardState.squareIndex(0, 0)));
+        model.makeMove(to);
+        assertEquals(Square.WHITE, model.getSquare(to));
+        assertEquals(Square.NONE, model.getSquare(from));
+        assertEquals(to, model.findPlayerSquare(State.Player.PLAYER_1));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> model.getSquare(BitboardState.SQUARES));
+    }
 }
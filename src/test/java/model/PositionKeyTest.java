@@ -0,0 +1,66 @@
+package model;
+
+import game.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PositionKeyTest {
+
+    @Test
+    void testPackAndUnpack() {
+        long clear = 0x8000_0000_0001L;
+        long key = PositionKey.pack(BitboardState.WHITE_START, BitboardState.BLACK_START, clear);
+        assertEquals(BitboardState.WHITE_START, PositionKey.own(key));
+        assertEquals(BitboardState.BLACK_START, PositionKey.opponent(key));
+        assertEquals(clear, PositionKey.clear(key));
+    }
+
+    @Test
+    void testOfModel() {
+        var model = new BoardGameModel();
+        assertEquals(PositionKey.pack(BitboardState.WHITE_START, BitboardState.BLACK_START, 0), PositionKey.of(model));
+    }
+
+    @Test
+    void testTransformMaskMatchesSquares() {
+        for (var symmetry = 0; symmetry < PositionKey.SYMMETRIES; symmetry++) {
+            for (var square = 0; square < BitboardState.SQUARES; square++) {
+                assertEquals(1L << PositionKey.transformSquare(symmetry, square),
+                        PositionKey.transformMask(symmetry, 1L << square));
+            }
+        }
+    }
+
+    @Test
+    void testStartKingsMapOntoEachOther() {
+        assertEquals(BitboardState.BLACK_START,
+                PositionKey.transformSquare(PositionKey.ROTATE_180, BitboardState.WHITE_START));
+        var start = new BitboardState();
+        var mirrored = new BitboardState(BitboardState.WHITE_START, BitboardState.BLACK_START, 0,
+                State.Player.PLAYER_2, new Random());
+        assertEquals(PositionKey.canonical(PositionKey.of(start)), PositionKey.canonical(PositionKey.of(mirrored)));
+    }
+
+    @Test
+    void testCanonicalIsSharedBySymmetryClass() {
+        var random = new Random(1);
+        for (var i = 0; i < 1000; i++) {
+            long key = PositionKey.pack(random.nextInt(48), random.nextInt(48),
+                    random.nextLong() & BitboardState.BOARD_MASK);
+            long canonical = PositionKey.canonical(key);
+            var images = new HashSet<Long>();
+            for (var symmetry = 0; symmetry < PositionKey.SYMMETRIES; symmetry++) {
+                long image = PositionKey.transform(symmetry, key);
+                images.add(image);
+                assertEquals(key, PositionKey.transform(symmetry, image));
+                assertEquals(canonical, PositionKey.canonical(image));
+            }
+            assertTrue(images.contains(canonical));
+            assertEquals(canonical, PositionKey.transform(PositionKey.canonicalSymmetry(key), key));
+        }
+    }
+}
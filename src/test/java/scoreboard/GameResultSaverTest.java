@@ -6,7 +6,13 @@ import org.junit.jupiter.api.*;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,6 +30,8 @@ class GameResultSaverTest {
     @AfterAll
     void tearDown() throws IOException {
         Files.deleteIfExists(new File(TEST_FILE_PATH).toPath());
+        Files.deleteIfExists(GameResultSaver.getLogPath());
+        Files.deleteIfExists(GameResultSaver.getStatsPath());
     }
 
     @BeforeEach
@@ -58,4 +66,161 @@ class GameResultSaverTest {
         Map<String, Integer> scores = new GameResultSaver().getScores();
         assertEquals(2, scores.get("Player2"), "Player2 should have 2 wins");
     }
+
+    @Test
+    void testResultsAreAppendedToTheLog() throws IOException {
+        long snapshotSize = Files.size(new File(TEST_FILE_PATH).toPath());
+        GameResultSaver.saveResult("Player3");
+        GameResultSaver.saveResult("Player4");
+        assertEquals(snapshotSize, Files.size(new File(TEST_FILE_PATH).toPath()));
+        assertEquals(2, Files.readAllLines(GameResultSaver.getLogPath()).size());
+    }
+
+    @Test
+    void testLoadDropsIncompleteLogTail() throws IOException {
+        GameResultSaver.saveResult("Player5");
+        Files.writeString(GameResultSaver.getLogPath(), "{\"sequence\":99,\"win", StandardOpenOption.APPEND);
+
+        GameResultSaver.loadScores();
+
+        Map<String, Integer> scores = new GameResultSaver().getScores();
+        assertEquals(Map.of("Player5", 1), scores);
+        assertEquals(1, Files.readAllLines(GameResultSaver.getLogPath()).size());
+        GameResultSaver.saveResult("Player5");
+        GameResultSaver.loadScores();
+        assertEquals(2, new GameResultSaver().getScores().get("Player5"));
+    }
+
+    @Test
+    void testCompactionEmptiesTheLog() throws IOException {
+        for (var i = 0; i < GameResultSaver.COMPACTION_INTERVAL; i++) {
+            GameResultSaver.saveResult("Player6");
+        }
+        assertEquals(0, Files.size(GameResultSaver.getLogPath()));
+        GameResultSaver.saveResult("Player6");
+
+        GameResultSaver.loadScores();
+
+        assertEquals(GameResultSaver.COMPACTION_INTERVAL + 1, new GameResultSaver().getScores().get("Player6"));
+    }
+
+    @Test
+    void testLoadReadsScoresOnlyFile() throws IOException {
+        objectMapper.writeValue(new File(TEST_FILE_PATH), Map.of("Player7", 3));
+        Files.deleteIfExists(GameResultSaver.getLogPath());
+
+        GameResultSaver.loadScores();
+
+        assertEquals(3, new GameResultSaver().getScores().get("Player7"));
+    }
+
+    @Test
+    void testSaveResultAsync() throws Exception {
+        var future = GameResultSaver.saveResultAsync("Player8");
+        assertEquals(1, new GameResultSaver().getScores().get("Player8"));
+        future.get();
+        assertEquals(1, Files.readAllLines(GameResultSaver.getLogPath()).size());
+
+        GameResultSaver.saveResultAsync("Player8");
+        GameResultSaver.shutdown();
+        GameResultSaver.loadScores();
+
+        assertEquals(2, new GameResultSaver().getScores().get("Player8"));
+    }
+
+    @Test
+    void testConcurrentResultsAreNotLost() throws Exception {
+        var threads = new ArrayList<Thread>();
+        for (var t = 0; t < 8; t++) {
+            var winner = "Player" + (9 + t % 2);
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (var i = 0; i < 500; i++) {
+                    GameResultSaver.saveResultAsync(winner);
+                }
+            }));
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+        Map<String, Integer> scores = new GameResultSaver().getScores();
+        assertEquals(Map.of("Player9", 2000, "Player10", 2000), scores);
+        assertThrows(UnsupportedOperationException.class, () -> scores.put("Player9", 0));
+        assertEquals(2000, GameResultSaver.getWins("Player10"));
+
+        GameResultSaver.shutdown();
+        GameResultSaver.loadScores();
+
+        assertEquals(scores, new GameResultSaver().getScores());
+    }
+
+    @Test
+    void testResultsSavedDuringReloadsAreNotLost() throws Exception {
+        var reloading = new AtomicBoolean(true);
+        var saved = new AtomicInteger();
+        var threads = new ArrayList<Thread>();
+        for (var t = 0; t < 4; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                while (reloading.get()) {
+                    GameResultSaver.saveResultAsync("Player15");
+                    saved.incrementAndGet();
+                    LockSupport.parkNanos(100_000);
+                }
+            }));
+        }
+        for (var i = 0; i < 20; i++) {
+            GameResultSaver.loadScores();
+        }
+        reloading.set(false);
+        for (var thread : threads) {
+            thread.join();
+        }
+        assertEquals(saved.get(), GameResultSaver.getWins("Player15"));
+        GameResultSaver.shutdown();
+        assertEquals(saved.get(), new GameResultSaver().getLeaderboard().getWins("Player15"));
+
+        GameResultSaver.loadScores();
+
+        assertEquals(saved.get(), new GameResultSaver().getScores().get("Player15"));
+    }
+
+    @Test
+    void testLeaderboardFollowsResults() {
+        var leaderboard = new GameResultSaver().getLeaderboard();
+        GameResultSaver.saveResult("Player11");
+        GameResultSaver.saveResult("Player12");
+        GameResultSaver.saveResult("Player12");
+        assertEquals(List.of(new Leaderboard.Row(1, "Player12", 2), new Leaderboard.Row(2, "Player11", 1)),
+                leaderboard.top(10));
+
+        GameResultSaver.loadScores();
+        assertEquals(1, leaderboard.rank("Player12"));
+
+        GameResultSaver.clearScores();
+        assertEquals(0, leaderboard.size());
+    }
+
+    @Test
+    void testGamesUpdatePlayerStats() {
+        var stats = new GameResultSaver().getPlayerStats();
+        GameResultSaver.saveGameAsync("Player13", "Player14", true, 20);
+        GameResultSaver.saveGameAsync("Player13", "Player14", false, 30);
+        GameResultSaver.saveResult("Player13");
+        int id = stats.find("Player13");
+        assertEquals(2, stats.getGamesPlayed(id));
+        assertEquals(1, stats.getWinsAsWhite(id));
+        assertEquals(1, stats.getWinsAsBlack(id));
+        assertEquals(3, new GameResultSaver().getScores().get("Player13"));
+
+        GameResultSaver.loadScores();
+        id = stats.find("Player14");
+        assertEquals(2, stats.getLosses(id));
+        assertEquals(-2, stats.getStreak(id));
+        assertEquals(25.0, stats.getAverageGameLength(id));
+
+        GameResultSaver.compact();
+        GameResultSaver.saveGameAsync("Player14", "Player13", true, 10);
+        GameResultSaver.loadScores();
+        assertEquals(1, stats.getStreak(stats.find("Player14")));
+        assertEquals(3, stats.getGamesPlayed(stats.find("Player13")));
+    }
 }
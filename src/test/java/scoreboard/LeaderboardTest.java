@@ -0,0 +1,76 @@
+package scoreboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeaderboardTest {
+
+    private static List<Leaderboard.Row> ranking(Map<String, Long> wins) {
+        var names = new ArrayList<>(wins.keySet());
+        names.sort(Comparator.<String>comparingLong(wins::get).reversed().thenComparing(Comparator.naturalOrder()));
+        var rows = new ArrayList<Leaderboard.Row>();
+        for (var i = 0; i < names.size(); i++) {
+            rows.add(new Leaderboard.Row(i + 1, names.get(i), wins.get(names.get(i))));
+        }
+        return rows;
+    }
+
+    @Test
+    void testRanksByWinsThenName() {
+        var leaderboard = new Leaderboard();
+        leaderboard.put("b", 2);
+        leaderboard.put("a", 2);
+        leaderboard.put("c", 5);
+        leaderboard.increment("d");
+        assertEquals(List.of(new Leaderboard.Row(1, "c", 5), new Leaderboard.Row(2, "a", 2),
+                new Leaderboard.Row(3, "b", 2), new Leaderboard.Row(4, "d", 1)), leaderboard.top(10));
+        assertEquals(3, leaderboard.rank("b"));
+        assertEquals(Leaderboard.NOT_RANKED, leaderboard.rank("e"));
+        assertEquals(3, leaderboard.increment("b"));
+        assertEquals(2, leaderboard.rank("b"));
+        assertEquals(4, leaderboard.size());
+    }
+
+    @Test
+    void testMatchesSortedScores() {
+        var random = new Random(5);
+        var leaderboard = new Leaderboard();
+        var wins = new HashMap<String, Long>();
+        for (var i = 0; i < 20_000; i++) {
+            var name = "Player" + random.nextInt(2_000);
+            wins.merge(name, 1L, Long::sum);
+            assertEquals(wins.get(name), leaderboard.increment(name));
+        }
+        var expected = ranking(wins);
+        assertEquals(expected, leaderboard.top(expected.size() + 10));
+        for (var offset = 0; offset < expected.size(); offset += 97) {
+            assertEquals(expected.subList(offset, Math.min(offset + 50, expected.size())),
+                    leaderboard.page(offset, 50));
+        }
+        for (var row : expected) {
+            assertEquals(row.rank(), leaderboard.rank(row.name()));
+        }
+        assertTrue(leaderboard.page(expected.size(), 50).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> leaderboard.page(-1, 50));
+    }
+
+    @Test
+    void testResetReplacesEveryPlayer() {
+        var leaderboard = new Leaderboard();
+        leaderboard.put("a", 7);
+        leaderboard.reset(Map.of("b", 1, "c", 3));
+        assertEquals(List.of(new Leaderboard.Row(1, "c", 3), new Leaderboard.Row(2, "b", 1)), leaderboard.top(5));
+        assertEquals(0, leaderboard.getWins("a"));
+        leaderboard.clear();
+        assertEquals(0, leaderboard.size());
+        assertTrue(leaderboard.top(5).isEmpty());
+    }
+}
@@ -0,0 +1,85 @@
+package scoreboard;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayerStatsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecordUpdatesBothPlayers() {
+        var stats = new PlayerStats();
+        stats.record("a", "b", true, 10);
+        stats.record("a", "b", false, 20);
+        stats.record("b", "a", true, 30);
+        int a = stats.find("a");
+        int b = stats.find("b");
+        assertEquals(3, stats.getGamesPlayed(a));
+        assertEquals(1, stats.getWinsAsWhite(a));
+        assertEquals(1, stats.getWinsAsBlack(a));
+        assertEquals(1, stats.getLosses(a));
+        assertEquals(-1, stats.getStreak(a));
+        assertEquals(1, stats.getStreak(b));
+        assertEquals(20.0, stats.getAverageGameLength(b));
+        assertEquals(60, stats.getTotalMoves(b));
+        assertEquals(PlayerStats.NOT_FOUND, stats.find("c"));
+        assertThrows(IndexOutOfBoundsException.class, () -> stats.getGamesPlayed(2));
+    }
+
+    @Test
+    void testScanVisitsEveryPlayer() {
+        var stats = new PlayerStats();
+        for (var i = 0; i < 1_000; i++) {
+            stats.record("winner" + i, "loser" + i % 10, i % 2 == 0, i);
+        }
+        assertEquals(1_010, stats.size());
+        long[] totals = new long[2];
+        stats.scan(id -> {
+            totals[0] += stats.getGamesPlayed(id);
+            totals[1] += stats.getLosses(id);
+        });
+        assertEquals(2_000, totals[0]);
+        assertEquals(1_000, totals[1]);
+        assertEquals(100, stats.getLosses(stats.find("loser3")));
+    }
+
+    @Test
+    void testSaveAndLoad() throws IOException {
+        Path file = directory.resolve("players.stats");
+        var stats = new PlayerStats();
+        for (var i = 0; i < 100; i++) {
+            stats.record("player" + i % 7, "player" + (i + 3) % 11, i % 3 == 0, i);
+        }
+        stats.save(file, 42);
+        var loaded = new PlayerStats();
+        loaded.record("other", "player1", true, 5);
+        assertEquals(42, loaded.load(file));
+        assertEquals(stats.size(), loaded.size());
+        for (var id = 0; id < stats.size(); id++) {
+            assertEquals(stats.getName(id), loaded.getName(id));
+            assertEquals(id, loaded.find(stats.getName(id)));
+            assertEquals(stats.getGamesPlayed(id), loaded.getGamesPlayed(id));
+            assertEquals(stats.getWinsAsWhite(id), loaded.getWinsAsWhite(id));
+            assertEquals(stats.getWinsAsBlack(id), loaded.getWinsAsBlack(id));
+            assertEquals(stats.getLosses(id), loaded.getLosses(id));
+            assertEquals(stats.getTotalMoves(id), loaded.getTotalMoves(id));
+            assertEquals(stats.getStreak(id), loaded.getStreak(id));
+        }
+        assertEquals(PlayerStats.NOT_FOUND, loaded.find("other"));
+    }
+
+    @Test
+    void testLoadRejectsOtherFiles() throws IOException {
+        Path file = directory.resolve("other.stats");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+        assertThrows(IOException.class, () -> new PlayerStats().load(file));
+    }
+}
@@ -0,0 +1,93 @@
+package scoreboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultWriterTest {
+
+    @Test
+    void testResultsQueuedDuringAWriteShareTheNextBatch() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var batches = new ArrayList<List<ResultLog.Entry>>();
+        var writer = new ResultWriter<ResultLog.Entry>(entries -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batches.add(List.copyOf(entries));
+        }, 100, 0);
+        var first = writer.submit(new ResultLog.Entry(1, "a"));
+        started.await();
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        for (var i = 2; i <= 51; i++) {
+            futures.add(writer.submit(new ResultLog.Entry(i, "b")));
+        }
+        release.countDown();
+        writer.close();
+        assertTrue(first.isDone() && !first.isCompletedExceptionally());
+        futures.forEach(future -> assertTrue(future.isDone() && !future.isCompletedExceptionally()));
+        assertEquals(2, batches.size());
+        assertEquals(50, batches.get(1).size());
+        assertEquals(51, writer.getWritten());
+        assertEquals(2, writer.getBatches());
+    }
+
+    @Test
+    void testLoneResultDoesNotWaitForTheBatchWindow()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        var writer = new ResultWriter<ResultLog.Entry>(entries -> {
+        }, 100, 60_000);
+        writer.submit(new ResultLog.Entry(1, "a")).get(10, TimeUnit.SECONDS);
+        assertEquals(1, writer.getBatches());
+        writer.close();
+    }
+
+    @Test
+    void testBatchSizeIsBounded() {
+        var sizes = new ArrayList<Integer>();
+        var writer = new ResultWriter<ResultLog.Entry>(entries -> sizes.add(entries.size()), 4, 1_000);
+        for (var i = 1; i <= 10; i++) {
+            writer.submit(new ResultLog.Entry(i, "a"));
+        }
+        writer.close();
+        assertEquals(10, sizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(sizes.stream().allMatch(size -> size <= 4));
+    }
+
+    @Test
+    void testCloseWritesQueuedResultsAndRejectsNewOnes() {
+        var entries = new ArrayList<ResultLog.Entry>();
+        var writer = new ResultWriter<ResultLog.Entry>(entries::addAll, 16, 1_000);
+        var future = writer.submit(new ResultLog.Entry(1, "a"));
+        writer.close();
+        assertTrue(future.isDone());
+        assertEquals(List.of(new ResultLog.Entry(1, "a")), entries);
+        var rejected = writer.submit(new ResultLog.Entry(2, "b"));
+        assertTrue(writer.isClosed());
+        assertTrue(rejected.isCompletedExceptionally());
+    }
+
+    @Test
+    void testFailedWriteCompletesFuturesExceptionally() {
+        var writer = new ResultWriter<ResultLog.Entry>(entries -> {
+            throw new IOException("disk full");
+        });
+        var future = writer.submit(new ResultLog.Entry(1, "a"));
+        writer.close();
+        var e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(IOException.class, e.getCause());
+    }
+}
@@ -0,0 +1,79 @@
+package sim;
+
+import model.BitboardState;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SelfPlayTest {
+
+    @Test
+    void testRun() {
+        var stats = new SelfPlay(Policy.RANDOM, Policy.GREEDY_MOBILITY, 1000, 2, 1).run();
+        assertEquals(1000, stats.getGames());
+        assertEquals(1000, stats.getWhiteWins() + stats.getBlackWins());
+        long lengths = 0;
+        for (var plies = 0; plies <= BitboardState.SQUARES; plies++) {
+            lengths += stats.getLengthCount(plies);
+        }
+        assertEquals(1000, lengths);
+        assertTrue(stats.getAverageLength() > 1);
+        assertTrue(stats.getAverageBranchingFactor() >= 1 && stats.getAverageBranchingFactor() <= 8);
+    }
+
+    @Test
+    void testResultsDoNotDependOnThreads() {
+        var single = new SelfPlay(Policy.RANDOM, Policy.RANDOM, 2000, 1, 42).run();
+        var parallel = new SelfPlay(Policy.RANDOM, Policy.RANDOM, 2000, 4, 42).run();
+        assertEquals(single.getWhiteWins(), parallel.getWhiteWins());
+        assertEquals(single.getAverageLength(), parallel.getAverageLength());
+        assertEquals(single.getAverageBranchingFactor(), parallel.getAverageBranchingFactor());
+    }
+
+    @Test
+    void testLookaheadBeatsRandom() {
+        var stats = new SelfPlay(Policy.LOOKAHEAD, Policy.RANDOM, 2000, 2, 7).run();
+        assertTrue(stats.getWhiteWinRate() > 0.6);
+    }
+
+    @Test
+    void testPoliciesChooseLegalMoves() {
+        var random = new Random(3);
+        for (var policy : Policy.values()) {
+            for (var game = 0; game < 50; game++) {
+                var state = new BitboardState(random);
+                while (!state.isGameOver()) {
+                    var player = state.getNextPlayer();
+                    int move = policy.chooseMove(state.kingSquare(player), state.kingSquare(player.opponent()),
+                            state.getClear(), random);
+                    assertTrue(state.isLegalMove(move));
+                    state.makeMove(move);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testGreedyMaximisesMobility() {
+        // White on square 0 can reach 1 or 8; square 8 then has three empty neighbours and square 1 only two
+        long clear = BitboardState.BOARD_MASK & ~(1L | 1L << 1 | 1L << 8 | 1L << 16 | 1L << 47);
+        assertEquals(8, Policy.GREEDY_MOBILITY.chooseMove(0, 47, clear, new Random(4)));
+    }
+
+    @Test
+    void testParse() {
+        assertEquals(Policy.RANDOM, Policy.parse("random"));
+        assertEquals(Policy.GREEDY_MOBILITY, Policy.parse("greedy-mobility"));
+        assertEquals(Policy.GREEDY_MOBILITY, Policy.parse("greedy"));
+        assertEquals(Policy.LOOKAHEAD, Policy.parse("LOOKAHEAD"));
+        assertThrows(IllegalArgumentException.class, () -> Policy.parse("minimax"));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new SelfPlay(Policy.RANDOM, Policy.RANDOM, -1, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SelfPlay(Policy.RANDOM, Policy.RANDOM, 1, 0, 0));
+    }
+}
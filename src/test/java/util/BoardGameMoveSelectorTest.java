@@ -1,7 +1,9 @@
 package util;
 
+import model.BitboardState;
 import model.BoardGameModel;
 import model.Position;
+import model.RemovalRule;
 import model.Square;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -55,6 +57,26 @@ public class BoardGameMoveSelectorTest {
         assertEquals(Square.WHITE, model.getSquare(to));
     }
 
+    @Test
+    void testMakeMoveChoosingRemovedSquare() {
+        model.setRemovalRule(RemovalRule.CHOSEN);
+        Position from = model.findCurrentPlayerPosition();
+        Position to = new Position(from.row() + 1, from.col() + 1);
+        Position removed = new Position(0, 0);
+        selector.select(from);
+        selector.select(to);
+        assertEquals(BoardGameMoveSelector.Phase.SELECT_REMOVED, selector.getPhase());
+        selector.select(to);
+        assertEquals(BoardGameMoveSelector.Phase.SELECT_REMOVED, selector.getPhase());
+        selector.select(removed);
+        assertEquals(BoardGameMoveSelector.Phase.READY_TO_MOVE, selector.getPhase());
+        assertEquals(removed, selector.getRemoved());
+        selector.makeMove();
+        assertEquals(Square.WHITE, model.getSquare(to));
+        assertEquals(Square.CLEAR, model.getSquare(removed));
+        assertEquals(45, model.getEmptySquareCount());
+    }
+
     @Test
     void testReset() {
         Position from = model.findCurrentPlayerPosition();
@@ -62,4 +84,22 @@ public class BoardGameMoveSelectorTest {
         selector.reset();
         assertEquals(BoardGameMoveSelector.Phase.SELECT_TO, selector.getPhase());
     }
+
+    @Test
+    void testSelectSquares() {
+        int from = model.findCurrentPlayerSquare();
+        int to = BitboardState.squareIndex(3, 1);
+        selector.select(from);
+        assertEquals(from, selector.getFromSquare());
+        selector.select(-1);
+        assertEquals(BoardGameMoveSelector.Phase.SELECT_TO, selector.getPhase());
+        selector.select(to);
+        assertEquals(BoardGameMoveSelector.Phase.READY_TO_MOVE, selector.getPhase());
+        assertEquals(to, selector.getToSquare());
+        assertEquals(-1, selector.getRemovedSquare());
+        assertNull(selector.getRemoved());
+        selector.makeMove();
+        assertEquals(Square.WHITE, model.getSquare(to));
+        assertEquals(Square.NONE, model.getSquare(from));
+    }
 }